@@ -17,9 +17,12 @@
 package org.rundeck.client;
 
 import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.JavaNetCookieJar;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.logging.HttpLoggingInterceptor;
 import org.rundeck.client.api.RundeckApi;
 import org.rundeck.client.util.*;
@@ -27,12 +30,12 @@ import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 import retrofit2.converter.jaxb.JaxbConverterFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
 import java.net.CookieManager;
 import java.net.CookiePolicy;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -57,6 +60,58 @@ public class RundeckClient {
     public static final String ENV_HTTP_CONN_TIMEOUT = "RD_HTTP_CONN_TIMEOUT";
     public static final String ENV_HTTP_CALL_TIMEOUT = "RD_HTTP_CALL_TIMEOUT";
     public static final String ENV_CONNECT_RETRY = "RD_CONNECT_RETRY";
+    /**
+     * Max number of HTTP requests in flight at once for async API calls
+     */
+    public static final String ENV_HTTP_MAX_REQUESTS = "RD_HTTP_MAX_REQUESTS";
+    /**
+     * Max number of retries for GET, HEAD and idempotent requests which receive 429, 502, 503 or 504 responses or
+     * read timeouts, default 0
+     */
+    public static final String ENV_HTTP_RETRY_MAX = "RD_HTTP_RETRY_MAX";
+    /**
+     * Initial backoff in milliseconds before retrying a request, doubled for each retry
+     */
+    public static final String ENV_HTTP_RETRY_BACKOFF = "RD_HTTP_RETRY_BACKOFF";
+    public static final long DEFAULT_RETRY_BACKOFF = 500;
+    /**
+     * Max number of HTTP requests in flight at once to a single host for async API calls
+     */
+    public static final String ENV_HTTP_MAX_REQUESTS_PER_HOST = "RD_HTTP_MAX_REQUESTS_PER_HOST";
+    /**
+     * Max number of idle connections kept in the connection pool
+     */
+    public static final String ENV_HTTP_MAX_IDLE_CONNECTIONS = "RD_HTTP_MAX_IDLE_CONNECTIONS";
+    /**
+     * Seconds that idle connections are kept in the connection pool
+     */
+    public static final String ENV_HTTP_KEEPALIVE = "RD_HTTP_KEEPALIVE";
+    /**
+     * Comma separated list of HTTP protocols to use: h2, http1.1, or h2c-prior-knowledge alone for cleartext HTTP/2
+     */
+    public static final String ENV_HTTP_PROTOCOLS = "RD_HTTP_PROTOCOLS";
+    /**
+     * If true, compress json, xml, yaml and text request bodies with gzip
+     */
+    public static final String ENV_HTTP_GZIP_REQUESTS = "RD_HTTP_GZIP_REQUESTS";
+    /**
+     * Directory to store login session cookies when using password authentication, so that later invocations reuse
+     * the session. Sessions are not stored if not set
+     */
+    public static final String ENV_SESSION_STORE_DIR = "RD_SESSION_STORE_DIR";
+    /**
+     * Directory for the on-disk HTTP response cache, the cache is disabled if not set
+     */
+    public static final String ENV_HTTP_CACHE_DIR = "RD_HTTP_CACHE_DIR";
+    /**
+     * Max size of the HTTP response cache in megabytes
+     */
+    public static final String ENV_HTTP_CACHE_SIZE = "RD_HTTP_CACHE_SIZE";
+    /**
+     * Seconds that cached responses are used without revalidation, default 0. Can be set for a single API method by
+     * appending the uppercase method name, e.g. RD_HTTP_CACHE_MAX_AGE_LISTPROJECTS
+     */
+    public static final String ENV_HTTP_CACHE_MAX_AGE = "RD_HTTP_CACHE_MAX_AGE";
     /**
      * If true, allow API version to be automatically degraded when unsupported version is detected
      */
@@ -69,6 +124,9 @@ public class RundeckClient {
     public static final int INSECURE_SSL_LOGGING = 2;
     public static final long DEFAULT_READ_TIMEOUT_SECONDS = 10 * 60L;
     public static final long DEFAULT_CONN_TIMEOUT_SECONDS = 2 * 60L;
+    public static final long DEFAULT_HTTP_CACHE_SIZE_MB = 50L;
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    public static final long DEFAULT_KEEPALIVE_SECONDS = 5 * 60L;
 
     private RundeckClient() {
     }
@@ -77,6 +135,7 @@ public class RundeckClient {
     @SuppressWarnings("UnusedReturnValue")
     public static class Builder<A> {
         final OkHttpClient.Builder okhttp;
+        final Dispatcher dispatcher;
         String baseUrl;
         String appBaseUrl;
         int httpLogging;
@@ -86,10 +145,24 @@ public class RundeckClient {
         Client.Logger logger;
         private String userAgent = USER_AGENT;
         private final Class<A> api;
+        File httpCacheDir;
+        File sessionStoreDir;
+        FormAuthInterceptor formAuth;
+        String formAuthUser;
+        long httpCacheSize = DEFAULT_HTTP_CACHE_SIZE_MB * 1024 * 1024;
+        long httpCacheMaxAge;
+        final Map<String, Long> httpCacheMaxAgeByMethod = new HashMap<>();
+        String credentialIdentity;
+        boolean gzipRequests;
+        ClientMetrics metrics;
+        int retryMax;
+        long retryBackoff = DEFAULT_RETRY_BACKOFF;
 
         Builder(Class<A> api) {
             this.api = api;
             this.okhttp = new OkHttpClient.Builder();
+            this.dispatcher = new Dispatcher();
+            this.okhttp.dispatcher(dispatcher);
         }
 
         public <T> Builder<A> accept(BuildWith<Builder<A>, T> bw, T i) {
@@ -105,12 +178,87 @@ public class RundeckClient {
             writeTimeout(config.getLong(ENV_HTTP_WRITE_TIMEOUT, null));
             timeout(config.getLong(ENV_HTTP_TIMEOUT, null));
             callTimeout(config.getLong(ENV_HTTP_CALL_TIMEOUT, null));
+            maxRequests(config.getInt(ENV_HTTP_MAX_REQUESTS, 0));
+            retry(config.getInt(ENV_HTTP_RETRY_MAX, 0), config.getLong(ENV_HTTP_RETRY_BACKOFF, null));
+            maxRequestsPerHost(config.getInt(ENV_HTTP_MAX_REQUESTS_PER_HOST, 0));
+            connectionPool(
+                    config.getInt(ENV_HTTP_MAX_IDLE_CONNECTIONS, 0),
+                    config.getLong(ENV_HTTP_KEEPALIVE, null)
+            );
+            protocols(config.getString(ENV_HTTP_PROTOCOLS, null));
+            gzipRequests(config.getBool(ENV_HTTP_GZIP_REQUESTS, false));
             bypassUrl(config.getString(ENV_BYPASS_URL, null));
             insecureSSL(config.getBool(ENV_INSECURE_SSL, false));
             insecureSSLHostname(config.getBool(ENV_INSECURE_SSL_HOSTNAME, false));
             alternateSSLHostname(config.getString(ENV_ALT_SSL_HOSTNAME, null));
             allowVersionDowngrade(config.getBool(RD_API_DOWNGRADE, false));
             allowCrossOriginRedirect(config.getBool(ENV_ALLOW_CROSS_ORIGIN_REDIRECT, false));
+            String sessionDir = config.getString(ENV_SESSION_STORE_DIR, null);
+            if (null != sessionDir && !sessionDir.isEmpty()) {
+                sessionStore(new File(sessionDir));
+            }
+            String cacheDir = config.getString(ENV_HTTP_CACHE_DIR, null);
+            if (null != cacheDir && !cacheDir.isEmpty()) {
+                Long cacheSize = config.getLong(ENV_HTTP_CACHE_SIZE, DEFAULT_HTTP_CACHE_SIZE_MB);
+                httpCache(
+                        new File(cacheDir),
+                        (null != cacheSize ? cacheSize : DEFAULT_HTTP_CACHE_SIZE_MB) * 1024 * 1024
+                );
+                httpCacheMaxAge(config.getLong(ENV_HTTP_CACHE_MAX_AGE, null));
+                for (Method method : api.getMethods()) {
+                    if (method.isAnnotationPresent(Cached.class)) {
+                        httpCacheMaxAge(
+                                method.getName(),
+                                config.getLong(ENV_HTTP_CACHE_MAX_AGE + "_" + method.getName().toUpperCase(), null)
+                        );
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Store login session cookies for password authentication, so that later clients for the same URL and user
+         * reuse the session without logging in again
+         *
+         * @param dir directory for session files
+         */
+        public Builder<A> sessionStore(final File dir) {
+            this.sessionStoreDir = dir;
+            return this;
+        }
+
+        /**
+         * Enable the on-disk HTTP response cache for API methods annotated with {@link Cached}
+         *
+         * @param dir     base directory, a subdirectory is used for each server and credential
+         * @param maxSize max size in bytes
+         */
+        public Builder<A> httpCache(final File dir, final long maxSize) {
+            this.httpCacheDir = dir;
+            this.httpCacheSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param seconds time that cached responses are used without revalidation, null or 0 to always revalidate
+         */
+        public Builder<A> httpCacheMaxAge(final Long seconds) {
+            if (null != seconds) {
+                this.httpCacheMaxAge = seconds;
+            }
+            return this;
+        }
+
+        /**
+         * @param method  API method name
+         * @param seconds time that cached responses for the method are used without revalidation, null for the
+         *                default
+         */
+        public Builder<A> httpCacheMaxAge(final String method, final Long seconds) {
+            if (null != seconds) {
+                this.httpCacheMaxAgeByMethod.put(method, seconds);
+            }
             return this;
         }
 
@@ -167,6 +315,128 @@ public class RundeckClient {
             return this;
         }
 
+        /**
+         * @param maxRequests max number of requests executing at once for async calls, further calls are queued.
+         *                    Ignored if null or less than 1
+         */
+        public Builder<A> maxRequests(final Integer maxRequests) {
+            if (null != maxRequests && maxRequests > 0) {
+                this.dispatcher.setMaxRequests(maxRequests);
+            }
+            return this;
+        }
+
+        /**
+         * @param maxRequestsPerHost max number of requests executing at once to a single host for async calls,
+         *                           further calls are queued. Ignored if null or less than 1
+         */
+        public Builder<A> maxRequestsPerHost(final Integer maxRequestsPerHost) {
+            if (null != maxRequestsPerHost && maxRequestsPerHost > 0) {
+                this.dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+            }
+            return this;
+        }
+
+        /**
+         * Configure the connection pool, if either value is set
+         *
+         * @param maxIdleConnections max idle connections to keep, default used if null or less than 1
+         * @param keepAliveSeconds   time to keep idle connections, default used if null or less than 1
+         */
+        public Builder<A> connectionPool(final Integer maxIdleConnections, final Long keepAliveSeconds) {
+            boolean hasMaxIdle = null != maxIdleConnections && maxIdleConnections > 0;
+            boolean hasKeepAlive = null != keepAliveSeconds && keepAliveSeconds > 0;
+            if (hasMaxIdle || hasKeepAlive) {
+                this.okhttp.connectionPool(new ConnectionPool(
+                        hasMaxIdle ? maxIdleConnections : DEFAULT_MAX_IDLE_CONNECTIONS,
+                        hasKeepAlive ? keepAliveSeconds : DEFAULT_KEEPALIVE_SECONDS,
+                        TimeUnit.SECONDS
+                ));
+            }
+            return this;
+        }
+
+        /**
+         * Set the HTTP protocols to use. HTTP/2 is only negotiated for https URLs, h2c-prior-knowledge uses
+         * cleartext HTTP/2 and must be used alone.
+         *
+         * @param protocols comma separated list of h2, http1.1, h2c-prior-knowledge, or null for the default
+         */
+        public Builder<A> protocols(final String protocols) {
+            if (null != protocols && !protocols.trim().isEmpty()) {
+                this.okhttp.protocols(parseProtocols(protocols));
+            }
+            return this;
+        }
+
+        static List<Protocol> parseProtocols(final String value) {
+            List<Protocol> protocols = new ArrayList<>();
+            for (String name : value.split(", *")) {
+                Protocol protocol = parseProtocol(name.trim());
+                if (!protocols.contains(protocol)) {
+                    protocols.add(protocol);
+                }
+            }
+            if (protocols.contains(Protocol.H2_PRIOR_KNOWLEDGE)) {
+                if (protocols.size() > 1) {
+                    throw new IllegalArgumentException(
+                            "HTTP protocol h2c-prior-knowledge cannot be combined with other protocols: " + value);
+                }
+            } else if (!protocols.contains(Protocol.HTTP_1_1)) {
+                //required as a fallback
+                protocols.add(Protocol.HTTP_1_1);
+            }
+            return protocols;
+        }
+
+        private static Protocol parseProtocol(final String name) {
+            switch (name.toLowerCase()) {
+                case "h2":
+                case "http2":
+                    return Protocol.HTTP_2;
+                case "http1.1":
+                case "http/1.1":
+                    return Protocol.HTTP_1_1;
+                case "h2c-prior-knowledge":
+                case "h2_prior_knowledge":
+                    return Protocol.H2_PRIOR_KNOWLEDGE;
+                default:
+                    throw new IllegalArgumentException(
+                            "Unsupported HTTP protocol: " + name + ", expected h2, http1.1 or h2c-prior-knowledge");
+            }
+        }
+
+        /**
+         * @param gzip if true, compress text request bodies with gzip. The server must support gzip encoded requests.
+         */
+        public Builder<A> gzipRequests(final boolean gzip) {
+            this.gzipRequests = gzip;
+            return this;
+        }
+
+        /**
+         * Retry GET, HEAD and {@link Idempotent} requests which receive 429, 502, 503 or 504 responses or read
+         * timeouts
+         *
+         * @param max     max number of retries for a request, 0 to disable
+         * @param backoff initial backoff in ms, doubled for each retry, or null for the default
+         */
+        public Builder<A> retry(final int max, final Long backoff) {
+            this.retryMax = Math.max(0, max);
+            if (null != backoff && backoff >= 0) {
+                this.retryBackoff = backoff;
+            }
+            return this;
+        }
+
+        /**
+         * @param metrics collects per method request stats, or null
+         */
+        public Builder<A> metrics(final ClientMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
         public Builder<A> baseUrl(final String baseUrl) {
             this.parseUrl = HttpUrl.parse(baseUrl);
             validateBaseUrl(baseUrl, parseUrl);
@@ -197,11 +467,14 @@ public class RundeckClient {
 
         public Builder<A> tokenAuth(final String authToken) {
             buildTokenAuth(okhttp, baseUrl, authToken);
+            this.credentialIdentity = "token:" + authToken;
             return this;
         }
 
         public Builder<A> passwordAuth(final String username, final String password) {
-            buildFormAuth(baseUrl, username, password, okhttp);
+            this.formAuth = buildFormAuth(baseUrl, username, password, okhttp);
+            this.formAuthUser = username;
+            this.credentialIdentity = "user:" + username;
             return this;
         }
 
@@ -245,7 +518,7 @@ public class RundeckClient {
             builder.addInterceptor(new StaticHeaderInterceptor("X-Rundeck-Auth-Token", authToken));
         }
 
-        private static void buildFormAuth(
+        private static FormAuthInterceptor buildFormAuth(
                 final String baseUrl,
                 final String username,
                 final String password, final OkHttpClient.Builder builder
@@ -272,7 +545,7 @@ public class RundeckClient {
                     .build()
                     .toString();
 
-            builder.addInterceptor(new FormAuthInterceptor(
+            FormAuthInterceptor formAuth = new FormAuthInterceptor(
                     username,
                     password,
                     appBaseUrl,
@@ -290,8 +563,9 @@ public class RundeckClient {
                             "/user/error"
                     )
 
-            ));
-
+            );
+            builder.addInterceptor(formAuth);
+            return formAuth;
         }
 
         private Client<A> buildRundeckClient() {
@@ -308,13 +582,38 @@ public class RundeckClient {
             //detected final version
             int usedApiVers = apiVersionForUrl(apiBaseUrl, API_VERS);
 
+            final RetryInterceptor retries = retryMax > 0 ? new RetryInterceptor(retryMax, retryBackoff, logger) : null;
+            if (null != retries) {
+                okhttp.addInterceptor(retries);
+            }
+            if (null != metrics) {
+                okhttp.addInterceptor(metrics.interceptor());
+            }
             okhttp.addInterceptor(new StaticHeaderInterceptor("User-Agent", userAgent));
+            if (gzipRequests) {
+                okhttp.addInterceptor(new GzipRequestInterceptor(httpLogging > 0 ? logger : null));
+            }
+
+            if (null != formAuth && null != sessionStoreDir) {
+                openSessionStore(appBaseUrl);
+            }
+
+            HttpCache httpCache = openHttpCache(appBaseUrl);
+            if (null != httpCache) {
+                okhttp.cache(httpCache.getCache());
+                okhttp.addNetworkInterceptor(new CacheControlInterceptor(httpCacheMaxAge, httpCacheMaxAgeByMethod));
+            }
 
             OkHttpClient okhttp = this.okhttp.build();
 
-            Retrofit retrofit = new Retrofit.Builder()
+            Retrofit.Builder retrofitBuilder = new Retrofit.Builder()
                     .baseUrl(apiBaseUrl)
-                    .client(okhttp)
+                    .client(okhttp);
+            if (null != metrics) {
+                retrofitBuilder.addConverterFactory(metrics.converterFactory());
+            }
+            Retrofit retrofit = retrofitBuilder
+                    .addConverterFactory(new StreamingJsonConverterFactory())
                     .addConverterFactory(new QualifiedTypeConverterFactory(
                             JacksonConverterFactory.create(),
                             JaxbConverterFactory.create(),
@@ -328,6 +627,15 @@ public class RundeckClient {
                     () -> {
                         okhttp.dispatcher().executorService().shutdown();
                         okhttp.connectionPool().evictAll();
+                        if (null != retries && retries.getRetries() > 0 && httpLogging > 0 && null != logger) {
+                            logger.warning("# HTTP retries: " + retries.getRetries());
+                        }
+                        if (null != httpCache) {
+                            if (httpLogging > 0 && null != logger) {
+                                logger.warning("# HTTP cache " + httpCache.stats());
+                            }
+                            httpCache.close();
+                        }
                         Cache cache = okhttp.cache();
                         if (null != cache && !cache.isClosed()) {
                             cache.close();
@@ -341,6 +649,36 @@ public class RundeckClient {
             );
         }
 
+        private void openSessionStore(final String appBaseUrl) {
+            try {
+                SessionCookieJar sessionStore = SessionCookieJar.open(sessionStoreDir, appBaseUrl, formAuthUser);
+                okhttp.cookieJar(sessionStore);
+                formAuth.setSessionStore(sessionStore);
+            } catch (IOException e) {
+                if (null != logger) {
+                    logger.warning("# Session store could not be opened, continuing without it: " + e.getMessage());
+                }
+            }
+        }
+
+        private HttpCache openHttpCache(final String appBaseUrl) {
+            if (null == httpCacheDir) {
+                return null;
+            }
+            try {
+                HttpCache httpCache = HttpCache.open(httpCacheDir, appBaseUrl, credentialIdentity, httpCacheSize);
+                if (null == httpCache && httpLogging > 0 && null != logger) {
+                    logger.warning("# HTTP cache is in use by another client, continuing without it");
+                }
+                return httpCache;
+            } catch (IOException e) {
+                if (null != logger) {
+                    logger.warning("# HTTP cache could not be opened, continuing without it: " + e.getMessage());
+                }
+                return null;
+            }
+        }
+
         private static void validateNotempty(final String authToken, final String s) {
             if ("".equals(authToken) || null == authToken) {
                 throw new IllegalArgumentException(s);
@@ -30,13 +30,17 @@ import org.rundeck.client.api.model.scheduler.ForecastJobItem;
 import org.rundeck.client.api.model.scheduler.ScheduledJobItem;
 import org.rundeck.client.api.model.scheduler.SchedulerTakeover;
 import org.rundeck.client.api.model.scheduler.SchedulerTakeoverResult;
+import org.rundeck.client.util.Cached;
+import org.rundeck.client.util.Idempotent;
 import org.rundeck.client.util.Json;
+import org.rundeck.client.util.StreamField;
 import retrofit2.Call;
 import retrofit2.http.*;
 
 import java.net.URL;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Interface for Rundeck API using retrofit annotations
@@ -44,6 +48,7 @@ import java.util.Map;
 @SuppressWarnings("JavaDoc")
 public interface RundeckApi {
 
+    @Cached
     @Headers("Accept: application/json")
     @GET("project/{project}/jobs")
     Call<List<JobItem>> listJobs(
@@ -54,6 +59,7 @@ public interface RundeckApi {
             @Query("groupPathExact") String groupPathExact
     );
 
+    @Cached
     @Headers("Accept: application/json")
     @GET("project/{project}/jobs")
     Call<List<JobItem>> listJobs(
@@ -61,6 +67,37 @@ public interface RundeckApi {
             @Query("idlist") String idlist
     );
 
+    /**
+     * List all jobs, revalidating a cached response with the server instead of using it until it expires
+     */
+    @Cached
+    @Headers({"Accept: application/json", "Cache-Control: no-cache"})
+    @GET("project/{project}/jobs")
+    Call<List<JobItem>> listJobsRevalidated(@Path("project") String project);
+
+    /**
+     * Streaming version of listJobs, the result must be closed
+     */
+    @Headers("Accept: application/json")
+    @GET("project/{project}/jobs")
+    Call<Stream<JobItem>> streamJobs(
+            @Path("project") String project,
+            @Query("jobFilter") String jobName,
+            @Query("groupPath") String groupPath,
+            @Query("jobExactFilter") String jobNameExact,
+            @Query("groupPathExact") String groupPathExact
+    );
+
+    /**
+     * Streaming version of listJobs, the result must be closed
+     */
+    @Headers("Accept: application/json")
+    @GET("project/{project}/jobs")
+    Call<Stream<JobItem>> streamJobs(
+            @Path("project") String project,
+            @Query("idlist") String idlist
+    );
+
     /**
      * new api
      * @param jobid
@@ -226,6 +263,7 @@ public interface RundeckApi {
             @Body BulkJobDelete body
     );
 
+    @Cached
     @Headers("Accept: application/json")
     @GET("projects")
     Call<List<ProjectItem>> listProjects();
@@ -241,13 +279,22 @@ public interface RundeckApi {
      *
      * @see <a href="http://rundeck.org/docs/api/index.html#listing-resources">api</a>
      */
+    @Cached
     @Headers("Accept: application/json")
     @GET("project/{project}/resources")
     Call<Map<String, ProjectNode>> listNodes(@Path("project") String project, @Query("filter") String filter);
 
+    /**
+     * Streaming version of listNodes, the result must be closed
+     */
+    @Headers("Accept: application/json")
+    @GET("project/{project}/resources")
+    Call<Stream<ProjectNode>> streamNodes(@Path("project") String project, @Query("filter") String filter);
+
     /**
      * @see <a href="http://rundeck.org/docs/api/#put-project-configuration">api</a>
      */
+    @Idempotent
     @Headers("Accept: application/json")
     @PUT("project/{project}/config")
     Call<ProjectConfig> setProjectConfiguration(@Path("project") String project, @Body ProjectConfig config);
@@ -255,6 +302,7 @@ public interface RundeckApi {
     /**
      * @see <a href="http://rundeck.org/docs/api/#get-project-configuration">api</a>
      */
+    @Cached
     @Headers("Accept: application/json")
     @GET("project/{project}/config")
     Call<ProjectConfig> getProjectConfiguration(@Path("project") String project);
@@ -262,6 +310,7 @@ public interface RundeckApi {
     /**
      * @see <a href="http://rundeck.org/docs/api/#put-project-configuration-key">api</a>
      */
+    @Idempotent
     @Headers({"Accept: application/json", "Content-Type: application/json"})
     @PUT("project/{project}/config/{key}")
     Call<ProjectConfig> setProjectConfigurationKey(
@@ -463,6 +512,21 @@ public interface RundeckApi {
             @Query("excludeJobListFilter") List<String> excludeJobListFilters
     );
 
+    /**
+     * Streaming version of listExecutions, the result must be closed
+     */
+    @StreamField("executions")
+    @Headers("Accept: application/json")
+    @GET("project/{project}/executions")
+    Call<PagedStream<Execution>> streamExecutions(
+            @Path("project") String project,
+            @QueryMap Map<String, String> options,
+            @Query("jobIdListFilter") List<String> jobIdListFilter,
+            @Query("excludeJobIdListFilter") List<String> xjobIdListFilter,
+            @Query("jobListFilter") List<String> jobListFilter,
+            @Query("excludeJobListFilter") List<String> excludeJobListFilters
+    );
+
     /**
      * Bulk delete
      *
@@ -690,6 +754,7 @@ public interface RundeckApi {
             @Path("name") String name
     );
 
+    @Idempotent
     @Headers("Accept: application/json")
     @PUT("project/{project}/acl/{name}")
     Call<ACLPolicy> updateAclPolicy(
@@ -726,6 +791,7 @@ public interface RundeckApi {
             @Path("name") String name
     );
 
+    @Idempotent
     @Headers("Accept: application/json")
     @PUT("system/acl/{name}")
     Call<ACLPolicy> updateSystemAclPolicy(
@@ -1042,6 +1108,7 @@ public interface RundeckApi {
      *
      * @return readme contents
      */
+    @Idempotent
     @Headers("Accept: application/json")
     @PUT("project/{project}/{file}")
     Call<ProjectReadme> putReadme(
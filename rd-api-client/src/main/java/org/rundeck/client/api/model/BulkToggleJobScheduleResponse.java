@@ -21,7 +21,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class BulkToggleJobScheduleResponse {
+public class BulkToggleJobScheduleResponse implements BulkToggleResponse {
   private int          requestCount;
   private boolean      enabled;
   private boolean      allsuccessful;
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.api.model;
+
+import java.util.List;
+
+/**
+ * Response to a bulk job execution or schedule toggle request
+ */
+public interface BulkToggleResponse {
+    int getRequestCount();
+
+    boolean isAllsuccessful();
+
+    /**
+     * @return results for jobs which were toggled, or null
+     */
+    List<?> getSucceeded();
+
+    /**
+     * @return results for jobs which failed, or null
+     */
+    List<?> getFailed();
+}
@@ -52,6 +52,25 @@ public class ExecLog {
         clone.stepctx = null == stepctx && null != prev ? prev.stepctx : stepctx;
         return clone;
     }
+
+    /**
+     * Fill the values missing from this compacted entry from the previous entry, without copying
+     *
+     * @param prev previous decompacted entry, or null
+     */
+    public void decompactFrom(ExecLog prev) {
+        if (null == prev) {
+            return;
+        }
+        time = null == time ? prev.time : time;
+        level = null == level ? prev.level : level;
+        log = null == log ? prev.log : log;
+        user = null == user ? prev.user : user;
+        command = null == command ? prev.command : command;
+        node = null == node ? prev.node : node;
+        stepctx = null == stepctx ? prev.stepctx : stepctx;
+    }
+
     public Map<String, String> toMap() {
         HashMap<String, String> map = new HashMap<>();
         map.put("time", time);
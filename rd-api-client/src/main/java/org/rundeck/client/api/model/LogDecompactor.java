@@ -0,0 +1,51 @@
+package org.rundeck.client.api.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decompacts the log entries of successive pages of execution output. Unlike {@link ExecOutput#decompactEntries()},
+ * the entries are filled in place without copying the page, and the last entry of each page is carried over so that
+ * compacted entries at the start of the next page are decompacted from it.
+ */
+public class LogDecompactor {
+    private ExecLog prev;
+
+    public LogDecompactor() {
+    }
+
+    /**
+     * @param prev last entry of the previous page, e.g. when resuming
+     */
+    public LogDecompactor(final ExecLog prev) {
+        this.prev = prev;
+    }
+
+    /**
+     * @return last entry of the pages decompacted so far, or null
+     */
+    public ExecLog getPrevious() {
+        return prev;
+    }
+
+    /**
+     * Decompact the entries of the next page of output in place
+     *
+     * @param output output page
+     * @return the entries of the page, decompacted
+     */
+    public List<ExecLog> decompact(final ExecOutput output) {
+        List<ExecLog> entries = output.entries;
+        if (null == entries || entries.isEmpty()) {
+            return null != entries ? entries : Collections.emptyList();
+        }
+        boolean compacted = null != output.compacted && output.compacted;
+        for (ExecLog entry : entries) {
+            if (compacted) {
+                entry.decompactFrom(prev);
+            }
+            prev = entry;
+        }
+        return entries;
+    }
+}
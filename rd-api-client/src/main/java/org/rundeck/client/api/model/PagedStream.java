@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.rundeck.client.api.model;
+
+import java.io.Closeable;
+import java.util.stream.Stream;
+
+/**
+ * A streamed list of results with paging data, which must be closed after use
+ *
+ * @param <T> element type
+ */
+public class PagedStream<T> implements Closeable {
+    private Stream<T> stream;
+    private volatile Paging paging;
+
+    /**
+     * @return elements, parsed as they are consumed
+     */
+    public Stream<T> stream() {
+        return stream;
+    }
+
+    public void setStream(final Stream<T> stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * @return paging data, which may be null until the stream is consumed if the paging data follows the elements
+     * in the response
+     */
+    public Paging getPaging() {
+        return paging;
+    }
+
+    public void setPaging(final Paging paging) {
+        this.paging = paging;
+    }
+
+    @Override
+    public void close() {
+        if (null != stream) {
+            stream.close();
+        }
+    }
+}
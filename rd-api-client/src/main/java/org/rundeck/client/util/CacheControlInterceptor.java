@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.util;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Network interceptor which allows responses of API methods annotated with {@link Cached} to be stored in the HTTP
+ * response cache.
+ *
+ * <p>Responses which have an {@code ETag} or {@code Last-Modified} validator are marked as private and stale after
+ * the configured max-age, so the cache revalidates them with {@code If-None-Match} or {@code If-Modified-Since}, and
+ * the server can reply with 304 instead of the full body. Responses without a validator are only stored if a
+ * positive max-age is configured.</p>
+ *
+ * <p>Responses for all other requests are marked as {@code no-store}, so the cache never applies to them.</p>
+ */
+public class CacheControlInterceptor implements Interceptor {
+    private final long defaultMaxAge;
+    private final Map<String, Long> maxAgeByMethod;
+
+    /**
+     * @param defaultMaxAge  max-age in seconds for cached responses, 0 to revalidate on each request
+     * @param maxAgeByMethod max-age overrides by API method name
+     */
+    public CacheControlInterceptor(final long defaultMaxAge, final Map<String, Long> maxAgeByMethod) {
+        this.defaultMaxAge = defaultMaxAge;
+        this.maxAgeByMethod = Collections.unmodifiableMap(new HashMap<>(maxAgeByMethod));
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        Method method = cachedMethod(request);
+        if (null == method || !"GET".equals(request.method())) {
+            return response.newBuilder().header("Cache-Control", "no-store").build();
+        }
+        long maxAge = Math.max(0, maxAgeByMethod.getOrDefault(method.getName(), defaultMaxAge));
+        boolean hasValidator = null != response.header("ETag") || null != response.header("Last-Modified");
+        //a 304 is only received when revalidating a stored response
+        boolean store = response.code() == 304
+                        || (response.code() == 200 && (hasValidator || maxAge > 0));
+        if (!store) {
+            return response;
+        }
+        return response.newBuilder()
+                       .removeHeader("Pragma")
+                       .removeHeader("Expires")
+                       .header("Cache-Control", "private, max-age=" + maxAge)
+                       .build();
+    }
+
+    /**
+     * @param request request
+     * @return the API method for the request if it is annotated with {@link Cached}, or null
+     */
+    static Method cachedMethod(final Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (null == invocation) {
+            return null;
+        }
+        Method method = invocation.method();
+        return method.isAnnotationPresent(Cached.class) ? method : null;
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.rundeck.client.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import retrofit2.Converter;
+import retrofit2.Invocation;
+import retrofit2.Retrofit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects request count, bytes sent and received, latency and response conversion time for each API method. The
+ * {@link #interceptor()} and {@link #converterFactory()} are installed by the client builder, and one instance can
+ * be shared by several clients.
+ * <p>
+ * Latency is measured until the response headers are received, and conversion time covers reading and parsing the
+ * response body, so slow server responses can be told apart from client overhead.
+ */
+public class ClientMetrics {
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final ThreadLocal<Endpoint> current = new ThreadLocal<>();
+
+    /**
+     * Stats for one API method
+     */
+    public static class Endpoint {
+        private final String name;
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong bytesOut = new AtomicLong();
+        private final AtomicLong bytesIn = new AtomicLong();
+        private final AtomicLong conversionNanos = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        Endpoint(final String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return latency.getCount();
+        }
+
+        /**
+         * @return number of requests which failed or received an error status
+         */
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public long getBytesOut() {
+            return bytesOut.get();
+        }
+
+        public long getBytesIn() {
+            return bytesIn.get();
+        }
+
+        /**
+         * @return total time in ms spent reading and converting response bodies
+         */
+        public long getConversionMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(conversionNanos.get());
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+    }
+
+    /**
+     * @return stats for each API method which has been called, sorted by name
+     */
+    public List<Endpoint> getEndpoints() {
+        List<Endpoint> list = new ArrayList<>(endpoints.values());
+        list.sort((a, b) -> a.name.compareTo(b.name));
+        return list;
+    }
+
+    /**
+     * Remove all collected stats
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    public boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    Endpoint endpoint(final Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        String name = null != invocation
+                      ? invocation.method().getName()
+                      : request.method() + " " + request.url().encodedPath();
+        return endpoints.computeIfAbsent(name, Endpoint::new);
+    }
+
+    /**
+     * @return application interceptor which records requests
+     */
+    public Interceptor interceptor() {
+        return chain -> {
+            Request request = chain.request();
+            Endpoint endpoint = endpoint(request);
+            RequestBody body = request.body();
+            if (null != body && body.contentLength() > 0) {
+                endpoint.bytesOut.addAndGet(body.contentLength());
+            }
+            long start = System.nanoTime();
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException | RuntimeException e) {
+                endpoint.latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                endpoint.errors.incrementAndGet();
+                throw e;
+            }
+            endpoint.latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (!response.isSuccessful() && response.code() != 304) {
+                endpoint.errors.incrementAndGet();
+            }
+            //the response is converted on the same thread
+            current.set(endpoint);
+            ResponseBody responseBody = response.body();
+            if (null == responseBody) {
+                return response;
+            }
+            return response.newBuilder().body(new CountingResponseBody(responseBody, endpoint.bytesIn)).build();
+        };
+    }
+
+    /**
+     * @return converter factory which records the time spent converting responses, it must be added before other
+     * converter factories
+     */
+    public Converter.Factory converterFactory() {
+        return new Converter.Factory() {
+            @Override
+            public Converter<ResponseBody, ?> responseBodyConverter(
+                    final Type type,
+                    final Annotation[] annotations,
+                    final Retrofit retrofit
+            )
+            {
+                Converter<ResponseBody, ?> delegate = retrofit.nextResponseBodyConverter(this, type, annotations);
+                return value -> {
+                    Endpoint endpoint = current.get();
+                    current.remove();
+                    long start = System.nanoTime();
+                    try {
+                        return delegate.convert(value);
+                    } finally {
+                        if (null != endpoint) {
+                            endpoint.conversionNanos.addAndGet(System.nanoTime() - start);
+                        }
+                    }
+                };
+            }
+        };
+    }
+
+    static class CountingResponseBody extends ResponseBody {
+        private final ResponseBody body;
+        private final BufferedSource source;
+
+        CountingResponseBody(final ResponseBody body, final AtomicLong counter) {
+            this.body = body;
+            this.source = Okio.buffer(new ForwardingSource(body.source()) {
+                @Override
+                public long read(final Buffer sink, final long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        counter.addAndGet(read);
+                    }
+                    return read;
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return body.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+
+    /**
+     * Write a table of stats, with times in ms
+     *
+     * @param out destination
+     */
+    public void writeSummary(final PrintWriter out) {
+        String format = "%-32s %7s %6s %11s %11s %9s %9s %8s %8s %8s %8s %9s%n";
+        out.printf(
+                format,
+                "METHOD", "COUNT", "ERRORS", "BYTES_OUT", "BYTES_IN", "TOTAL", "MEAN", "P50", "P90", "P99", "MAX",
+                "CONVERT"
+        );
+        for (Endpoint endpoint : getEndpoints()) {
+            LatencyHistogram latency = endpoint.latency;
+            out.printf(
+                    format,
+                    endpoint.name,
+                    endpoint.getCount(),
+                    endpoint.getErrors(),
+                    endpoint.getBytesOut(),
+                    endpoint.getBytesIn(),
+                    latency.getTotal(),
+                    String.format("%.1f", latency.getMean()),
+                    latency.percentile(50),
+                    latency.percentile(90),
+                    latency.percentile(99),
+                    latency.getMax(),
+                    endpoint.getConversionMillis()
+            );
+        }
+        out.flush();
+    }
+
+    /**
+     * @return stats as a map suitable for serializing
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> methods = new LinkedHashMap<>();
+        for (Endpoint endpoint : getEndpoints()) {
+            LatencyHistogram latency = endpoint.latency;
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("count", endpoint.getCount());
+            data.put("errors", endpoint.getErrors());
+            data.put("bytesOut", endpoint.getBytesOut());
+            data.put("bytesIn", endpoint.getBytesIn());
+            Map<String, Object> latencyData = new LinkedHashMap<>();
+            latencyData.put("total", latency.getTotal());
+            latencyData.put("mean", latency.getMean());
+            latencyData.put("p50", latency.percentile(50));
+            latencyData.put("p90", latency.percentile(90));
+            latencyData.put("p99", latency.percentile(99));
+            latencyData.put("max", latency.getMax());
+            latencyData.put("buckets", latency.getBuckets());
+            data.put("latencyMs", latencyData);
+            data.put("conversionMs", endpoint.getConversionMillis());
+            methods.put(endpoint.name, data);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("methods", methods);
+        return result;
+    }
+
+    /**
+     * Write stats as a JSON document
+     *
+     * @param file destination
+     * @throws IOException if an error occurs
+     */
+    public void writeJson(final File file) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, toMap());
+    }
+}
@@ -33,6 +33,7 @@ public class FormAuthInterceptor implements Interceptor {
     private final String usernameField;
     private final String passwordField;
     private final String loginErrorURLPath;
+    private SessionCookieJar sessionStore;
 
     public FormAuthInterceptor(
             final String username,
@@ -53,13 +54,40 @@ public class FormAuthInterceptor implements Interceptor {
         this.loginErrorURLPath = loginErrorPath;
     }
 
+    /**
+     * Use a stored session if available. If a request is redirected to the login page the stored session has
+     * expired, so the cookies are cleared and the request is sent again after logging in.
+     *
+     * @param sessionStore stored session cookies, which must also be used as the cookie jar of the http client
+     */
+    public void setSessionStore(final SessionCookieJar sessionStore) {
+        this.sessionStore = sessionStore;
+        this.authorized = sessionStore.hasCookies();
+    }
+
     @Override
     public Response intercept(final Chain chain) throws IOException {
         if (!authorized) {
             authenticate(chain);
         }
 
-        return chain.proceed(chain.request());
+        Response response = chain.proceed(chain.request());
+        if (null != sessionStore && isLoginRedirect(response)) {
+            response.close();
+            sessionStore.clear();
+            authenticate(chain);
+            return chain.proceed(chain.request());
+        }
+        return response;
+    }
+
+    /**
+     * @param response response
+     * @return true if the response was redirected to the login page
+     */
+    static boolean isLoginRedirect(final Response response) {
+        String loginPath = System.getProperty("rundeck.client.user.login", "/user/login");
+        return null != response.priorResponse() && response.request().url().encodedPath().endsWith(loginPath);
     }
 
     /**
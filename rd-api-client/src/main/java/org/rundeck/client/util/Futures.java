@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Utilities for combining {@link CompletableFuture} results of async API calls
+ */
+public class Futures {
+    private Futures() {
+    }
+
+    /**
+     * @param futures futures
+     * @param <U>     result type
+     * @return future which completes with all results in order when all futures complete, or fails with the first
+     * failure after all futures complete
+     */
+    public static <U> CompletableFuture<List<U>> allOf(final List<CompletableFuture<U>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                                .thenApply(v -> futures.stream()
+                                                       .map(CompletableFuture::join)
+                                                       .collect(Collectors.toList()));
+    }
+
+    /**
+     * Start the tasks with at most maxInFlight incomplete at a time, each task is started after a previous one
+     * completes, whether it failed or not
+     *
+     * @param tasks       tasks which start an async call
+     * @param maxInFlight max number of incomplete tasks
+     * @param <U>         result type
+     * @return future which completes with the results in order when all tasks complete, or fails with the first
+     * failure after all tasks complete
+     */
+    public static <U> CompletableFuture<List<U>> bounded(
+            final List<Supplier<CompletableFuture<U>>> tasks,
+            final int maxInFlight
+    )
+    {
+        List<CompletableFuture<U>> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+        AtomicInteger next = new AtomicInteger();
+        int lanes = Math.max(1, Math.min(maxInFlight, tasks.size()));
+        for (int i = 0; i < lanes; i++) {
+            runLane(tasks, results, next);
+        }
+        return allOf(results);
+    }
+
+    private static <U> void runLane(
+            final List<Supplier<CompletableFuture<U>>> tasks,
+            final List<CompletableFuture<U>> results,
+            final AtomicInteger next
+    )
+    {
+        while (true) {
+            int index = next.getAndIncrement();
+            if (index >= tasks.size()) {
+                return;
+            }
+            CompletableFuture<U> task = start(tasks.get(index));
+            CompletableFuture<U> result = results.get(index);
+            if (task.isDone()) {
+                //loop rather than recurse for tasks which complete immediately
+                copy(task, result);
+                continue;
+            }
+            task.whenComplete((r, e) -> {
+                copy(task, result);
+                runLane(tasks, results, next);
+            });
+            return;
+        }
+    }
+
+    private static <U> CompletableFuture<U> start(final Supplier<CompletableFuture<U>> task) {
+        try {
+            return task.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <U> void copy(final CompletableFuture<U> source, final CompletableFuture<U> dest) {
+        source.whenComplete((r, e) -> {
+            if (null != e) {
+                dest.completeExceptionally(unwrap(e));
+            } else {
+                dest.complete(r);
+            }
+        });
+    }
+
+    /**
+     * @param e exception
+     * @return the cause if the exception is a wrapper added by a future
+     */
+    public static Throwable unwrap(final Throwable e) {
+        if ((e instanceof CompletionException || e instanceof ExecutionException) && null != e.getCause()) {
+            return e.getCause();
+        }
+        return e;
+    }
+
+    /**
+     * Wait for the result of the future
+     *
+     * @param future future
+     * @param <U>    result type
+     * @return result
+     * @throws IOException if the future failed with an IOException, or a checked exception
+     */
+    public static <U> U await(final CompletableFuture<U> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
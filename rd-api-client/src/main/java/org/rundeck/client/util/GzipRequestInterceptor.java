@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.rundeck.client.util;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Sink;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Interceptor which compresses text request bodies such as json, xml and yaml with gzip, and sets the {@code
+ * Content-Encoding} header. The body is compressed while it is written, without buffering it in memory. Bodies which
+ * already have a content encoding, binary bodies such as zip archives, and small bodies are sent unchanged. The
+ * server must support gzip encoded requests.
+ */
+public class GzipRequestInterceptor implements Interceptor {
+    /**
+     * Bodies smaller than this are not worth compressing
+     */
+    public static final long MIN_SIZE = 1024;
+    private final Client.Logger logger;
+
+    /**
+     * @param logger logger for compression stats, or null
+     */
+    public GzipRequestInterceptor(final Client.Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestBody body = request.body();
+        if (null == body
+            || null != request.header("Content-Encoding")
+            || !isCompressible(body.contentType())
+            || (body.contentLength() >= 0 && body.contentLength() < MIN_SIZE)) {
+            return chain.proceed(request);
+        }
+        return chain.proceed(
+                request.newBuilder()
+                       .header("Content-Encoding", "gzip")
+                       .method(request.method(), new GzipRequestBody(body, request.url().encodedPath(), logger))
+                       .build()
+        );
+    }
+
+    /**
+     * @param mediaType media type
+     * @return true if the type is text, json, xml or yaml
+     */
+    static boolean isCompressible(final MediaType mediaType) {
+        if (null == mediaType) {
+            return false;
+        }
+        String type = mediaType.type().toLowerCase(Locale.ROOT);
+        String subtype = mediaType.subtype().toLowerCase(Locale.ROOT);
+        return "text".equals(type)
+               || "json".equals(subtype)
+               || "xml".equals(subtype)
+               || "yaml".equals(subtype)
+               || "x-yaml".equals(subtype)
+               || subtype.endsWith("+json")
+               || subtype.endsWith("+xml");
+    }
+
+    static class GzipRequestBody extends RequestBody {
+        private final RequestBody body;
+        private final String path;
+        private final Client.Logger logger;
+
+        GzipRequestBody(final RequestBody body, final String path, final Client.Logger logger) {
+            this.body = body;
+            this.path = path;
+            this.logger = logger;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            //not known until compressed
+            return -1;
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return body.isOneShot();
+        }
+
+        @Override
+        public void writeTo(final BufferedSink sink) throws IOException {
+            long start = System.nanoTime();
+            CountingSink compressed = new CountingSink(sink);
+            CountingSink uncompressed = new CountingSink(new GzipSink(compressed));
+            BufferedSink gzipSink = Okio.buffer(uncompressed);
+            body.writeTo(gzipSink);
+            gzipSink.close();
+            if (null != logger) {
+                double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+                logger.warning(String.format(
+                        "# gzip request %s: %d -> %d bytes (%.1f%%) in %.2fs, %.1f MB/s",
+                        path,
+                        uncompressed.count,
+                        compressed.count,
+                        uncompressed.count > 0 ? 100.0 * compressed.count / uncompressed.count : 100.0,
+                        seconds,
+                        uncompressed.count / seconds / (1024 * 1024)
+                ));
+            }
+        }
+    }
+
+    static class CountingSink extends ForwardingSink {
+        long count;
+
+        CountingSink(final Sink delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(final Buffer source, final long byteCount) throws IOException {
+            super.write(source, byteCount);
+            count += byteCount;
+        }
+    }
+}
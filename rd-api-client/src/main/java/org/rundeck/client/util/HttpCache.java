@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.util;
+
+import okhttp3.Cache;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * On-disk HTTP response cache for a single server and credential. The cache directory is locked while in use, since
+ * the underlying cache does not support concurrent access from multiple processes.
+ */
+public class HttpCache implements Closeable {
+    private final Cache cache;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    private HttpCache(final Cache cache, final FileChannel lockChannel, final FileLock lock) {
+        this.cache = cache;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+    }
+
+    /**
+     * Open the cache for the given server and credential within the base dir
+     *
+     * @param baseDir    base cache dir
+     * @param appBaseUrl server base url
+     * @param identity   identifies the credential used, so responses are not shared between users
+     * @param maxSize    max cache size in bytes
+     * @return cache, or null if it is in use by another client
+     * @throws IOException if the cache dir cannot be created
+     */
+    public static HttpCache open(
+            final File baseDir,
+            final String appBaseUrl,
+            final String identity,
+            final long maxSize
+    )
+            throws IOException
+    {
+        File dir = new File(baseDir, sha256(appBaseUrl + "\n" + identity));
+        Files.createDirectories(dir.toPath());
+        try {
+            Files.setPosixFilePermissions(dir.toPath(), PosixFilePermissions.fromString("rwx------"));
+        } catch (UnsupportedOperationException ignored) {
+        }
+        FileChannel channel = FileChannel.open(
+                new File(dir, "rd.lock").toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE
+        );
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (null == lock) {
+            channel.close();
+            return null;
+        }
+        return new HttpCache(new Cache(dir, maxSize), channel, lock);
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * @return summary of request, hit and network counts
+     */
+    public String stats() {
+        return String.format(
+                "requests: %d, hits: %d, network: %d",
+                cache.requestCount(),
+                cache.hitCount(),
+                cache.networkCount()
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!cache.isClosed()) {
+                cache.close();
+            }
+        } finally {
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    /**
+     * @param value value
+     * @return hex SHA-256 digest of the UTF-8 value, for use in file names
+     */
+    public static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.rundeck.client.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Histogram of durations in milliseconds with power of two buckets. Bucket 0 counts values under 1ms, bucket {@code
+ * i} counts values from {@code 2^(i-1)} up to {@code 2^i} ms, and the last bucket counts everything larger.
+ * Percentiles are estimated by the upper bound of the bucket, so they are accurate to within a factor of two.
+ * Histograms can be merged.
+ */
+public class LatencyHistogram {
+    /**
+     * Number of buckets, the last bucket holds values of {@code 2^(BUCKETS-2)} ms (about 18 minutes) and above
+     */
+    public static final int BUCKETS = 22;
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * @param millis duration
+     * @return bucket index
+     */
+    static int bucket(final long millis) {
+        if (millis < 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis));
+    }
+
+    /**
+     * @param index bucket index
+     * @return upper bound of values in the bucket in ms
+     */
+    static long upperBound(final int index) {
+        return 1L << index;
+    }
+
+    /**
+     * Record a duration
+     *
+     * @param millis duration in ms
+     */
+    public synchronized void record(final long millis) {
+        buckets[bucket(millis)]++;
+        count++;
+        total += Math.max(0, millis);
+        max = Math.max(max, millis);
+    }
+
+    /**
+     * Add the values of another histogram to this one
+     *
+     * @param other histogram
+     */
+    public void merge(final LatencyHistogram other) {
+        long[] otherBuckets;
+        long otherCount, otherTotal, otherMax;
+        synchronized (other) {
+            otherBuckets = other.buckets.clone();
+            otherCount = other.count;
+            otherTotal = other.total;
+            otherMax = other.max;
+        }
+        synchronized (this) {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] += otherBuckets[i];
+            }
+            count += otherCount;
+            total += otherTotal;
+            max = Math.max(max, otherMax);
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @return sum of all values in ms
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized long getMax() {
+        return max;
+    }
+
+    public synchronized double getMean() {
+        return count > 0 ? (double) total / count : 0;
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100
+     * @return estimated value in ms, never more than the max recorded value
+     */
+    public synchronized long percentile(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBound(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return non-empty buckets as a map of upper bound in ms (or "+Inf" for the last bucket) to count
+     */
+    public synchronized Map<String, Long> getBuckets() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (buckets[i] > 0) {
+                result.put(i < BUCKETS - 1 ? Long.toString(upperBound(i)) : "+Inf", buckets[i]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.util;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application interceptor which retries requests that the server rejected because it was overloaded or unavailable
+ * (429, 502, 503 or 504), or which timed out while reading the response. Only GET and HEAD requests, and API methods
+ * annotated with {@link Idempotent}, are retried.
+ *
+ * <p>The delay before each retry is the {@code Retry-After} response header if present, otherwise a random delay
+ * between zero and the backoff doubled for each attempt ("full jitter"), so that many clients do not retry in
+ * step.</p>
+ */
+public class RetryInterceptor implements Interceptor {
+    /**
+     * Max delay before a retry in ms
+     */
+    public static final long MAX_DELAY = 60_000;
+    private final int maxRetries;
+    private final long backoff;
+    private final Client.Logger logger;
+    private final AtomicLong retries = new AtomicLong();
+
+    /**
+     * @param maxRetries max number of retries for a request
+     * @param backoff    initial backoff in ms
+     * @param logger     logger for retries, or null
+     */
+    public RetryInterceptor(final int maxRetries, final long backoff, final Client.Logger logger) {
+        this.maxRetries = maxRetries;
+        this.backoff = backoff;
+        this.logger = logger;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isRetryable(request)) {
+            return chain.proceed(request);
+        }
+        for (int attempt = 0; ; attempt++) {
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (SocketTimeoutException e) {
+                if (attempt >= maxRetries || chain.call().isCanceled()) {
+                    throw e;
+                }
+                retry(request, attempt, "timeout", backoffDelay(attempt));
+                continue;
+            }
+            if (attempt >= maxRetries || !isRetryable(response.code())) {
+                return response;
+            }
+            long delay = retryAfter(response, backoffDelay(attempt));
+            response.close();
+            retry(request, attempt, "HTTP " + response.code(), delay);
+        }
+    }
+
+    private void retry(final Request request, final int attempt, final String reason, final long delay)
+            throws InterruptedIOException
+    {
+        retries.incrementAndGet();
+        if (null != logger) {
+            logger.warning(String.format(
+                    "# Retrying %s %s after %s in %dms (retry %d of %d)",
+                    request.method(),
+                    request.url().encodedPath(),
+                    reason,
+                    delay,
+                    attempt + 1,
+                    maxRetries
+            ));
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting to retry request");
+        }
+    }
+
+    /**
+     * @return total number of retries made
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * @param request request
+     * @return true if the request is a GET or HEAD, or an {@link Idempotent} API method, and the body can be sent
+     * again
+     */
+    static boolean isRetryable(final Request request) {
+        if (null != request.body() && request.body().isOneShot()) {
+            return false;
+        }
+        if ("GET".equals(request.method()) || "HEAD".equals(request.method())) {
+            return true;
+        }
+        Invocation invocation = request.tag(Invocation.class);
+        return null != invocation && invocation.method().isAnnotationPresent(Idempotent.class);
+    }
+
+    static boolean isRetryable(final int code) {
+        return code == 429 || code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * @param attempt attempt number starting at 0
+     * @return random delay up to the backoff doubled for each attempt
+     */
+    long backoffDelay(final int attempt) {
+        return backoffDelay(backoff, attempt);
+    }
+
+    /**
+     * @param backoff initial backoff in ms
+     * @param attempt attempt number starting at 0
+     * @return random delay up to the backoff doubled for each attempt, at most {@link #MAX_DELAY}
+     */
+    public static long backoffDelay(final long backoff, final int attempt) {
+        long max = Math.min(MAX_DELAY, backoff << Math.min(attempt, 20));
+        return max > 0 ? ThreadLocalRandom.current().nextLong(max + 1) : 0;
+    }
+
+    /**
+     * @param response response
+     * @param fallback delay to use if the response has no valid Retry-After header
+     * @return delay from the Retry-After header in seconds or as a date, up to {@link #MAX_DELAY}
+     */
+    static long retryAfter(final Response response, final long fallback) {
+        String value = response.header("Retry-After");
+        if (null == value) {
+            return fallback;
+        }
+        long delay;
+        try {
+            delay = Long.parseLong(value.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            if (null == date) {
+                return fallback;
+            }
+            delay = date.getTime() - System.currentTimeMillis();
+        }
+        return Math.max(0, Math.min(MAX_DELAY, delay));
+    }
+}
@@ -4,12 +4,17 @@ import okhttp3.MediaType;
 import okhttp3.ResponseBody;
 import org.rundeck.client.api.model.ErrorDetail;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import retrofit2.Retrofit;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author greg
@@ -234,6 +239,88 @@ public interface ServiceClient<T> extends Closeable {
     <U> WithErrorResponse<U> apiWithErrorResponseDowngradable(Function<T, Call<U>> func)
             throws IOException, Client.UnsupportedVersionDowngrade;
 
+    /**
+     * call a function using the service asynchronously. The number of calls in flight at once is limited by the
+     * dispatcher of the http client, and further calls are queued.
+     *
+     * @param func function using the service
+     * @param <U>  result type
+     *
+     * @return future result, which fails with the same exceptions as {@link #apiCall(Function)}. Cancelling the
+     * future cancels the call.
+     */
+    default <U> CompletableFuture<U> apiCallAsync(Function<T, Call<U>> func) {
+        return enqueue(func.apply(getService()), response -> checkError(response));
+    }
+
+    /**
+     * call a function using the service asynchronously
+     *
+     * @param func function using the service
+     * @param <U>  result type
+     *
+     * @return future result, which fails with {@link Client.UnsupportedVersionDowngrade} if the API version is not
+     * supported and can be downgraded, or the same exceptions as {@link #apiCall(Function)}
+     */
+    default <U> CompletableFuture<U> apiCallDowngradableAsync(Function<T, Call<U>> func) {
+        return enqueue(func.apply(getService()), response -> checkErrorDowngradable(response));
+    }
+
+    /**
+     * call each function using the service asynchronously
+     *
+     * @param funcs functions using the service
+     * @param <U>   result type
+     *
+     * @return future results in the same order, which fails with the first failure after all calls complete
+     */
+    default <U> CompletableFuture<List<U>> apiCallAll(List<Function<T, Call<U>>> funcs) {
+        return Futures.allOf(funcs.stream().map(this::<U>apiCallAsync).collect(Collectors.toList()));
+    }
+
+    /**
+     * Handles a response
+     *
+     * @param <R> result type
+     */
+    interface ResponseHandler<R> {
+        R handle(Response<R> response) throws Exception;
+    }
+
+    /**
+     * Enqueue the call
+     *
+     * @param call    call
+     * @param handler converts the response to the result
+     * @param <R>     result type
+     *
+     * @return future result
+     */
+    static <R> CompletableFuture<R> enqueue(final Call<R> call, final ResponseHandler<R> handler) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        call.enqueue(new Callback<R>() {
+            @Override
+            public void onResponse(final Call<R> call, final Response<R> response) {
+                try {
+                    future.complete(handler.handle(response));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(final Call<R> call, final Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        future.whenComplete((r, e) -> {
+            if (e instanceof CancellationException) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
     T getService();
 
     Retrofit getRetrofit();
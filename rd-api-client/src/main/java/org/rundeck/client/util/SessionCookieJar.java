@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.util;
+
+import okhttp3.Cookie;
+import okhttp3.CookieJar;
+import okhttp3.HttpUrl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cookie jar stored in a file for a single server and user, so that a login session can be reused by later
+ * processes. The file is only readable by the owner, and is replaced atomically when cookies change.
+ */
+public class SessionCookieJar implements CookieJar {
+    private final Path file;
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+
+    SessionCookieJar(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the cookie jar for the server and user within the dir, loading any stored cookies which have not expired
+     *
+     * @param dir        session store dir
+     * @param appBaseUrl server base url
+     * @param username   user name
+     * @return cookie jar
+     * @throws IOException if the dir cannot be created or the file cannot be read
+     */
+    public static SessionCookieJar open(final File dir, final String appBaseUrl, final String username)
+            throws IOException
+    {
+        Files.createDirectories(dir.toPath());
+        try {
+            Files.setPosixFilePermissions(dir.toPath(), PosixFilePermissions.fromString("rwx------"));
+        } catch (UnsupportedOperationException ignored) {
+        }
+        SessionCookieJar jar = new SessionCookieJar(
+                new File(dir, HttpCache.sha256(appBaseUrl + "\n" + username) + ".cookies").toPath()
+        );
+        jar.load();
+        return jar;
+    }
+
+    private static String key(final Cookie cookie) {
+        return cookie.name() + ";" + cookie.domain() + ";" + cookie.path();
+    }
+
+    private static HttpUrl cookieUrl(final Cookie cookie) {
+        return new HttpUrl.Builder()
+                .scheme(cookie.secure() ? "https" : "http")
+                .host(cookie.domain())
+                .encodedPath(cookie.path())
+                .build();
+    }
+
+    synchronized void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            if (tab < 0) {
+                continue;
+            }
+            HttpUrl url = HttpUrl.parse(line.substring(0, tab));
+            Cookie cookie = null != url ? Cookie.parse(url, line.substring(tab + 1)) : null;
+            if (null != cookie && cookie.expiresAt() > System.currentTimeMillis()) {
+                cookies.put(key(cookie), cookie);
+            }
+        }
+    }
+
+    private void save() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Cookie cookie : cookies.values()) {
+            sb.append(cookieUrl(cookie)).append('\t').append(cookie).append('\n');
+        }
+        Path temp;
+        try {
+            temp = Files.createTempFile(
+                    file.getParent(),
+                    "cookies",
+                    ".tmp",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+            );
+        } catch (UnsupportedOperationException e) {
+            temp = Files.createTempFile(file.getParent(), "cookies", ".tmp");
+        }
+        try {
+            Files.write(temp, sb.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public synchronized void saveFromResponse(final HttpUrl url, final List<Cookie> list) {
+        long now = System.currentTimeMillis();
+        for (Cookie cookie : list) {
+            if (cookie.expiresAt() > now) {
+                cookies.put(key(cookie), cookie);
+            } else {
+                cookies.remove(key(cookie));
+            }
+        }
+        try {
+            save();
+        } catch (IOException ignored) {
+            //the session is still used by this process
+        }
+    }
+
+    @Override
+    public synchronized List<Cookie> loadForRequest(final HttpUrl url) {
+        long now = System.currentTimeMillis();
+        List<Cookie> result = new ArrayList<>();
+        for (Iterator<Cookie> iterator = cookies.values().iterator(); iterator.hasNext(); ) {
+            Cookie cookie = iterator.next();
+            if (cookie.expiresAt() <= now) {
+                iterator.remove();
+            } else if (cookie.matches(url)) {
+                result.add(cookie);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return true if there are stored cookies
+     */
+    public synchronized boolean hasCookies() {
+        return !cookies.isEmpty();
+    }
+
+    /**
+     * Remove all cookies, and the stored file
+     *
+     * @throws IOException if the file cannot be removed
+     */
+    public synchronized void clear() throws IOException {
+        cookies.clear();
+        Files.deleteIfExists(file);
+    }
+
+    Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.rundeck.client.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.ResponseBody;
+import org.rundeck.client.api.model.PagedStream;
+import org.rundeck.client.api.model.Paging;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Retrofit converter factory for {@link Stream} and {@link PagedStream} result types, which parses the elements of a
+ * json response lazily as the stream is consumed, so that large lists do not have to be held in memory. The response
+ * body stays open until the stream is closed or fully consumed.
+ *
+ * <p>The response can be a json array of elements, an object whose field values are the elements, or an object with
+ * the array of elements in a field named by the {@link StreamField} annotation on the API method. A {@code paging}
+ * field in the object is parsed into the {@link PagedStream} paging data.</p>
+ */
+public class StreamingJsonConverterFactory extends Converter.Factory {
+    private final ObjectMapper mapper;
+
+    public StreamingJsonConverterFactory() {
+        this(new ObjectMapper());
+    }
+
+    public StreamingJsonConverterFactory(final ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(
+            final Type type,
+            final Annotation[] annotations,
+            final Retrofit retrofit
+    )
+    {
+        Class<?> rawType = getRawType(type);
+        if (rawType != Stream.class && rawType != PagedStream.class) {
+            return null;
+        }
+        if (!(type instanceof ParameterizedType)) {
+            throw new IllegalArgumentException(rawType.getSimpleName() + " result type must be parameterized");
+        }
+        ObjectReader reader = mapper.readerFor(mapper.constructType(
+                getParameterUpperBound(0, (ParameterizedType) type)
+        ));
+        String field = null;
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof StreamField) {
+                field = ((StreamField) annotation).value();
+            }
+        }
+        final String elementsField = field;
+        if (rawType == Stream.class) {
+            return body -> stream(new ElementIterator<>(body, reader, elementsField, null));
+        }
+        ObjectReader pagingReader = mapper.readerFor(Paging.class);
+        return body -> {
+            PagedStream<Object> result = new PagedStream<>();
+            result.setStream(stream(new ElementIterator<>(
+                    body,
+                    reader,
+                    elementsField,
+                    parser -> result.setPaging(pagingReader.readValue(parser))
+            )));
+            return result;
+        };
+    }
+
+    private static <T> Stream<T> stream(final ElementIterator<T> iterator) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED),
+                false
+        ).onClose(iterator::close);
+    }
+
+    interface PagingParser {
+        void parse(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Iterates over elements as they are parsed
+     */
+    static class ElementIterator<T> implements Iterator<T>, Closeable {
+        private final ResponseBody body;
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private final String field;
+        private final PagingParser pagingParser;
+        private final boolean objectValues;
+        private boolean done;
+        private boolean hasNext;
+        private T next;
+
+        ElementIterator(
+                final ResponseBody body,
+                final ObjectReader reader,
+                final String field,
+                final PagingParser pagingParser
+        )
+                throws IOException
+        {
+            this.body = body;
+            this.reader = reader;
+            this.field = field;
+            this.pagingParser = pagingParser;
+            try {
+                this.parser = reader.getFactory().createParser(body.byteStream());
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_ARRAY) {
+                    objectValues = false;
+                } else if (token == JsonToken.START_OBJECT) {
+                    objectValues = null == field;
+                    if (!objectValues) {
+                        seekElements();
+                    }
+                } else {
+                    throw new JsonParseException(parser, "Expected a json array or object, but was: " + token);
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Read fields of the object until the start of the elements array
+         */
+        private void seekElements() throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals(name) && value == JsonToken.START_ARRAY) {
+                    return;
+                }
+                readOtherField(name);
+            }
+            finish();
+        }
+
+        private void readOtherField(final String name) throws IOException {
+            if ("paging".equals(name) && null != pagingParser) {
+                pagingParser.parse(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        private void advance() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (objectValues) {
+                if (token != JsonToken.FIELD_NAME) {
+                    finish();
+                    return;
+                }
+                token = parser.nextToken();
+            }
+            if (token == JsonToken.END_ARRAY) {
+                if (null != field) {
+                    //read remaining fields of the object after the elements
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        parser.nextToken();
+                        readOtherField(name);
+                    }
+                }
+                finish();
+                return;
+            }
+            if (null == token) {
+                throw new JsonParseException(parser, "Unexpected end of input");
+            }
+            next = reader.readValue(parser);
+            hasNext = true;
+        }
+
+        private void finish() {
+            done = true;
+            close();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext && !done) {
+                try {
+                    advance();
+                } catch (IOException e) {
+                    close();
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            hasNext = false;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            try {
+                if (null != parser) {
+                    parser.close();
+                }
+            } catch (IOException ignored) {
+            } finally {
+                body.close();
+            }
+        }
+    }
+}
@@ -31,4 +31,41 @@ class ExecOutputSpec extends Specification {
         vals[2].toMap() == logs.entries[0].toMap() + [log: 'test3']
 
     }
+
+    def "decompactor fills entries in place and carries the previous entry across pages"() {
+        given:
+        def decompactor = new LogDecompactor()
+        ExecOutput page1 = new ExecOutput(compacted: true, entries: [
+                new ExecLog(log: 'test1', level: 'INFO', node: 'node1', time: '13:01'),
+                new ExecLog(log: 'test2', node: 'node2')
+        ])
+        ExecOutput page2 = new ExecOutput(compacted: true, entries: [new ExecLog('test3')])
+        def first = page2.entries[0]
+
+        when:
+        def vals1 = decompactor.decompact(page1)
+        def vals2 = decompactor.decompact(page2)
+
+        then:
+        vals1.is(page1.entries)
+        vals1[1].toMap() == vals1[0].toMap() + [log: 'test2', node: 'node2']
+        vals2.is(page2.entries)
+        vals2[0].is(first)
+        vals2[0].toMap() == vals1[0].toMap() + [log: 'test3', node: 'node2']
+    }
+
+    def "decompactor does not change uncompacted entries"() {
+        given:
+        def decompactor = new LogDecompactor()
+        ExecOutput page1 = new ExecOutput(entries: [new ExecLog(log: 'test1', level: 'INFO')])
+        ExecOutput page2 = new ExecOutput(entries: [new ExecLog('test2')])
+
+        when:
+        decompactor.decompact(page1)
+        def vals = decompactor.decompact(page2)
+
+        then:
+        vals[0].toMap().level == null
+        decompactor.decompact(new ExecOutput()) == []
+    }
 }
@@ -0,0 +1,59 @@
+package org.rundeck.client.util
+
+import spock.lang.Specification
+
+class LatencyHistogramSpec extends Specification {
+    def "bucket"() {
+        expect:
+        LatencyHistogram.bucket(millis) == expected
+
+        where:
+        millis         | expected
+        0              | 0
+        1              | 1
+        3              | 2
+        4              | 3
+        1000           | 10
+        Long.MAX_VALUE | LatencyHistogram.BUCKETS - 1
+    }
+
+    def "percentiles"() {
+        given:
+        def histogram = new LatencyHistogram()
+        (1..90).each { histogram.record(10) }
+        (1..10).each { histogram.record(1000) }
+
+        expect:
+        histogram.count == 100
+        histogram.max == 1000
+        histogram.total == 10900
+        histogram.percentile(50) == 16
+        histogram.percentile(90) == 16
+        histogram.percentile(99) == 1000
+        histogram.buckets == ['16': 90L, '1024': 10L]
+    }
+
+    def "merge"() {
+        given:
+        def a = new LatencyHistogram()
+        def b = new LatencyHistogram()
+        a.record(5)
+        b.record(500)
+        b.record(2)
+
+        when:
+        a.merge(b)
+
+        then:
+        a.count == 3
+        a.max == 500
+        a.total == 507
+        a.percentile(100) == 500
+    }
+
+    def "empty"() {
+        expect:
+        new LatencyHistogram().percentile(50) == 0
+        new LatencyHistogram().mean == 0
+    }
+}
@@ -2,7 +2,17 @@ package org.rundeck.client.util
 
 import groovy.transform.CompileStatic
 import okhttp3.MediaType
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import org.rundeck.client.RundeckClient
+import org.rundeck.client.api.RequestFailed
+import org.rundeck.client.api.RundeckApi
+import retrofit2.Call
 import spock.lang.Specification
+
+import java.util.concurrent.CompletionException
+import java.util.function.Function
 import spock.lang.Unroll
 
 class ServiceClientSpec extends Specification {
@@ -22,4 +32,96 @@ class ServiceClientSpec extends Specification {
         false | 'text/other'  | ['text/plain']
         false | null          | ['text/plain']
     }
+
+    private static MockWebServer projectServer() {
+        def server = new MockWebServer()
+        server.dispatcher = new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            MockResponse dispatch(RecordedRequest request) {
+                def name = request.path.substring(request.path.lastIndexOf('/') + 1)
+                if (name == 'missing') {
+                    return new MockResponse().setResponseCode(404).
+                            addHeader('Content-Type', 'application/json').
+                            setBody('{"error":true,"errorCode":"api.error.item.doesnotexist","message":"missing"}')
+                }
+                new MockResponse().addHeader('Content-Type', 'application/json').setBody("{\"name\":\"${name}\"}")
+            }
+        }
+        server.start()
+        server
+    }
+
+    def "api call all returns results in order"() {
+        given:
+        def server = projectServer()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                maxRequests(2).
+                build()
+        List<Function<RundeckApi, Call<?>>> funcs = (1..5).collect { i ->
+            { RundeckApi api -> api.getProjectInfo("p$i") } as Function<RundeckApi, Call<?>>
+        }
+
+        when:
+        def result = client.apiCallAll(funcs).get()
+
+        then:
+        result*.name == ['p1', 'p2', 'p3', 'p4', 'p5']
+        server.requestCount == 5
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+    }
+
+    def "api call async fails with request error"() {
+        given:
+        def server = projectServer()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                logger(Mock(Client.Logger)).
+                build()
+
+        when:
+        Futures.await(client.apiCallAsync { it.getProjectInfo('missing') })
+
+        then:
+        RequestFailed e = thrown()
+        e.statusCode == 404
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+    }
+
+    def "bounded limits tasks in flight"() {
+        given:
+        def inFlight = new java.util.concurrent.atomic.AtomicInteger()
+        def maxSeen = new java.util.concurrent.atomic.AtomicInteger()
+        def executor = java.util.concurrent.Executors.newFixedThreadPool(8)
+        def tasks = (1..20).collect { i ->
+            {
+                ->
+                java.util.concurrent.CompletableFuture.supplyAsync({
+                    def now = inFlight.incrementAndGet()
+                    maxSeen.accumulateAndGet(now, Math::max)
+                    Thread.sleep(10)
+                    inFlight.decrementAndGet()
+                    i
+                }, executor)
+            } as java.util.function.Supplier
+        }
+
+        when:
+        def result = Futures.bounded(tasks, 3).get()
+
+        then:
+        result == (1..20).toList()
+        maxSeen.get() <= 3
+
+        cleanup:
+        executor.shutdown()
+    }
 }
@@ -0,0 +1,104 @@
+package org.rundeck.client.util
+
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.rundeck.client.RundeckClient
+import spock.lang.Specification
+
+import java.util.stream.Collectors
+
+class StreamingJsonConverterFactorySpec extends Specification {
+    MockWebServer server
+    Client client
+
+    def setup() {
+        server = new MockWebServer()
+        server.start()
+        client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                build()
+    }
+
+    def cleanup() {
+        client.close()
+        server.shutdown()
+    }
+
+    private void respond(String body) {
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody(body))
+    }
+
+    def "stream array elements"() {
+        given:
+        respond('[{"id":"a","name":"job1"},{"id":"b","name":"job2"}]')
+
+        when:
+        def result = client.apiCall { it.streamJobs('proj', null, null, null, null) }
+        def ids = result.withCloseable { it.map { it.id }.collect(Collectors.toList()) }
+
+        then:
+        ids == ['a', 'b']
+    }
+
+    def "stream object values"() {
+        given:
+        respond('{"node1":{"nodename":"node1"},"node2":{"nodename":"node2","tags":"x"}}')
+
+        when:
+        def result = client.apiCall { it.streamNodes('proj', null) }
+        def names = result.withCloseable { it.map { it.name }.collect(Collectors.toList()) }
+
+        then:
+        names == ['node1', 'node2']
+    }
+
+    def "stream field elements with paging #desc"() {
+        given:
+        respond(body)
+
+        when:
+        def result = client.apiCall { it.streamExecutions('proj', [:], null, null, null, null) }
+        def ids = result.withCloseable { it.stream().map { it.id }.collect(Collectors.toList()) }
+
+        then:
+        ids == ['1', '2']
+        result.paging.total == 10
+        result.paging.count == 2
+
+        where:
+        desc     | body
+        'before' | '{"paging":{"count":2,"total":10,"offset":0,"max":2},"other":{"a":[1]},"executions":[{"id":"1"},{"id":"2"}]}'
+        'after'  | '{"executions":[{"id":"1"},{"id":"2"}],"paging":{"count":2,"total":10,"offset":0,"max":2}}'
+    }
+
+    def "empty field elements"() {
+        given:
+        respond('{"paging":{"count":0,"total":0,"offset":0,"max":20},"executions":[]}')
+
+        when:
+        def result = client.apiCall { it.streamExecutions('proj', [:], null, null, null, null) }
+        def count = result.withCloseable { it.stream().count() }
+
+        then:
+        count == 0
+        result.paging.total == 0
+    }
+
+    def "close before consuming all elements"() {
+        given:
+        respond('[{"id":"a"},{"id":"b"},{"id":"c"}]')
+        respond('[{"id":"d"}]')
+
+        when:
+        def result = client.apiCall { it.streamJobs('proj', null, null, null, null) }
+        def first = result.withCloseable { it.findFirst().get().id }
+        def next = client.apiCall { it.streamJobs('proj', null, null, null, null) }.withCloseable {
+            it.map { it.id }.collect(Collectors.toList())
+        }
+
+        then:
+        first == 'a'
+        next == ['d']
+    }
+}
@@ -4,12 +4,16 @@ import org.rundeck.client.api.RundeckApi;
 import org.rundeck.client.tool.InputError;
 import org.rundeck.client.tool.ProjectInput;
 import org.rundeck.client.tool.RdApp;
+import org.rundeck.client.util.Futures;
 import org.rundeck.client.util.RdClientConfig;
 import org.rundeck.client.util.ServiceClient;
 import retrofit2.Call;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Interface to the RD tool
@@ -73,6 +77,52 @@ public interface RdTool {
     )
             throws InputError, IOException;
 
+    /**
+     * Perform a downgradable API call asynchronously. The default implementation performs the call synchronously.
+     *
+     * @param func function
+     * @param <T>  result type
+     * @return future result, which fails with the same exceptions as {@link #apiCall(Function)}
+     */
+    default <T> CompletableFuture<T> apiCallAsync(Function<RundeckApi, Call<T>> func) {
+        try {
+            return CompletableFuture.completedFuture(apiCall(func));
+        } catch (InputError | IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Perform downgradable API calls asynchronously
+     *
+     * @param funcs functions
+     * @param <T>   result type
+     * @return future results in the same order, which fails with the first failure after all calls complete
+     */
+    default <T> CompletableFuture<List<T>> apiCallAll(List<Function<RundeckApi, Call<T>>> funcs) {
+        return Futures.allOf(funcs.stream().map(this::<T>apiCallAsync).collect(Collectors.toList()));
+    }
+
+    /**
+     * Wait for the result of an async API call
+     *
+     * @param future future
+     * @param <T>    result type
+     * @return result
+     * @throws InputError  on error
+     * @throws IOException on error
+     */
+    static <T> T await(CompletableFuture<T> future) throws InputError, IOException {
+        try {
+            return Futures.await(future);
+        } catch (IOException e) {
+            if (e.getCause() instanceof InputError) {
+                throw (InputError) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     /**
      * @param options project options
      * @return project name from options or ENV
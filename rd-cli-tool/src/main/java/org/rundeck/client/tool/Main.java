@@ -29,6 +29,7 @@ import org.rundeck.client.tool.extension.RdCommandExtension;
 import org.rundeck.client.tool.extension.RdTool;
 import org.rundeck.client.tool.format.*;
 import org.rundeck.client.tool.output.SystemOutput;
+import org.rundeck.client.tool.util.ApiVersionCache;
 import org.rundeck.client.tool.util.ExtensionLoaderUtil;
 import org.rundeck.client.tool.util.Resources;
 import org.rundeck.client.util.*;
@@ -74,7 +75,8 @@ import static org.rundeck.client.RundeckClient.*;
                 Main.Something.class,
                 Retry.class,
                 Metrics.class,
-                Version.class
+                Version.class,
+                RdDaemon.class
         }
 )
 public class Main {
@@ -88,6 +90,14 @@ public class Main {
     public static final String RD_FORMAT = "RD_FORMAT";
     public static final String RD_EXT_DISABLED = "RD_EXT_DISABLED";
     public static final String RD_EXT_DIR = "RD_EXT_DIR";
+    /**
+     * If true, large lists are parsed and output as they are received when not using verbose output
+     */
+    public static final String RD_STREAMING = "RD_STREAMING";
+    /**
+     * Report API client metrics when rd exits: "summary" for a table on stderr, or "json:FILE" to write a JSON file
+     */
+    public static final String RD_CLIENT_METRICS = "RD_CLIENT_METRICS";
 
     @CommandLine.Spec
     CommandLine.Model.CommandSpec spec;
@@ -109,72 +119,99 @@ public class Main {
         if (Arrays.asList(args).contains("--allow-cross-origin-redirect")) {
             System.setProperty("rd.allow.cross.origin.redirect", "true");
         }
+        ConfigSource config = buildConfig();
+        if (RdDaemonClient.isEnabled(config, args)) {
+            //forward to a running daemon if available, otherwise run in this process
+            Integer forwarded = RdDaemonClient.forward(config, args, System.out, System.err);
+            if (null != forwarded) {
+                System.exit(forwarded);
+            }
+        }
+        System.exit(execute(args, createRd(config)));
+    }
+
+    /**
+     * Execute the commandline within the given Rd instance, which is closed afterwards
+     *
+     * @param args commandline args
+     * @param rd   rd app
+     * @return exit code
+     */
+    static int execute(final String[] args, final Rd rd) {
         int result = -1;
-        try (Rd rd = createRd()) {
-            RdToolImpl rd1 = new RdToolImpl(rd);
-            CommandLine commandLine = new CommandLine(new Main(), new CmdFactory(rd1));
-            CommandLine.Help.ColorScheme colorScheme = new CommandLine.Help.ColorScheme.Builder(CommandLine.Help.defaultColorScheme(CommandLine.Help.Ansi.AUTO))
-                    .commands(CommandLine.Help.Ansi.Style.fg_white)
-                    .applySystemProperties() // optional: allow end users to customize
-                    .build();
-            commandLine.setColorScheme(colorScheme);
-            commandLine.setExpandAtFiles(false);
-            commandLine.setUsageHelpAutoWidth(true);
-            commandLine.setHelpFactory(new CommandLine.IHelpFactory() {
-                @Override
-                public CommandLine.Help create(CommandLine.Model.CommandSpec commandSpec, CommandLine.Help.ColorScheme colorScheme) {
-                    return new CommandLine.Help(commandSpec, colorScheme) {
-                        /**
-                         * Returns a sorted map of the subcommands.
-                         */
-                        @Override
-                        public Map<String, CommandLine.Help> subcommands() {
-                            return new TreeMap<>(super.subcommands());
-                        }
-
-                        @Override
-                        public String commandListHeading(Object... params) {
-                            return "\nAvailable commands:\n\n";
-                        }
-                    };
-                }
-            });
+        try (rd) {
+            result = createCommandLine(args, rd).execute(args);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return result;
+    }
 
-            commandLine.getHelpSectionMap().put(
-                    CommandLine.Model.UsageMessageSpec.SECTION_KEY_HEADER_HEADING,
-                    help -> loadBanner("rd-banner.txt", Collections.singletonMap("$version$", org.rundeck.client.Version.VERSION))
-            );
-            commandLine.setExecutionExceptionHandler((Exception ex, CommandLine cl, CommandLine.ParseResult parseResult) -> {
-                if (ex instanceof InputError) {
-                    return cl.getParameterExceptionHandler().handleParseException(
-                            new CommandLine.ParameterException(cl, ex.getMessage(), ex),
-                            args
-                    );
-                }
-                if (ex instanceof RequestFailed) {
-                    rd.getOutput().error(ex.getMessage());
-                    if (rd.getDebugLevel() > 0) {
-                        StringWriter sb = new StringWriter();
-                        ex.printStackTrace(new PrintWriter(sb));
-                        rd.getOutput().error(sb.toString());
+    /**
+     * @param args commandline args, for error reporting
+     * @param rd   rd
+     * @return command line with all commands
+     */
+    static CommandLine createCommandLine(final String[] args, final Rd rd) {
+        RdToolImpl rd1 = new RdToolImpl(rd);
+        CommandLine commandLine = new CommandLine(new Main(), new CmdFactory(rd1));
+        CommandLine.Help.ColorScheme colorScheme = new CommandLine.Help.ColorScheme.Builder(CommandLine.Help.defaultColorScheme(CommandLine.Help.Ansi.AUTO))
+                .commands(CommandLine.Help.Ansi.Style.fg_white)
+                .applySystemProperties() // optional: allow end users to customize
+                .build();
+        commandLine.setColorScheme(colorScheme);
+        commandLine.setExpandAtFiles(false);
+        commandLine.setUsageHelpAutoWidth(true);
+        commandLine.setHelpFactory(new CommandLine.IHelpFactory() {
+            @Override
+            public CommandLine.Help create(CommandLine.Model.CommandSpec commandSpec, CommandLine.Help.ColorScheme colorScheme) {
+                return new CommandLine.Help(commandSpec, colorScheme) {
+                    /**
+                     * Returns a sorted map of the subcommands.
+                     */
+                    @Override
+                    public Map<String, CommandLine.Help> subcommands() {
+                        return new TreeMap<>(super.subcommands());
                     }
-                    return 2;
-                }
-                throw ex;
-            });
 
-            loadCommands(rd, rd1).forEach(commandLine::addSubcommand);
+                    @Override
+                    public String commandListHeading(Object... params) {
+                        return "\nAvailable commands:\n\n";
+                    }
+                };
+            }
+        });
 
-            result = commandLine.execute(args);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        System.exit(result);
+        commandLine.getHelpSectionMap().put(
+                CommandLine.Model.UsageMessageSpec.SECTION_KEY_HEADER_HEADING,
+                help -> loadBanner("rd-banner.txt", Collections.singletonMap("$version$", org.rundeck.client.Version.VERSION))
+        );
+        commandLine.setExecutionExceptionHandler((Exception ex, CommandLine cl, CommandLine.ParseResult parseResult) -> {
+            if (ex instanceof InputError) {
+                return cl.getParameterExceptionHandler().handleParseException(
+                        new CommandLine.ParameterException(cl, ex.getMessage(), ex),
+                        args
+                );
+            }
+            if (ex instanceof RequestFailed) {
+                rd.invalidateCachedApiVersion();
+                rd.getOutput().error(ex.getMessage());
+                if (rd.getDebugLevel() > 0) {
+                    StringWriter sb = new StringWriter();
+                    ex.printStackTrace(new PrintWriter(sb));
+                    rd.getOutput().error(sb.toString());
+                }
+                return 2;
+            }
+            throw ex;
+        });
+
+        loadCommands(rd, rd1).forEach(commandLine::addSubcommand);
+        return commandLine;
     }
 
     @NotNull
-    private static Rd createRd() {
-        ConfigSource config = buildConfig();
+    private static Rd createRd(ConfigSource config) {
         loadExtensionJars(config);
         RdBuilder builder = new RdBuilder();
         Rd rd = new Rd(config);
@@ -378,6 +415,9 @@ public class Main {
         private final Resources resources = new Resources();
         Client<RundeckApi> client;
         private CommandOutput output = new SystemOutput();
+        private ClientMetrics clientMetrics;
+        private ApiVersionCache apiVersionCache;
+        private Integer cachedApiVersion;
 
         public Rd(final ConfigValues src) {
             super(src);
@@ -408,27 +448,37 @@ public class Main {
         @Override
         public Client<RundeckApi> getClient() throws InputError {
             if (null == client) {
-                try {
-                    client = resources.add(Main.createClient(this));
-                } catch (ConfigSourceError configSourceError) {
-                    throw new InputError(configSourceError.getMessage());
-                }
+                client = newClient(RundeckApi.class, null);
             }
             return client;
         }
 
         @Override
         public Client<RundeckApi> getClient(final int version) throws InputError {
-            try {
-                client = resources.add(Main.createClient(this, version));
-            } catch (ConfigSourceError configSourceError) {
-                throw new InputError(configSourceError.getMessage());
-            }
+            client = newClient(RundeckApi.class, version);
             return client;
         }
 
         @Override
         public <T> ServiceClient<T> getClient(final Class<T> api, final int version) throws InputError {
+            return newClient(api, version);
+        }
+
+        @Override
+        public <T> ServiceClient<T> getClient(final Class<T> api) throws InputError {
+            return newClient(api, null);
+        }
+
+        /**
+         * Create a new client which will be closed along with this Rd
+         *
+         * @param api     api interface class
+         * @param version api version, or null for the default
+         * @param <T>     api interface type
+         * @return new client
+         * @throws InputError if configuration input error occurs
+         */
+        protected <T> Client<T> newClient(final Class<T> api, final Integer version) throws InputError {
             try {
                 return resources.add(Main.createClient(this, api, version));
             } catch (ConfigSourceError configSourceError) {
@@ -436,13 +486,56 @@ public class Main {
             }
         }
 
-        @Override
-        public <T> ServiceClient<T> getClient(final Class<T> api) throws InputError {
+        /**
+         * @return logger for clients created by this Rd
+         */
+        protected Client.Logger getClientLogger() {
+            return new OutputLogger(getOutput());
+        }
+
+        /**
+         * @return metrics shared by clients created by this Rd, or null if RD_CLIENT_METRICS is not set
+         */
+        protected ClientMetrics getClientMetrics() {
+            if (null == clientMetrics && null != getString(RD_CLIENT_METRICS, null)) {
+                clientMetrics = new ClientMetrics();
+            }
+            return clientMetrics;
+        }
+
+        private ApiVersionCache getApiVersionCache() {
+            if (null == apiVersionCache && getBool(RD_API_DOWNGRADE, false)) {
+                apiVersionCache = ApiVersionCache.create(this);
+            }
+            return apiVersionCache;
+        }
+
+        /**
+         * @param baseUrl server url
+         * @return API version supported by the server if it was cached by a previous downgrade, or null
+         */
+        Integer getCachedApiVersion(final String baseUrl) {
+            ApiVersionCache cache = getApiVersionCache();
+            if (null == cache) {
+                return null;
+            }
+            cachedApiVersion = cache.get(baseUrl);
+            return cachedApiVersion;
+        }
+
+        /**
+         * Remove the cached API version after a request failed, so that the next invocation detects it again
+         */
+        void invalidateCachedApiVersion() {
+            if (null == cachedApiVersion || null == client) {
+                return;
+            }
             try {
-                return resources.add(Main.createClient(this, api, null));
-            } catch (ConfigSourceError configSourceError) {
-                throw new InputError(configSourceError.getMessage());
+                getApiVersionCache().remove(client.getAppBaseUrl());
+            } catch (IOException e) {
+                getOutput().warning("# Unable to update API version cache: " + e.getMessage());
             }
+            cachedApiVersion = null;
         }
 
         @Override
@@ -464,6 +557,14 @@ public class Main {
             ));
             getOutput().warning("# WARNING: To disable downgrading: " +
                                 "export RD_API_DOWNGRADE=false");
+            ApiVersionCache cache = getApiVersionCache();
+            if (null != cache) {
+                try {
+                    cache.put(client.getAppBaseUrl(), supported);
+                } catch (IOException e) {
+                    getOutput().warning("# Unable to update API version cache: " + e.getMessage());
+                }
+            }
         }
 
         public CommandOutput getOutput() {
@@ -476,7 +577,32 @@ public class Main {
 
         @Override
         public void close() throws IOException {
-            resources.close();
+            try {
+                resources.close();
+            } finally {
+                reportClientMetrics();
+            }
+        }
+
+        private void reportClientMetrics() {
+            String report = getString(RD_CLIENT_METRICS, null);
+            ClientMetrics metrics = getClientMetrics();
+            if (null == report || null == metrics || metrics.isEmpty()) {
+                return;
+            }
+            if ("summary".equals(report)) {
+                StringWriter summary = new StringWriter();
+                metrics.writeSummary(new PrintWriter(summary));
+                summary.toString().lines().forEach(line -> getOutput().warning("# " + line));
+            } else if (report.startsWith("json:") && report.length() > 5) {
+                try {
+                    metrics.writeJson(new File(report.substring(5)));
+                } catch (IOException e) {
+                    getOutput().warning("# Unable to write client metrics: " + e.getMessage());
+                }
+            } else {
+                getOutput().warning("# " + RD_CLIENT_METRICS + " must be 'summary' or 'json:<file>': " + report);
+            }
         }
     }
 
@@ -519,6 +645,11 @@ public class Main {
             int anInt = config.getInt(RD_API_VERSION, -1);
             if (anInt > 0) {
                 builder.apiVersion(anInt);
+            } else {
+                Integer cached = config.getCachedApiVersion(baseUrl);
+                if (null != cached) {
+                    builder.apiVersion(cached);
+                }
             }
         }
 
@@ -535,7 +666,8 @@ public class Main {
             }
             builder.passwordAuth(auth.getUsername(), auth.getPassword());
         }
-        builder.logger(new OutputLogger(config.getOutput()));
+        builder.logger(config.getClientLogger());
+        builder.metrics(config.getClientMetrics());
         builder.userAgent("rd-cli-tool/" + org.rundeck.client.Version.VERSION);
         return builder.build();
 
@@ -748,7 +880,7 @@ public class Main {
         }
     }
 
-    private static class OutputLogger implements Client.Logger {
+    static class OutputLogger implements Client.Logger {
         final CommandOutput output;
 
         public OutputLogger(final CommandOutput output) {
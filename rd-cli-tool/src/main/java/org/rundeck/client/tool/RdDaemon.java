@@ -0,0 +1,578 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool;
+
+import org.rundeck.client.RundeckClient;
+import org.rundeck.client.tool.extension.BaseCommand;
+import org.rundeck.client.util.Client;
+import org.rundeck.client.util.ClientMetrics;
+import org.rundeck.client.util.ConfigSource;
+import org.rundeck.client.util.MapConfigValues;
+import org.rundeck.client.util.RdClientConfig;
+import picocli.CommandLine;
+import jdk.net.ExtendedSocketOptions;
+import jdk.net.UnixDomainPrincipal;
+
+import java.io.*;
+import java.net.ProtocolException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long running process which executes rd commands on behalf of other rd invocations, so that JVM startup, class
+ * loading and warm HTTP connections are shared between them. Enabled for clients with RD_DAEMON=true.
+ */
+@CommandLine.Command(name = "daemon",
+        description = "Run a background daemon which executes rd commands, keeping API connections warm between " +
+                      "invocations. Set RD_DAEMON=true to send rd commands to the daemon.")
+public class RdDaemon extends BaseCommand implements Callable<Integer> {
+    public static final String RD_DAEMON = "RD_DAEMON";
+    public static final String RD_DAEMON_SOCKET = "RD_DAEMON_SOCKET";
+    public static final String RD_DAEMON_IDLE_TIMEOUT = "RD_DAEMON_IDLE_TIMEOUT";
+    public static final long DEFAULT_IDLE_TIMEOUT = 3600;
+    public static final int MAX_POOLED_CLIENTS = 16;
+
+    static final int PROTOCOL_MAGIC = 0x72640002;
+    static final byte FRAME_EXIT = 0;
+    static final byte FRAME_OUT = 1;
+    static final byte FRAME_ERR = 2;
+    static final byte FRAME_REJECT = 3;
+    static final String ANSI_PROPERTY = "picocli.ansi";
+
+    /**
+     * Config keys which only affect output formatting, and do not require a separate client
+     */
+    private static final Set<String> NON_CLIENT_KEYS = new HashSet<>(Arrays.asList(
+            "RD_PROJECT",
+            "RD_FORMAT",
+            "RD_COLOR",
+            "RD_DATE_FORMAT",
+            "RD_YAML_FLOW",
+            "RD_YAML_PRETTY",
+            Main.RD_CLIENT_METRICS,
+            "TERM",
+            "NO_COLOR"
+    ));
+
+    @CommandLine.Option(names = {"-s", "--socket"},
+            description = "Path to the unix socket to listen on. Default: $RD_DAEMON_SOCKET or ~/.rd/daemon.sock")
+    File socket;
+
+    @CommandLine.Option(names = {"-t", "--idle-timeout"},
+            description = "Exit after this many seconds without a request, 0 means never. " +
+                          "Default: $RD_DAEMON_IDLE_TIMEOUT or 3600")
+    Long idleTimeout;
+
+    @Override
+    public Integer call() throws IOException, InputError {
+        RdClientConfig config = getRdTool().getAppConfig();
+        Path path = null != socket ? socket.toPath() : socketPath(config);
+        long idle = null != idleTimeout ? idleTimeout : config.getLong(RD_DAEMON_IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT);
+        if (idle < 0) {
+            throw new InputError("--idle-timeout must not be negative");
+        }
+        try (Server server = Server.bind(path)) {
+            getRdOutput().info(String.format("rd daemon listening on %s", path));
+            server.serve(TimeUnit.SECONDS.toMillis(idle));
+        }
+        getRdOutput().info("rd daemon stopped after idle timeout");
+        return 0;
+    }
+
+    /**
+     * @param config config
+     * @return socket path from RD_DAEMON_SOCKET, or the default in the user's home dir
+     */
+    static Path socketPath(ConfigSource config) {
+        String path = config.getString(RD_DAEMON_SOCKET, null);
+        if (null != path && !path.isEmpty()) {
+            return Paths.get(path);
+        }
+        return Paths.get(System.getProperty("user.home"), ".rd", "daemon.sock");
+    }
+
+    /**
+     * @param commandLine command line with all commands
+     * @param request     request
+     * @return true if the command may prompt on the console or read stdin, which are not forwarded to the daemon
+     */
+    static boolean requiresTerminal(CommandLine commandLine, Request request) {
+        CommandLine.ParseResult result;
+        try {
+            result = commandLine.parseArgs(request.args);
+        } catch (CommandLine.ParameterException e) {
+            //the error is reported without reading any input
+            return false;
+        }
+        while (result.hasSubcommand()) {
+            result = result.subcommand();
+        }
+        CommandLine.Model.CommandSpec spec = result.commandSpec();
+        if (null != spec.findOption("--confirm") && !result.hasMatchedOption("--confirm")) {
+            return true;
+        }
+        if (result.hasMatchedOption("--stdin") || result.hasMatchedOption("--prompt")) {
+            return true;
+        }
+        //executions query prompts for each page unless it is non-interactive
+        return "query".equals(spec.name())
+               && null != spec.findOption("--noninteractive")
+               && !result.hasMatchedOption("--noninteractive")
+               && null == request.env.get("RD_FORMAT");
+    }
+
+    /**
+     * A forwarded invocation
+     */
+    static class Request {
+        final String workingDir;
+        final boolean console;
+        final String[] args;
+        final Map<String, String> env;
+
+        Request(final String workingDir, final String[] args, final Map<String, String> env) {
+            this(workingDir, false, args, env);
+        }
+
+        /**
+         * @param workingDir working dir of the client
+         * @param console    true if the client has a console
+         * @param args       commandline args
+         * @param env        config values
+         */
+        Request(final String workingDir, final boolean console, final String[] args, final Map<String, String> env) {
+            this.workingDir = workingDir;
+            this.console = console;
+            this.args = args;
+            this.env = env;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(PROTOCOL_MAGIC);
+            out.writeUTF(workingDir);
+            out.writeBoolean(console);
+            out.writeInt(args.length);
+            for (String arg : args) {
+                writeString(out, arg);
+            }
+            out.writeInt(env.size());
+            for (Map.Entry<String, String> entry : env.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        }
+
+        static Request read(DataInputStream in) throws IOException {
+            if (in.readInt() != PROTOCOL_MAGIC) {
+                throw new ProtocolException("Unexpected rd daemon protocol version");
+            }
+            String workingDir = in.readUTF();
+            boolean console = in.readBoolean();
+            String[] args = new String[in.readInt()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = readString(in);
+            }
+            int count = in.readInt();
+            Map<String, String> env = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                env.put(readString(in), readString(in));
+            }
+            return new Request(workingDir, console, args, env);
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Accepts connections on the unix socket and runs each request in turn. Requests are handled serially because
+     * commands write to System.out and System.err, which are redirected to the connection for each request. The
+     * console and stdin are not forwarded, so commands which would use them are rejected and run by the client.
+     * Connections from other users are closed, as the daemon runs commands with its user's credentials.
+     */
+    static class Server implements Closeable {
+        private final Path path;
+        private final ServerSocketChannel channel;
+        private final UserPrincipal owner;
+        private final String workingDir = Paths.get("").toAbsolutePath().toString();
+        private final ClientPool pool = new ClientPool(MAX_POOLED_CLIENTS);
+
+        private Server(final Path path, final ServerSocketChannel channel, final UserPrincipal owner) {
+            this.path = path;
+            this.channel = channel;
+            this.owner = owner;
+        }
+
+        static Server bind(Path path) throws IOException {
+            Path parent = path.toAbsolutePath().getParent();
+            if (null != parent && !Files.isDirectory(parent)) {
+                //other users cannot reach the socket before its permissions are set
+                try {
+                    Files.createDirectories(
+                            parent,
+                            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"))
+                    );
+                } catch (UnsupportedOperationException e) {
+                    Files.createDirectories(parent);
+                }
+            }
+            if (Files.exists(path)) {
+                if (RdDaemonClient.isListening(path)) {
+                    throw new IOException("An rd daemon is already listening on " + path);
+                }
+                //stale socket left by a daemon which did not shut down cleanly
+                Files.delete(path);
+            }
+            ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.bind(UnixDomainSocketAddress.of(path));
+            try {
+                Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException ignored) {
+            }
+            return new Server(path, channel, Files.getOwner(path));
+        }
+
+        /**
+         * @param conn connection
+         * @return true if the peer of the connection is the user which owns the socket, or the peer credentials are
+         * not available on this platform
+         */
+        boolean isOwner(SocketChannel conn) throws IOException {
+            if (!conn.supportedOptions().contains(ExtendedSocketOptions.SO_PEERCRED)) {
+                return true;
+            }
+            UnixDomainPrincipal peer = conn.getOption(ExtendedSocketOptions.SO_PEERCRED);
+            return owner.getName().equals(peer.user().getName());
+        }
+
+        /**
+         * Serve requests until the idle timeout elapses without a connection
+         *
+         * @param idleMillis idle timeout in milliseconds, or 0 to wait forever
+         */
+        void serve(long idleMillis) throws IOException {
+            channel.configureBlocking(false);
+            try (Selector selector = Selector.open()) {
+                channel.register(selector, SelectionKey.OP_ACCEPT);
+                while (true) {
+                    if (selector.select(idleMillis) == 0 && idleMillis > 0) {
+                        return;
+                    }
+                    selector.selectedKeys().clear();
+                    SocketChannel conn = channel.accept();
+                    if (null == conn) {
+                        continue;
+                    }
+                    conn.configureBlocking(true);
+                    try (conn) {
+                        if (!isOwner(conn)) {
+                            System.err.println("# rd daemon: rejected a connection from another user");
+                            continue;
+                        }
+                        handle(conn);
+                    } catch (IOException e) {
+                        System.err.println("# rd daemon: request failed: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        void handle(SocketChannel conn) throws IOException {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(conn)));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(conn)));
+            Request request;
+            try {
+                request = Request.read(in);
+            } catch (ProtocolException e) {
+                //a client of another version can run the command itself
+                reject(out);
+                return;
+            }
+            if (!workingDir.equals(request.workingDir)
+                || (request.args.length > 0 && "daemon".equals(request.args[0]))) {
+                //relative paths would resolve differently here, so the client must run the command itself
+                reject(out);
+                return;
+            }
+            try (Main.Rd rd = new Main.Rd(new MapConfigValues(request.env))) {
+                if (requiresTerminal(Main.createCommandLine(request.args, rd), request)) {
+                    reject(out);
+                    return;
+                }
+            }
+            int result;
+            PrintStream origOut = System.out;
+            PrintStream origErr = System.err;
+            InputStream origIn = System.in;
+            String origAnsi = System.getProperty(ANSI_PROPERTY);
+            try (
+                    PrintStream reqOut = new PrintStream(new FrameOutputStream(out, FRAME_OUT), true);
+                    PrintStream reqErr = new PrintStream(new FrameOutputStream(out, FRAME_ERR), true)
+            ) {
+                System.setOut(reqOut);
+                System.setErr(reqErr);
+                //the client's stdin is not forwarded
+                System.setIn(new ByteArrayInputStream(new byte[0]));
+                //picocli detects color support from the daemon's console, use the client's instead
+                String noColor = request.env.get("NO_COLOR");
+                System.setProperty(
+                        ANSI_PROPERTY,
+                        Boolean.toString(request.console && (null == noColor || noColor.isEmpty()))
+                );
+                result = Main.execute(request.args, createRd(request));
+            } finally {
+                System.setOut(origOut);
+                System.setErr(origErr);
+                System.setIn(origIn);
+                if (null != origAnsi) {
+                    System.setProperty(ANSI_PROPERTY, origAnsi);
+                } else {
+                    System.clearProperty(ANSI_PROPERTY);
+                }
+            }
+            synchronized (out) {
+                out.writeByte(FRAME_EXIT);
+                out.writeInt(result);
+                out.flush();
+            }
+        }
+
+        private static void reject(DataOutputStream out) throws IOException {
+            out.writeByte(FRAME_REJECT);
+            out.flush();
+        }
+
+        private Main.Rd createRd(Request request) {
+            Map<String, String> values = new HashMap<>(request.env);
+            //no terminal is available to the daemon
+            values.put(Main.RD_AUTH_PROMPT, "false");
+            if (Arrays.asList(request.args).contains("--allow-cross-origin-redirect")) {
+                values.put(RundeckClient.ENV_ALLOW_CROSS_ORIGIN_REDIRECT, "true");
+            }
+            PooledRd rd = new PooledRd(values, pool);
+            Main.setup(rd, new RdBuilder());
+            pool.logger.setDelegate(new Main.OutputLogger(rd.getOutput()));
+            return rd;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } finally {
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * Rd which uses clients from the daemon's pool instead of creating new ones for each invocation
+     */
+    static class PooledRd extends Main.Rd {
+        private final Map<String, String> values;
+        private final ClientPool pool;
+
+        PooledRd(final Map<String, String> values, final ClientPool pool) {
+            super(new MapConfigValues(values));
+            this.values = values;
+            this.pool = pool;
+            //requests are handled one at a time, so only stats for this request are reported
+            pool.metrics.reset();
+        }
+
+        @Override
+        protected <T> Client<T> newClient(final Class<T> api, final Integer version) throws InputError {
+            return pool.get(this, values, api, version);
+        }
+
+        @Override
+        protected Client.Logger getClientLogger() {
+            return pool.logger;
+        }
+
+        @Override
+        protected ClientMetrics getClientMetrics() {
+            return pool.metrics;
+        }
+    }
+
+    /**
+     * Least recently used set of clients, keyed by the configuration which created them
+     */
+    static class ClientPool implements Closeable {
+        private final Map<String, Client<?>> clients;
+        final SwitchableLogger logger = new SwitchableLogger();
+        final ClientMetrics metrics = new ClientMetrics();
+
+        ClientPool(final int max) {
+            clients = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Client<?>> eldest) {
+                    if (size() > max) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> Client<T> get(Main.Rd rd, Map<String, String> values, Class<T> api, Integer version)
+                throws InputError
+        {
+            String key = key(values, api, version);
+            Client<?> client = clients.get(key);
+            if (null == client) {
+                try {
+                    client = Main.createClient(rd, api, version);
+                } catch (ConfigSource.ConfigSourceError configSourceError) {
+                    throw new InputError(configSourceError.getMessage());
+                }
+                clients.put(key, client);
+            }
+            return (Client<T>) client;
+        }
+
+        int size() {
+            return clients.size();
+        }
+
+        static String key(Map<String, String> values, Class<?> api, Integer version) {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            StringBuilder sb = new StringBuilder();
+            sb.append(api.getName()).append('\n').append(version).append('\n');
+            new TreeMap<>(values).forEach((k, v) -> {
+                if (!NON_CLIENT_KEYS.contains(k)) {
+                    sb.append(k).append('=').append(v).append('\n');
+                }
+            });
+            return HexFormat.of().formatHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        private static void closeQuietly(Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        @Override
+        public void close() {
+            clients.values().forEach(ClientPool::closeQuietly);
+            clients.clear();
+        }
+    }
+
+    /**
+     * Logger shared by pooled clients, which writes to the output of the current request
+     */
+    static class SwitchableLogger implements Client.Logger {
+        private volatile Client.Logger delegate;
+
+        void setDelegate(final Client.Logger delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void output(final String out) {
+            Client.Logger current = delegate;
+            if (null != current) {
+                current.output(out);
+            }
+        }
+
+        @Override
+        public void warning(final String warn) {
+            Client.Logger current = delegate;
+            if (null != current) {
+                current.warning(warn);
+            }
+        }
+
+        @Override
+        public void error(final String err) {
+            Client.Logger current = delegate;
+            if (null != current) {
+                current.error(err);
+            }
+        }
+    }
+
+    /**
+     * Writes each chunk of output as a typed frame on the connection
+     */
+    static class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte type;
+
+        FrameOutputStream(final DataOutputStream out, final byte type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            synchronized (out) {
+                out.writeByte(type);
+                out.writeInt(len);
+                out.write(b, off, len);
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            //the connection is closed by the server
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool;
+
+import org.rundeck.client.util.ConfigSource;
+
+import java.io.*;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Forwards an rd invocation to a running {@link RdDaemon}
+ */
+public final class RdDaemonClient {
+    private RdDaemonClient() {
+    }
+
+    /**
+     * @param config config
+     * @param args   commandline args
+     * @return true if RD_DAEMON is enabled and the command is not the daemon itself
+     */
+    public static boolean isEnabled(ConfigSource config, String[] args) {
+        return config.getBool(RdDaemon.RD_DAEMON, false) && !(args.length > 0 && "daemon".equals(args[0]));
+    }
+
+    /**
+     * Run the command in the daemon, if one is listening
+     *
+     * @param config config
+     * @param args   commandline args
+     * @param out    destination for stdout
+     * @param err    destination for stderr
+     * @return exit code, or null if the command was not run by a daemon and should be run locally
+     */
+    public static Integer forward(ConfigSource config, String[] args, OutputStream out, OutputStream err) {
+        RdDaemon.Request request = new RdDaemon.Request(
+                Paths.get("").toAbsolutePath().toString(),
+                null != System.console(),
+                args,
+                collectEnvironment()
+        );
+        return forward(RdDaemon.socketPath(config), request, out, err);
+    }
+
+    static Integer forward(Path socket, RdDaemon.Request request, OutputStream out, OutputStream err) {
+        if (!Files.exists(socket)) {
+            return null;
+        }
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            return null;
+        }
+        boolean sent = false;
+        try (channel) {
+            DataOutputStream dout = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            request.write(dout);
+            dout.flush();
+            sent = true;
+            DataInputStream din = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (true) {
+                byte type = din.readByte();
+                switch (type) {
+                    case RdDaemon.FRAME_OUT:
+                        copyFrame(din, out);
+                        break;
+                    case RdDaemon.FRAME_ERR:
+                        copyFrame(din, err);
+                        break;
+                    case RdDaemon.FRAME_EXIT:
+                        out.flush();
+                        err.flush();
+                        return din.readInt();
+                    case RdDaemon.FRAME_REJECT:
+                        return null;
+                    default:
+                        throw new IOException("Unexpected rd daemon frame type: " + type);
+                }
+            }
+        } catch (IOException e) {
+            if (!sent) {
+                return null;
+            }
+            //the command may have had side effects, so it must not be run again locally
+            new PrintStream(err, true).println("Error: lost connection to rd daemon: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    private static void copyFrame(DataInputStream in, OutputStream dest) throws IOException {
+        byte[] buf = new byte[in.readInt()];
+        in.readFully(buf);
+        dest.write(buf);
+        dest.flush();
+    }
+
+    /**
+     * @param socket socket path
+     * @return true if a daemon accepts connections on the socket
+     */
+    static boolean isListening(Path socket) {
+        try (SocketChannel ignored = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return RD_* environment variables and rd.* system properties (as RD_* keys), along with variables which
+     * affect output
+     */
+    static Map<String, String> collectEnvironment() {
+        Map<String, String> env = new HashMap<>();
+        System.getenv().forEach((key, value) -> {
+            if (key.startsWith("RD_") || "TERM".equals(key) || "NO_COLOR".equals(key)) {
+                env.put(key, value);
+            }
+        });
+        System.getProperties().stringPropertyNames().forEach(key -> {
+            if (key.startsWith("rd.")) {
+                env.put(key.toUpperCase().replace('.', '_'), System.getProperty(key));
+            }
+        });
+        return env;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import org.rundeck.client.api.RequestFailed;
+import org.rundeck.client.api.RundeckApi;
+import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.extension.RdTool;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Sends an async request for each batch, with a bounded number of requests in flight. When the max are in flight, the
+ * oldest request is completed before the next is sent. Results are passed to the callbacks in the order the batches
+ * were sent, on the calling thread, and a failed request is passed to the failure callback so that later batches are
+ * still sent.
+ *
+ * @param <B> batch type
+ * @param <R> response type
+ */
+class BatchPipeline<B, R> {
+    private final RdTool rdTool;
+    private final int parallel;
+    private final BiConsumer<B, R> completed;
+    private final BiConsumer<B, Exception> failed;
+    private final Deque<Request<B, R>> inFlight = new ArrayDeque<>();
+
+    private static class Request<B, R> {
+        final B batch;
+        final CompletableFuture<R> result;
+
+        Request(final B batch, final CompletableFuture<R> result) {
+            this.batch = batch;
+            this.result = result;
+        }
+    }
+
+    /**
+     * @param rdTool    tool
+     * @param parallel  max number of requests in flight
+     * @param completed called with the batch and response of each successful request
+     * @param failed    called with the batch and error of each failed request
+     */
+    BatchPipeline(
+            final RdTool rdTool,
+            final int parallel,
+            final BiConsumer<B, R> completed,
+            final BiConsumer<B, Exception> failed
+    )
+    {
+        this.rdTool = rdTool;
+        this.parallel = Math.max(1, parallel);
+        this.completed = completed;
+        this.failed = failed;
+    }
+
+    /**
+     * Complete the oldest requests until fewer than the max are in flight
+     */
+    void awaitCapacity() {
+        while (inFlight.size() >= parallel) {
+            completeOldest();
+        }
+    }
+
+    /**
+     * Send the request for a batch, after waiting for an earlier request if the max are in flight. May be called from
+     * a callback, e.g. to retry a failed batch.
+     *
+     * @param batch   batch
+     * @param request request for the batch
+     */
+    void send(final B batch, final Function<RundeckApi, Call<R>> request) {
+        awaitCapacity();
+        inFlight.add(new Request<>(batch, rdTool.apiCallAsync(request)));
+    }
+
+    private void completeOldest() {
+        Request<B, R> request = inFlight.poll();
+        if (null == request) {
+            return;
+        }
+        R response;
+        try {
+            response = RdTool.await(request.result);
+        } catch (IOException | InputError | RequestFailed e) {
+            failed.accept(request.batch, e);
+            return;
+        }
+        completed.accept(request.batch, response);
+    }
+
+    /**
+     * Wait for all requests to complete, including any sent by the callbacks
+     */
+    void finish() {
+        while (!inFlight.isEmpty()) {
+            completeOldest();
+        }
+    }
+}
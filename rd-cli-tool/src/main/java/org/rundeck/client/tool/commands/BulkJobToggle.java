@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import org.rundeck.client.api.RundeckApi;
+import org.rundeck.client.api.model.BulkToggleResponse;
+import org.rundeck.client.api.model.IdList;
+import org.rundeck.client.tool.CommandOutput;
+import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.extension.RdTool;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Sends a bulk job toggle request for batches of job IDs, with a bounded number of requests in flight, and merges the
+ * results. When batched, a failed request is reported and its jobs are counted as failed, and later batches are still
+ * sent. Without batches, a single request is sent and errors are thrown.
+ */
+class BulkJobToggle<R extends BulkToggleResponse> {
+    private final RdTool rdTool;
+    private final CommandOutput out;
+    private final BiFunction<RundeckApi, IdList, Call<R>> request;
+    private final String done;
+    private final int total;
+    private final int batchSize;
+    private final BatchPipeline<List<String>, R> pipeline;
+    private final List<String> succeeded = new ArrayList<>();
+    private final List<String> failed = new ArrayList<>();
+    private int requestCount;
+    private boolean allsuccessful = true;
+
+    /**
+     * @param rdTool    tool
+     * @param out       output for progress and failures
+     * @param request   bulk toggle request
+     * @param done      past tense of the action, for progress
+     * @param parallel  max number of requests in flight
+     * @param total     number of jobs, for progress
+     * @param batchSize max IDs in each request, or 0 for a single request
+     */
+    BulkJobToggle(
+            final RdTool rdTool,
+            final CommandOutput out,
+            final BiFunction<RundeckApi, IdList, Call<R>> request,
+            final String done,
+            final int parallel,
+            final int total,
+            final int batchSize
+    )
+    {
+        this.rdTool = rdTool;
+        this.out = out;
+        this.request = request;
+        this.done = done;
+        this.total = total;
+        this.batchSize = batchSize;
+        this.pipeline = new BatchPipeline<>(rdTool, parallel, this::completed, this::failed);
+    }
+
+    /**
+     * Toggle all jobs
+     *
+     * @param ids job IDs
+     * @throws IOException if the request fails without batches
+     * @throws InputError  if the request fails without batches
+     */
+    void toggle(final List<String> ids) throws IOException, InputError {
+        if (batchSize <= 0) {
+            merge(rdTool.apiCall(api -> request.apply(api, new IdList(ids))));
+            return;
+        }
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            List<String> batch = new ArrayList<>(ids.subList(i, Math.min(ids.size(), i + batchSize)));
+            pipeline.send(batch, api -> request.apply(api, new IdList(batch)));
+        }
+        pipeline.finish();
+    }
+
+    private void merge(final R response) {
+        requestCount += response.getRequestCount();
+        allsuccessful &= response.isAllsuccessful();
+        if (null != response.getSucceeded()) {
+            response.getSucceeded().forEach(result -> succeeded.add(result.toString()));
+        }
+        if (null != response.getFailed()) {
+            response.getFailed().forEach(result -> failed.add(result.toString()));
+        }
+    }
+
+    private void completed(final List<String> ids, final R response) {
+        merge(response);
+        progress();
+    }
+
+    private void failed(final List<String> ids, final Exception e) {
+        out.error(String.format("Failed request for batch of %d jobs: %s", ids.size(), e.getMessage()));
+        requestCount += ids.size();
+        allsuccessful = false;
+        for (String id : ids) {
+            failed.add(String.format("* #%s: '%s'", id, e.getMessage()));
+        }
+        progress();
+    }
+
+    private void progress() {
+        out.info(String.format("%s %d of %d jobs, %d failed", done, succeeded.size(), total, failed.size()));
+    }
+
+    int getRequestCount() {
+        return requestCount;
+    }
+
+    boolean isAllsuccessful() {
+        return allsuccessful;
+    }
+
+    /**
+     * @return description of each job which was toggled
+     */
+    List<String> getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * @return description of each job which failed
+     */
+    List<String> getFailed() {
+        return failed;
+    }
+}
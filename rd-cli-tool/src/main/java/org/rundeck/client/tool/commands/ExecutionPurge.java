@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import org.rundeck.client.api.model.BulkExecutionDelete;
+import org.rundeck.client.api.model.BulkExecutionDeleteResponse;
+import org.rundeck.client.tool.CommandOutput;
+import org.rundeck.client.tool.extension.RdTool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deletes executions in batches, with a bounded number of delete requests in flight. A failed batch is reported and
+ * counted as failures, and later batches are still sent.
+ */
+class ExecutionPurge {
+    private final CommandOutput out;
+    private long total;
+    private final BatchPipeline<List<String>, BulkExecutionDeleteResponse> pipeline;
+    private final List<BulkExecutionDeleteResponse.DeleteFailure> failures = new ArrayList<>();
+    private final long start = System.nanoTime();
+    private int requestCount;
+    private int successCount;
+    private int failedCount;
+
+    /**
+     * @param rdTool   tool
+     * @param out      output for progress and failures
+     * @param parallel max number of delete requests in flight
+     * @param total    expected number of executions, for progress
+     */
+    ExecutionPurge(final RdTool rdTool, final CommandOutput out, final int parallel, final long total) {
+        this.out = out;
+        this.total = total;
+        this.pipeline = new BatchPipeline<>(rdTool, parallel, this::deleted, this::failed);
+    }
+
+    /**
+     * Send a delete request for the batch, after waiting for an earlier request if the max are in flight
+     *
+     * @param ids execution IDs
+     */
+    void delete(final List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        pipeline.send(ids, api -> api.deleteExecutions(new BulkExecutionDelete(ids)));
+    }
+
+    private void deleted(final List<String> ids, final BulkExecutionDeleteResponse response) {
+        requestCount += ids.size();
+        successCount += response.getSuccessCount();
+        failedCount += response.getFailedCount();
+        if (null != response.getFailures()) {
+            failures.addAll(response.getFailures());
+        }
+        progress();
+    }
+
+    private void failed(final List<String> ids, final Exception e) {
+        out.error(String.format("Failed to delete batch of %d executions: %s", ids.size(), e.getMessage()));
+        requestCount += ids.size();
+        failedCount += ids.size();
+        for (String id : ids) {
+            BulkExecutionDeleteResponse.DeleteFailure failure = new BulkExecutionDeleteResponse.DeleteFailure();
+            failure.setId(id);
+            failure.setMessage(e.getMessage());
+            failures.add(failure);
+        }
+        progress();
+    }
+
+    private void progress() {
+        double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+        out.info(String.format(
+                "Deleted %d of %d executions, %d failed (%.1f/s)",
+                successCount,
+                total,
+                failedCount,
+                successCount / seconds
+        ));
+    }
+
+    /**
+     * Add to the expected number of executions, when more are found to delete
+     *
+     * @param count number of executions
+     */
+    void expect(final long count) {
+        total += count;
+    }
+
+    /**
+     * Wait for all requests to complete. More batches may be deleted afterwards, and the result includes all requests
+     * so far.
+     *
+     * @return combined result of all requests
+     */
+    BulkExecutionDeleteResponse finish() {
+        pipeline.finish();
+        BulkExecutionDeleteResponse result = new BulkExecutionDeleteResponse();
+        result.setRequestCount(requestCount);
+        result.setSuccessCount(successCount);
+        result.setFailedCount(failedCount);
+        result.setFailures(failures);
+        result.setAllsuccessful(failedCount == 0);
+        return result;
+    }
+}
@@ -24,20 +24,33 @@ import org.rundeck.client.api.model.*;
 import org.rundeck.client.api.model.executions.MetricsResponse;
 import org.rundeck.client.tool.CommandOutput;
 import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.Main;
 import org.rundeck.client.tool.extension.BaseCommand;
 import org.rundeck.client.tool.extension.RdTool;
 import org.rundeck.client.tool.options.*;
+import org.rundeck.client.tool.util.AdaptivePoll;
+import org.rundeck.client.tool.util.ExecutionStats;
+import org.rundeck.client.tool.util.ExecutionStore;
+import org.rundeck.client.tool.util.FollowCheckpoint;
+import org.rundeck.client.tool.util.RawLogSink;
 import org.rundeck.client.util.Format;
 import org.rundeck.client.util.RdClientConfig;
 import org.rundeck.client.util.ServiceClient;
 import org.rundeck.client.util.Util;
 import picocli.CommandLine;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,6 +60,8 @@ import java.util.stream.Stream;
  */
 @CommandLine.Command(name = "executions", description = "List running executions, attach and follow their output, or kill them.")
 public class Executions extends BaseCommand {
+    private static final int SYNC_PAGE_SIZE = 200;
+    private static final int METRICS_PAGE_SIZE = 500;
     @Getter
     @Setter
     static class KillOptions extends ExecutionIdOption{
@@ -86,32 +101,191 @@ public class Executions extends BaseCommand {
 
 
     @CommandLine.Command(description = "Follow the output of an execution. Restart from the beginning, or begin tailing as it " +
-            "runs.")
-    public int follow(@CommandLine.Mixin ExecutionsFollowOptions options) throws IOException, InputError {
-
-        int max = 500;
+            "runs. Multiple executions can be followed together.")
+    public int follow(
+            @CommandLine.Mixin ExecutionsFollowOptions options,
+            @CommandLine.Mixin ProjectNameOptions projectNameOptions
+    ) throws IOException, InputError {
+        boolean multiple = options.isQuery() || options.getExecutionIds().size() > 1;
+        if (multiple && (options.isRaw() || options.isOutputFile() || options.isCheckpoint())) {
+            throw new InputError("--raw, --output-file and --checkpoint can only be used with a single execution");
+        }
+        if (multiple) {
+            return followMultiple(options, projectNameOptions);
+        }
+        if (null == options.getId()) {
+            throw new InputError("-e/--eid or --query is required");
+        }
+        FollowCheckpoint checkpoint = options.isCheckpoint()
+                                      ? FollowCheckpoint.load(options.getCheckpoint().toPath(), options.getId())
+                                      : null;
+        if (null != checkpoint && checkpoint.isResumable()) {
+            getRdOutput().info(String.format(
+                    "Resuming output of execution %s from offset %d",
+                    options.getId(),
+                    checkpoint.getOffset()
+            ));
+        }
+        if (options.isRaw() || options.isOutputFile()) {
+            return followRaw(options, checkpoint) ? 0 : 1;
+        }
+        return followSingle(
+                options,
+                checkpoint,
+                logReceiver(
+                        options.isProgress(),
+                        options.isQuiet(),
+                        getRdOutput(),
+                        options.isOutputFormat()
+                        ? Format.formatter(options.getOutputFormat(), ExecLog::toMap, "%", "")
+                        : null
+                ),
+                null
+        ) ? 0 : 1;
+    }
 
-        ExecOutput output = startFollowOutput(
-                getRdTool(),
-                max,
-                options.isRestart(),
-                options.getId(),
-                options.getTail(),
-                true
-        );
+    /**
+     * Follow a single execution, resuming from the checkpoint if present, and updating the checkpoint after each
+     * page is received. If the receiver is a raw sink, it is synced before the checkpoint is updated, so the
+     * checkpoint does not advance past output which has not been written
+     */
+    private boolean followSingle(
+            final ExecutionsFollowOptions options,
+            final FollowCheckpoint checkpoint,
+            final Consumer<List<ExecLog>> receiver,
+            final RawLogSink sink
+    ) throws IOException, InputError
+    {
+        AdaptivePoll poll = createPoll(options);
+        String id = options.getId();
+        ExecOutput output;
+        LogDecompactor decompactor;
+        if (null != checkpoint && checkpoint.isResumable()) {
+            output = getRdTool().apiCallDowngradable(api -> api.getOutput(
+                    id,
+                    checkpoint.getOffset(),
+                    checkpoint.getLastModified(),
+                    (long) poll.getPageSize(),
+                    true
+            ));
+            decompactor = new LogDecompactor(checkpoint.getPrevious());
+        } else {
+            output = startFollowOutput(
+                    getRdTool(),
+                    poll.getPageSize(),
+                    options.isRestart(),
+                    id,
+                    options.getTail(),
+                    true
+            );
+            decompactor = new LogDecompactor();
+        }
+        try {
+            return followOutput(
+                    getRdTool().getClient(),
+                    output,
+                    id,
+                    poll,
+                    true,
+                    decompactor,
+                    receiver,
+                    null != checkpoint ? page -> {
+                        try {
+                            if (null != sink) {
+                                sink.sync();
+                            }
+                            checkpoint.save(page, decompactor.getPrevious());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    } : page -> { },
+                    waitUnlessInterrupt()
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
+    private boolean followRaw(final ExecutionsFollowOptions options, final FollowCheckpoint checkpoint)
+            throws IOException, InputError
+    {
+        Function<ExecLog, String> formatter =
+                options.isOutputFormat() ? Format.formatter(options.getOutputFormat(), ExecLog::toMap, "%", "") : null;
+        boolean result;
+        long start = System.nanoTime();
+        boolean append = null != checkpoint && checkpoint.isResumable();
+        RawLogSink sink = options.isOutputFile()
+                          ? RawLogSink.file(options.getOutputFile().toPath(), options.isGzip(), formatter, append)
+                          : RawLogSink.stream(System.out, options.isGzip(), formatter);
+        try (sink) {
+            result = followSingle(options, checkpoint, sink, sink);
+        }
+        if (options.isOutputFile()) {
+            double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+            getRdOutput().info(String.format(
+                    "Wrote %d lines (%d bytes) to %s, %.1f MB/s",
+                    sink.getLines(),
+                    sink.getBytes(),
+                    options.getOutputFile(),
+                    sink.getBytes() / seconds / (1024 * 1024)
+            ));
+        }
+        return result;
+    }
 
-        return followOutput(
-                getRdTool().getClient(),
-                output,
-                options.isProgress(),
-                options.isQuiet(),
-                options.getId(),
-                max,
+    private int followMultiple(
+            final ExecutionsFollowOptions options,
+            final ProjectNameOptions projectNameOptions
+    ) throws IOException, InputError
+    {
+        Set<String> ids = new LinkedHashSet<>(options.getExecutionIds());
+        if (options.isQuery()) {
+            ids.addAll(runningExecutionIds(getRdTool().projectOrEnv(projectNameOptions)));
+        }
+        if (ids.isEmpty()) {
+            getRdOutput().info("No running executions found");
+            return 0;
+        }
+        Map<String, String> result = new MultiFollow(
+                getRdTool(),
                 getRdOutput(),
                 options.isOutputFormat() ? Format.formatter(options.getOutputFormat(), ExecLog::toMap, "%", "") : null,
-                waitUnlessInterrupt(2000)
-        ) ? 0 : 1;
+                options.isProgress(),
+                options.isQuiet(),
+                () -> createPoll(options),
+                waitUnlessInterrupt()
+        ).follow(new ArrayList<>(ids), options.isRestart(), options.getTail());
+
+        boolean success = true;
+        for (Map.Entry<String, String> entry : result.entrySet()) {
+            getRdOutput().info(String.format("[%s] %s", entry.getKey(), entry.getValue()));
+            success &= "succeeded".equals(entry.getValue());
+        }
+        return success ? 0 : 1;
+    }
+
+    private List<String> runningExecutionIds(final String project) throws IOException, InputError {
+        List<String> ids = new ArrayList<>();
+        int offset = 0;
+        while (offset >= 0) {
+            int pageOffset = offset;
+            ExecutionList list = apiCall(api -> api.runningExecutions(project, pageOffset, 100));
+            for (Execution execution : list.getExecutions()) {
+                ids.add(execution.getId());
+            }
+            offset = null != list.getPaging() && !list.getExecutions().isEmpty()
+                     ? list.getPaging().nextPageOffset()
+                     : -1;
+        }
+        return ids;
+    }
+
+    /**
+     * @param options follow options
+     * @return adaptive poll using the interval and page size options
+     */
+    public static AdaptivePoll createPoll(final FollowOptions options) {
+        return AdaptivePoll.adaptive(options.getPollMin(), options.getPollMax(), options.getMaxLines());
     }
 
 
@@ -160,7 +334,63 @@ public class Executions extends BaseCommand {
             final BooleanSupplier waitFunc
     ) throws IOException
     {
-        return followOutput(serviceClient, output, id, max, true, entries -> {
+        return followOutput(
+                serviceClient,
+                output,
+                id,
+                max,
+                true,
+                logReceiver(progress, quiet, out, formatter),
+                waitFunc
+        );
+    }
+
+    /**
+     * Follow output, with the delay and page size of each request chosen by the poll, halts when interrupted
+     *
+     * @param progress  show progress
+     * @param quiet     quell log output
+     * @param id        id
+     * @param poll      chooses the delay and page size
+     * @param out       output
+     * @param formatter formatter
+     * @param waitFunc  function for waiting the given ms, return false to halt
+     * @return true if successful
+     */
+    public static boolean followOutput(
+            final ServiceClient<RundeckApi> serviceClient,
+            final ExecOutput output,
+            final boolean progress,
+            final boolean quiet,
+            final String id,
+            final AdaptivePoll poll,
+            CommandOutput out,
+            final Function<ExecLog, String> formatter,
+            final LongPredicate waitFunc
+    ) throws IOException
+    {
+        return followOutput(
+                serviceClient,
+                output,
+                id,
+                poll,
+                true,
+                logReceiver(progress, quiet, out, formatter),
+                waitFunc
+        );
+    }
+
+    /**
+     * @return receiver which writes each log entry to the output, or a progress mark for each page
+     */
+    static Consumer<List<ExecLog>> logReceiver(
+            final boolean progress,
+            final boolean quiet,
+            final CommandOutput out,
+            final Function<ExecLog, String> formatter
+    )
+    {
+        return entries -> {
             if (progress && !entries.isEmpty()) {
                 out.output(".");
             } else if (!quiet) {
@@ -175,7 +405,7 @@ public class Executions extends BaseCommand {
                     }
                 }
             }
-        }, waitFunc);
+        };
     }
 
     /**
@@ -198,26 +428,95 @@ public class Executions extends BaseCommand {
             Consumer<List<ExecLog>> receiver,
             BooleanSupplier waitFunc
     ) throws IOException
+    {
+        return followOutput(
+                serviceClient,
+                output,
+                id,
+                AdaptivePoll.fixed(0, (int) max),
+                compacted,
+                receiver,
+                millis -> waitFunc.getAsBoolean()
+        );
+    }
+
+    /**
+     * Follow output until execution completes and output is fully read, or interrupted
+     *
+     * @param id        execution id
+     * @param poll      chooses the delay and page size of each request
+     * @param compacted if true, request compacted data
+     * @param receiver  receive log events
+     * @param waitFunc  function for waiting the given ms, return false to halt
+     * @return true if execution is successful
+     */
+    public static boolean followOutput(
+            final ServiceClient<RundeckApi> serviceClient,
+            final ExecOutput output,
+            final String id,
+            final AdaptivePoll poll,
+            final boolean compacted,
+            Consumer<List<ExecLog>> receiver,
+            LongPredicate waitFunc
+    ) throws IOException
+    {
+        return followOutput(
+                serviceClient,
+                output,
+                id,
+                poll,
+                compacted,
+                new LogDecompactor(),
+                receiver,
+                page -> { },
+                waitFunc
+        );
+    }
+
+    /**
+     * Follow output until execution completes and output is fully read, or interrupted
+     *
+     * @param id           execution id
+     * @param poll         chooses the delay and page size of each request
+     * @param compacted    if true, request compacted data
+     * @param decompactor  decompacts each page
+     * @param receiver     receive log events
+     * @param pageReceived called with each page after its log events are received
+     * @param waitFunc     function for waiting the given ms, return false to halt
+     * @return true if execution is successful
+     */
+    public static boolean followOutput(
+            final ServiceClient<RundeckApi> serviceClient,
+            final ExecOutput output,
+            final String id,
+            final AdaptivePoll poll,
+            final boolean compacted,
+            final LogDecompactor decompactor,
+            Consumer<List<ExecLog>> receiver,
+            Consumer<ExecOutput> pageReceived,
+            LongPredicate waitFunc
+    ) throws IOException
     {
         boolean done = false;
         String status = null;
         ExecOutput execOutput = output;
+        long previousOffset = 0;
         while (!done) {
-            receiver.accept(execOutput.decompactEntries());
+            receiver.accept(decompactor.decompact(execOutput));
+            pageReceived.accept(execOutput);
             status = execOutput.execState;
             done = execOutput.execCompleted && execOutput.completed;
             if (!done) {
-                if (!waitFunc.getAsBoolean()){
+                if (!waitFunc.test(poll.next(previousOffset, execOutput))) {
                     break;
                 }
-                final ExecOutput passOutput = execOutput;
-                execOutput = serviceClient.apiCall(api -> api.getOutput(
-                        id,
-                        passOutput.offset,
-                        passOutput.lastModified,
-                        max,
-                        compacted
-                ));
+                final long offset = execOutput.offset;
+                final long lastModified = execOutput.lastModified;
+                final long max = poll.getPageSize();
+                previousOffset = offset;
+                //release the page before requesting the next one
+                execOutput = null;
+                execOutput = serviceClient.apiCall(api -> api.getOutput(id, offset, lastModified, max, compacted));
             }
         }
         return "succeeded".equals(status);
@@ -292,6 +591,11 @@ public class Executions extends BaseCommand {
         )
         private List<String> jobIdList;
 
+        @CommandLine.Option(names = {"--local"},
+                description = "Query the local execution store instead of the server. Use the sync command to update "
+                              + "the local store.")
+        private boolean local;
+
     }
 
     @CommandLine.Command(description = "Query previous executions for a project.")
@@ -300,9 +604,110 @@ public class Executions extends BaseCommand {
             @CommandLine.Mixin PagingResultOptions paging,
             @CommandLine.Mixin ExecutionOutputFormatOption outputFormatOption
     ) throws IOException, InputError {
+        if (options.isLocal()) {
+            return localQuery(options, paging, outputFormatOption);
+        }
         return query(false, options, options, paging, outputFormatOption);
     }
 
+    private ExecutionStore openStore(final String project) throws IOException {
+        RdClientConfig config = getRdTool().getAppConfig();
+        return ExecutionStore.open(ExecutionStore.dir(config, config.getString(Main.RD_URL, null), project));
+    }
+
+    @CommandLine.Command(description = "Update the local execution store for a project with executions which are new "
+                                       + "or have changed since the last sync. Use query --local to query the store.")
+    public int sync(@CommandLine.Mixin ProjectNameOptions projectNameOptions) throws IOException, InputError {
+        String project = getRdTool().projectOrEnv(projectNameOptions);
+        ExecutionStore store = openStore(project);
+        Map<String, String> query = new HashMap<>();
+        query.put("max", Integer.toString(SYNC_PAGE_SIZE));
+        if (null != store.getWatermark()) {
+            //begin filters on completion time
+            query.put("begin", Instant.ofEpochMilli(store.getWatermark()).truncatedTo(ChronoUnit.SECONDS).toString());
+        }
+        int changed = 0;
+        int offset = 0;
+        while (offset >= 0) {
+            query.put("offset", Integer.toString(offset));
+            ExecutionList page = apiCall(api -> api.listExecutions(project, query, null, null, null, null));
+            changed += store.putAll(page.getExecutions());
+            offset = nextPageOffset(page);
+        }
+        offset = 0;
+        while (offset >= 0) {
+            int runningOffset = offset;
+            ExecutionList page = apiCall(api -> api.runningExecutions(project, runningOffset, SYNC_PAGE_SIZE));
+            changed += store.putAll(page.getExecutions());
+            offset = nextPageOffset(page);
+        }
+        //the watermark is only stored after all pages are stored, so an interrupted sync is repeated
+        store.saveState();
+        getRdOutput().info(String.format(
+                "Synced %d new or changed executions, %d total",
+                changed,
+                store.size()
+        ));
+        return 0;
+    }
+
+    /**
+     * @param page page of executions
+     * @return offset of the next page, or -1 if there are no more results or the page has no paging info
+     */
+    private static int nextPageOffset(final ExecutionList page) {
+        Paging paging = page.getPaging();
+        return null != paging && !page.getExecutions().isEmpty() && paging.hasMoreResults()
+               ? paging.nextPageOffset()
+               : -1;
+    }
+
+    private ExecutionList localQuery(
+            final QueryCmd options,
+            final PagingResultOptions paging,
+            final ExecutionOutputFormatOption outputFormatOption
+    ) throws IOException, InputError
+    {
+        String project = getRdTool().projectOrEnv(options);
+        ExecutionStore store = openStore(project);
+        if (store.isEmpty()) {
+            throw new InputError(String.format(
+                    "The local execution store is empty, run: rd executions sync -p %s",
+                    project
+            ));
+        }
+        LocalExecutionQuery localQuery = new LocalExecutionQuery(
+                options,
+                options.getJobIdList(),
+                System.currentTimeMillis()
+        );
+        List<Execution> found = store.query(localQuery.indexFilter(), localQuery.executionFilter());
+        int offset = paging.isOffset() ? paging.getOffset() : 0;
+        int max = paging.isMax() ? paging.getMax() : 20;
+        List<Execution> executions = found.subList(
+                Math.min(offset, found.size()),
+                Math.min(found.size(), offset + Math.max(0, max))
+        );
+        Paging page = new Paging();
+        page.setCount(executions.size());
+        page.setTotal(found.size());
+        page.setMax(max);
+        page.setOffset(offset);
+        if (!outputFormatOption.isOutputFormat()) {
+            getRdOutput().info(String.format(
+                    "Local executions: %d of %d items, last sync %s",
+                    executions.size(),
+                    found.size(),
+                    null != store.getLastSync() ? Instant.ofEpochMilli(store.getLastSync()).toString() : "never"
+            ));
+        }
+        outputExecutionList(outputFormatOption, getRdOutput(), getRdTool().getAppConfig(), executions.stream());
+        ExecutionList result = new ExecutionList();
+        result.setPaging(page);
+        result.setExecutions(executions);
+        return result;
+    }
+
 
     public ExecutionList query(boolean disableInteractive, HasJobIdList jobIdList, BaseQuery options, PagingResultOptions paging, ExecutionOutputFormatOption outputFormatOption)
             throws IOException, InputError {
@@ -320,8 +725,15 @@ public class Executions extends BaseCommand {
 
         String project = getRdTool().projectOrEnv(options);
 
-        ExecutionList result = null;
         boolean verboseInfo = !outputFormatOption.isOutputFormat() && !autopage || interactive;
+        if (!disableInteractive && !interactive && !outputFormatOption.isVerbose()
+            && getRdTool().getAppConfig().getBool(Main.RD_STREAMING, false)) {
+            return streamQuery(jobIdList, options, project, query, offset, autopage, verboseInfo, outputFormatOption);
+        }
+        if (!interactive && autopage && !outputFormatOption.isVerbose()) {
+            return pipelineQuery(jobIdList, options, project, query, offset, outputFormatOption);
+        }
+        ExecutionList result = null;
         List<Stream<Execution>> allResults = new ArrayList<>();
         while (offset >= 0) {
             query.put("offset", Integer.toString(offset));
@@ -412,6 +824,111 @@ public class Executions extends BaseCommand {
         return result;
     }
 
+    /**
+     * Output each page of executions when it is received, while the next page is requested, so at most two pages are
+     * held in memory
+     *
+     * @return last page of results
+     */
+    private ExecutionList pipelineQuery(
+            final HasJobIdList jobIdList,
+            final BaseQuery options,
+            final String project,
+            final Map<String, String> query,
+            final int initialOffset,
+            final ExecutionOutputFormatOption outputFormatOption
+    )
+            throws IOException, InputError
+    {
+        CompletableFuture<ExecutionList> next = queryPageAsync(jobIdList, options, project, query, initialOffset);
+        ExecutionList result = null;
+        while (null != next) {
+            result = RdTool.await(next);
+            Paging page = result.getPaging();
+            next = null != page && page.hasMoreResults() && !result.getExecutions().isEmpty()
+                   ? queryPageAsync(jobIdList, options, project, query, page.nextPageOffset())
+                   : null;
+            outputExecutionList(
+                    outputFormatOption,
+                    getRdOutput(),
+                    getRdTool().getAppConfig(),
+                    result.getExecutions().stream()
+            );
+        }
+        return result;
+    }
+
+    private CompletableFuture<ExecutionList> queryPageAsync(
+            final HasJobIdList jobIdList,
+            final BaseQuery options,
+            final String project,
+            final Map<String, String> query,
+            final int offset
+    )
+    {
+        Map<String, String> pageQuery = new HashMap<>(query);
+        pageQuery.put("offset", Integer.toString(offset));
+        return getRdTool().apiCallAsync(api -> api.listExecutions(
+                project,
+                pageQuery,
+                jobIdList.getJobIdList(),
+                options.getExcludeJobIdList(),
+                options.getJobList(),
+                options.getExcludeJobList()
+        ));
+    }
+
+    /**
+     * Output each page of executions as it is read
+     *
+     * @return last page of results, without the executions
+     */
+    private ExecutionList streamQuery(
+            final HasJobIdList jobIdList,
+            final BaseQuery options,
+            final String project,
+            final Map<String, String> query,
+            final int initialOffset,
+            final boolean autopage,
+            final boolean verboseInfo,
+            final ExecutionOutputFormatOption outputFormatOption
+    )
+            throws IOException, InputError
+    {
+        CommandOutput out = getRdOutput();
+        Paging page = null;
+        int offset = initialOffset;
+        while (offset >= 0) {
+            query.put("offset", Integer.toString(offset));
+            try (PagedStream<Execution> executions = apiCall(api -> api.streamExecutions(
+                    project,
+                    query,
+                    jobIdList.getJobIdList(),
+                    options.getExcludeJobIdList(),
+                    options.getJobList(),
+                    options.getExcludeJobList()
+            ))) {
+                outputExecutionList(outputFormatOption, out, getRdTool().getAppConfig(), executions.stream());
+                page = executions.getPaging();
+            }
+            if (null == page) {
+                break;
+            }
+            if (verboseInfo) {
+                out.info(page);
+                out.info(page.moreResults("-o", page.hasMoreResults() ? ", or --autopage for all" : null));
+            }
+            if (!autopage || !page.hasMoreResults()) {
+                break;
+            }
+            offset = page.nextPageOffset();
+        }
+        ExecutionList result = new ExecutionList();
+        result.setPaging(page);
+        result.setExecutions(Collections.emptyList());
+        return result;
+    }
+
     private Map<String, String> createQueryParams(
             final QueryOptions options,
             final Integer max,
@@ -595,6 +1112,21 @@ public class Executions extends BaseCommand {
         @CommandLine.Option(names = {"-R", "--require"},
                 description = "Treat 0 query results as failure, otherwise succeed if no executions were returned")
         private boolean require;
+
+        @CommandLine.Option(names = {"--all"},
+                description = "Delete all executions matching the query, not only the first page. Results are read " +
+                        "one page at a time and deleted in batches, and failed batches do not stop the purge.")
+        private boolean all;
+
+        @CommandLine.Option(names = {"--batch-size"},
+                defaultValue = "500",
+                description = "Number of executions to delete in each request with --all, default: 500")
+        private int batchSize = 500;
+
+        @CommandLine.Option(names = {"--parallel"},
+                defaultValue = "2",
+                description = "Number of delete requests to send concurrently with --all, default: 2")
+        private int parallel = 2;
     }
 
     @CommandLine.Command(description = "Find and delete executions in a project. Use the query options to find and delete " +
@@ -603,6 +1135,12 @@ public class Executions extends BaseCommand {
                               @CommandLine.Mixin PagingResultOptions paging,
                               @CommandLine.Mixin ExecutionOutputFormatOption outputFormatOption) throws IOException, InputError {
 
+        if (options.isAll()) {
+            if (options.isIdlist()) {
+                throw new InputError("--all cannot be combined with -i/--idlist");
+            }
+            return purge(options);
+        }
         List<String> execIds;
         if (options.isIdlist()) {
             execIds = Arrays.asList(options.getIdlist().split("\\s*,\\s*"));
@@ -647,6 +1185,187 @@ public class Executions extends BaseCommand {
         return result.isAllsuccessful()?0:1;
     }
 
+    @Getter
+    @Setter
+    static class LogsCmd extends QueryOptions implements HasJobIdList {
+        @CommandLine.Option(
+                names = {"--jobids", "-i"},
+                arity = "1..*",
+                description = "Job ID list to include"
+        )
+        private List<String> jobIdList;
+
+        @CommandLine.Option(names = {"--dir"},
+                required = true,
+                description = "Directory to write a log file for each execution, named <id>.log")
+        private File dir;
+
+        @CommandLine.Option(names = {"--workers"},
+                defaultValue = "4",
+                description = "Number of executions to download concurrently, default: 4")
+        private int workers = 4;
+
+        @CommandLine.Option(names = {"--max-lines"},
+                defaultValue = "500",
+                description = "Maximum number of log lines to request at once, default: 500")
+        private int maxLines = AdaptivePoll.DEFAULT_MAX_PAGE_SIZE;
+
+        @CommandLine.Option(names = {"--gzip"},
+                description = "Compress log files with gzip, named <id>.log.gz")
+        private boolean gzip;
+
+        @CommandLine.Option(names = {"-%", "--outformat"},
+                description = "Output format specifier for execution logs. You can use \"%%key\" where key is one of:" +
+                        "time,level,log,user,command,node. E.g. \"%%user@%%node/%%level: %%log\"")
+        private String outputFormat;
+
+        public boolean isOutputFormat() {
+            return outputFormat != null;
+        }
+    }
+
+    @CommandLine.Command(description = "Download the full log output of executions found by a query, one file per " +
+            "execution. Existing log files are skipped.")
+    public int logs(@CommandLine.Mixin LogsCmd options) throws IOException, InputError {
+        String project = getRdTool().projectOrEnv(options);
+        Files.createDirectories(options.getDir().toPath());
+        LogDownload download = new LogDownload(
+                getRdTool(),
+                getRdOutput(),
+                options.getDir().toPath(),
+                options.getWorkers(),
+                options.isGzip(),
+                options.getMaxLines(),
+                options.isOutputFormat() ? Format.formatter(options.getOutputFormat(), ExecLog::toMap, "%", "") : null,
+                waitUnlessInterrupt()
+        );
+        Map<String, String> query = createQueryParams(options, 100, 0);
+        int offset = 0;
+        try {
+            while (offset >= 0) {
+                query.put("offset", Integer.toString(offset));
+                ExecutionList executionList = apiCall(api -> api.listExecutions(
+                        project,
+                        query,
+                        options.getJobIdList(),
+                        options.getExcludeJobIdList(),
+                        options.getJobList(),
+                        options.getExcludeJobList()
+                ));
+                for (Execution execution : executionList.getExecutions()) {
+                    download.submit(execution.getId());
+                }
+                Paging page = executionList.getPaging();
+                offset = null != page && !executionList.getExecutions().isEmpty() ? page.nextPageOffset() : -1;
+            }
+        } finally {
+            try {
+                download.finish();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        getRdOutput().info(download.summary());
+        return download.getFailed() > 0 ? 1 : 0;
+    }
+
+    /**
+     * Delete all executions matching the query in batches. Pages are read from the last page backwards, so that
+     * deleting a page does not change the offsets of the pages still to be read. Executions which start during the
+     * purge shift the offsets, so the query is repeated until no matching executions remain, or the number remaining
+     * stops decreasing.
+     */
+    private int purge(final BulkDeleteCmd options) throws IOException, InputError {
+        if (options.getBatchSize() < 1) {
+            throw new InputError("--batch-size must be at least 1");
+        }
+        String project = getRdTool().projectOrEnv(options);
+        int batchSize = options.getBatchSize();
+        Map<String, String> query = createQueryParams(options, batchSize, 0);
+        ExecutionList first = listExecutionsPage(options, project, query, 0);
+        int total = matchingCount(first);
+        if (total < 1) {
+            if (!options.isRequire()) {
+                getRdOutput().info("No executions found to delete");
+            } else {
+                getRdOutput().warning("No executions found to delete");
+            }
+            return options.isRequire() ? 2 : 0;
+        }
+        if (!options.isConfirm()) {
+            //request confirmation
+            if (null == System.console()) {
+                getRdOutput().error("No user interaction available. Use --confirm to confirm purge without user interaction");
+                getRdOutput().warning(String.format("Not deleting %d executions", total));
+                return 2;
+            }
+            String s = System.console().readLine("Really delete %d executions? (y/N) ", total);
+
+            if (!"y".equals(s)) {
+                getRdOutput().warning("Not deleting executions.");
+                return 2;
+            }
+        }
+        ExecutionPurge purge = new ExecutionPurge(getRdTool(), getRdOutput(), options.getParallel(), total);
+        BulkExecutionDeleteResponse result;
+        int remaining = total;
+        while (true) {
+            for (int offset = ((remaining - 1) / batchSize) * batchSize; offset >= 0; offset -= batchSize) {
+                ExecutionList page = offset == 0 ? first : listExecutionsPage(options, project, query, offset);
+                purge.delete(page.getExecutions().stream().map(Execution::getId).collect(Collectors.toList()));
+            }
+            result = purge.finish();
+            if (!result.isAllsuccessful()) {
+                //executions which failed to delete would still match
+                break;
+            }
+            first = listExecutionsPage(options, project, query, 0);
+            int left = matchingCount(first);
+            if (left < 1 || left >= remaining) {
+                break;
+            }
+            remaining = left;
+            purge.expect(left);
+        }
+        if (!result.isAllsuccessful()) {
+            getRdOutput().error(String.format(
+                    "Failed to delete %d of %d executions:",
+                    result.getFailedCount(),
+                    result.getRequestCount()
+            ));
+            getRdOutput().error(result.getFailures()
+                    .stream()
+                    .map(BulkExecutionDeleteResponse.DeleteFailure::toString)
+                    .collect(Collectors.toList()));
+        } else {
+            getRdOutput().info(String.format("Deleted %d executions.", result.getSuccessCount()));
+        }
+        return result.isAllsuccessful() ? 0 : 1;
+    }
+
+    private static int matchingCount(final ExecutionList list) {
+        return null != list.getPaging() ? list.getPaging().getTotal() : list.getExecutions().size();
+    }
+
+    private ExecutionList listExecutionsPage(
+            final BulkDeleteCmd options,
+            final String project,
+            final Map<String, String> query,
+            final int offset
+    ) throws IOException, InputError
+    {
+        Map<String, String> pageQuery = new HashMap<>(query);
+        pageQuery.put("offset", Integer.toString(offset));
+        return apiCall(api -> api.listExecutions(
+                project,
+                pageQuery,
+                options.getJobIdList(),
+                options.getExcludeJobIdList(),
+                options.getJobList(),
+                options.getExcludeJobList()
+        ));
+    }
+
     public static boolean maybeFollow(
             final RdTool rdTool,
             final FollowOptions options,
@@ -658,9 +1377,10 @@ public class Executions extends BaseCommand {
         if (!options.isFollow()) {
             return true;
         }
+        AdaptivePoll poll = createPoll(options);
         ExecOutput execOutputCall = startFollowOutput(
                 rdTool,
-                500,
+                poll.getPageSize(),
                 true,
                 id,
                 0,
@@ -672,23 +1392,23 @@ public class Executions extends BaseCommand {
                 options.isProgress(),
                 options.isQuiet(),
                 id,
-                500,
+                poll,
                 output,
                 formatOptions.isOutputFormat() ? Format.formatter(formatOptions.getOutputFormat(), ExecLog::toMap, "%", "") : null,
-                waitUnlessInterrupt(2000)
+                waitUnlessInterrupt()
         );
     }
 
     /**
-     * @param millis wait time
-     *
-     * @return wait function which returns false if interrupted true otherwise
+     * @return wait function which waits the given ms, and returns false if interrupted true otherwise
      */
-    private static BooleanSupplier waitUnlessInterrupt(final int millis) {
-        return () -> {
+    private static LongPredicate waitUnlessInterrupt() {
+        return millis -> {
             try {
-                Thread.sleep(millis);
-                return true;
+                if (millis > 0) {
+                    Thread.sleep(millis);
+                }
+                return !Thread.currentThread().isInterrupted();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 return false;
@@ -723,11 +1443,27 @@ public class Executions extends BaseCommand {
 
         @CommandLine.Option(names = {"--verbose", "-v"}, description = "Show verbose output")
         private boolean verbose;
+
+        @CommandLine.Option(names = {"--local-percentiles"},
+                description = "Read the matching executions and compute duration percentiles and failure rates "
+                              + "locally. Output format keys are: group,total,succeeded,failed,failure-rate,"
+                              + "duration-p50,duration-p90,duration-p95,duration-p99,duration-avg,duration-max. "
+                              + "Durations are in ms.")
+        private boolean localPercentiles;
+
+        @CommandLine.Option(names = {"--group-by"},
+                defaultValue = "job",
+                description = "Group local percentiles by: ${COMPLETION-CANDIDATES}. Default: job")
+        private ExecutionStats.GroupBy groupBy = ExecutionStats.GroupBy.job;
     }
 
 
     @CommandLine.Command(description = "Obtain metrics over the result set of an execution query.")
     public void metrics(@CommandLine.Mixin MetricsCmd options) throws IOException, InputError {
+        if (options.isLocalPercentiles()) {
+            localPercentiles(options);
+            return;
+        }
         getRdTool().requireApiVersion("metrics", 29);
 
         Map<String, String> query = createQueryParams(options, null, null);
@@ -774,5 +1510,52 @@ public class Executions extends BaseCommand {
         getRdOutput().output(Format.format(options.getOutputFormat(), result, "%", ""));
     }
 
+    /**
+     * Read the executions matching the query one page at a time, and output duration percentiles for each group
+     */
+    private void localPercentiles(final MetricsCmd options) throws IOException, InputError {
+        String project = getRdTool().projectOrEnv(options);
+        Map<String, String> query = createQueryParams(options, METRICS_PAGE_SIZE, 0);
+        ExecutionStats stats = new ExecutionStats(options.getGroupBy());
+        long count = 0;
+        int offset = 0;
+        while (offset >= 0) {
+            query.put("offset", Integer.toString(offset));
+            ExecutionList page = apiCall(api -> api.listExecutions(
+                    project,
+                    query,
+                    options.getJobIdList(),
+                    options.getExcludeJobIdList(),
+                    options.getJobList(),
+                    options.getExcludeJobList()
+            ));
+            stats.addAll(page.getExecutions());
+            count += page.getExecutions().size();
+            if (options.isVerbose() && null != page.getPaging()) {
+                getRdOutput().info(page.getPaging());
+            }
+            offset = nextPageOffset(page);
+        }
+        List<ExecutionStats.Group> groups = stats.getGroups();
+        if (!options.isOutputFormat()) {
+            if (groups.isEmpty()) {
+                getRdOutput().info("No results.");
+                return;
+            }
+            getRdOutput().info(String.format(
+                    "Showing stats for %d matching executions by %s.",
+                    count,
+                    options.getGroupBy()
+            ));
+            for (ExecutionStats.Group group : groups) {
+                getRdOutput().output(group);
+            }
+            return;
+        }
+        for (ExecutionStats.Group group : groups) {
+            getRdOutput().output(Format.format(options.getOutputFormat(), group, "%", ""));
+        }
+    }
+
 
 }
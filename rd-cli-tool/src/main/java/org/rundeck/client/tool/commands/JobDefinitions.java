@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MediaType;
+import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.options.JobFileOptions;
+import org.rundeck.client.util.Client;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.representer.Representer;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses job definitions in YAML, JSON or XML format into a list of jobs, and combines a list of jobs into one
+ * definition, so that the jobs of several definitions can be sent or written together.
+ */
+class JobDefinitions {
+    private final JobFileOptions.Format format;
+    private final Yaml yaml;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final DocumentBuilderFactory documentBuilderFactory;
+
+    /**
+     * @param format job definition format
+     */
+    JobDefinitions(final JobFileOptions.Format format) {
+        this.format = format;
+        DumperOptions dumperOptions = new DumperOptions();
+        dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        this.yaml = new Yaml(new SafeConstructor(new LoaderOptions()), new Representer(dumperOptions), dumperOptions);
+        this.documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        try {
+            documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            documentBuilderFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param input job definitions in the format
+     * @return parsed job definitions
+     * @throws IOException if the input cannot be read
+     * @throws InputError  if the input is not a list of job definitions
+     */
+    List<Object> parse(final InputStream input) throws IOException, InputError {
+        try {
+            switch (format) {
+                case yaml:
+                    return asList(yaml.load(input));
+                case json:
+                    return asList(mapper.readValue(input, Object.class));
+                default:
+                    Document document = newDocumentBuilder().parse(input);
+                    Element root = document.getDocumentElement();
+                    if (!"joblist".equals(root.getTagName())) {
+                        throw new InputError("expected a <joblist> document");
+                    }
+                    List<Object> jobs = new ArrayList<>();
+                    NodeList children = root.getChildNodes();
+                    for (int i = 0; i < children.getLength(); i++) {
+                        Node child = children.item(i);
+                        if (child instanceof Element && "job".equals(((Element) child).getTagName())) {
+                            jobs.add(child);
+                        }
+                    }
+                    return jobs;
+            }
+        } catch (YAMLException | SAXException e) {
+            throw new InputError("invalid job definition: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(final Object data) throws InputError {
+        if (!(data instanceof List)) {
+            throw new InputError("expected a list of job definitions");
+        }
+        return (List<Object>) data;
+    }
+
+    private DocumentBuilder newDocumentBuilder() {
+        try {
+            return documentBuilderFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param jobs parsed job definitions
+     * @return one definition of all the jobs in the format
+     * @throws IOException if the definition cannot be written
+     */
+    byte[] combine(final List<Object> jobs) throws IOException {
+        switch (format) {
+            case yaml:
+                return yaml.dump(jobs).getBytes(StandardCharsets.UTF_8);
+            case json:
+                return mapper.writeValueAsBytes(jobs);
+            default:
+                Document document = newDocumentBuilder().newDocument();
+                Element root = document.createElement("joblist");
+                document.appendChild(root);
+                for (Object job : jobs) {
+                    root.appendChild(document.importNode((Node) job, true));
+                }
+                try {
+                    Transformer transformer = TransformerFactory.newInstance().newTransformer();
+                    transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    transformer.transform(new DOMSource(document), new StreamResult(bytes));
+                    return bytes.toByteArray();
+                } catch (TransformerException e) {
+                    throw new IOException(e);
+                }
+        }
+    }
+
+    /**
+     * @return media type of the format
+     */
+    MediaType mediaType() {
+        switch (format) {
+            case yaml:
+                return Client.MEDIA_TYPE_YAML;
+            case json:
+                return Client.MEDIA_TYPE_JSON;
+            default:
+                return Client.MEDIA_TYPE_XML;
+        }
+    }
+}
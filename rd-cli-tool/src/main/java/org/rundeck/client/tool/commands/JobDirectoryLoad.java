@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import okhttp3.RequestBody;
+import org.rundeck.client.api.model.ImportResult;
+import org.rundeck.client.api.model.JobLoadItem;
+import org.rundeck.client.tool.CommandOutput;
+import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.extension.RdTool;
+import org.rundeck.client.tool.options.JobFileOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads job definition files from a directory. The jobs of small files are combined into one definition of at most
+ * the max batch size, and batches are uploaded with a bounded number of requests in flight. Results are attributed to
+ * the file which defined the job, using the index of the job in the batch.
+ */
+class JobDirectoryLoad {
+    private final CommandOutput out;
+    private final Path dir;
+    private final String project;
+    private final String duplicate;
+    private final String uuidOption;
+    private final long maxBatchBytes;
+    private final BatchPipeline<Batch, ImportResult> pipeline;
+    private final List<String> succeeded = new ArrayList<>();
+    private final List<String> skipped = new ArrayList<>();
+    private final List<String> failed = new ArrayList<>();
+    private final JobDefinitions definitions;
+    private Batch batch = new Batch();
+    private int files;
+    private int batches;
+    private int uploadedFiles;
+
+    /**
+     * Jobs read from one file
+     */
+    private static class FileJobs {
+        final String name;
+        final List<Object> jobs;
+
+        FileJobs(final String name, final List<Object> jobs) {
+            this.name = name;
+            this.jobs = jobs;
+        }
+    }
+
+    private static class Batch {
+        final List<FileJobs> files = new ArrayList<>();
+        long bytes;
+    }
+
+    /**
+     * @param rdTool        tool
+     * @param out           output for progress and errors
+     * @param dir           base dir, for file names
+     * @param project       project
+     * @param format        job definition format
+     * @param duplicate     duplicate option
+     * @param uuidOption    uuid option
+     * @param maxBatchBytes max size of the files in one batch
+     * @param parallel      max number of requests in flight
+     */
+    JobDirectoryLoad(
+            final RdTool rdTool,
+            final CommandOutput out,
+            final Path dir,
+            final String project,
+            final JobFileOptions.Format format,
+            final String duplicate,
+            final String uuidOption,
+            final long maxBatchBytes,
+            final int parallel
+    )
+    {
+        this.out = out;
+        this.dir = dir;
+        this.project = project;
+        this.duplicate = duplicate;
+        this.uuidOption = uuidOption;
+        this.maxBatchBytes = maxBatchBytes;
+        this.pipeline = new BatchPipeline<>(rdTool, parallel, this::uploaded, this::uploadFailed);
+        this.definitions = new JobDefinitions(format);
+    }
+
+    /**
+     * @param format job definition format
+     * @return glob matching files of the format
+     */
+    static String defaultGlob(final JobFileOptions.Format format) {
+        return format == JobFileOptions.Format.yaml ? "*.{yaml,yml}" : "*." + format;
+    }
+
+    /**
+     * Find files in the dir and its subdirs
+     *
+     * @param dir  dir
+     * @param glob glob for the file name
+     * @return matching files sorted by path
+     * @throws IOException if an error occurs
+     */
+    static List<Path> discover(final Path dir, final String glob) throws IOException {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile)
+                        .filter(path -> matcher.matches(path.getFileName()))
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Read the jobs in the file and add them to the current batch, and upload the batch if it is full. A file which
+     * cannot be read is reported as failed.
+     *
+     * @param file job definition file
+     */
+    void add(final Path file) {
+        String name = name(file);
+        List<Object> jobs;
+        long size;
+        try {
+            size = Files.size(file);
+            jobs = read(file);
+        } catch (IOException | InputError e) {
+            failed(name, e.getMessage());
+            return;
+        }
+        add(name, jobs, size);
+    }
+
+    /**
+     * Add jobs to the current batch, and upload the batch if it is full
+     *
+     * @param name  file name, for results
+     * @param jobs  parsed job definitions
+     * @param bytes size of the definitions
+     */
+    void add(final String name, final List<Object> jobs, final long bytes) {
+        files++;
+        if (!batch.files.isEmpty() && batch.bytes + bytes > maxBatchBytes) {
+            send();
+        }
+        batch.files.add(new FileJobs(name, jobs));
+        batch.bytes += bytes;
+    }
+
+    /**
+     * Report a file which cannot be loaded
+     *
+     * @param name    file name
+     * @param message error
+     */
+    void failed(final String name, final String message) {
+        files++;
+        failed.add(String.format("%s: %s", name, message));
+    }
+
+    /**
+     * @param file file in the dir
+     * @return name of the file relative to the dir
+     */
+    String name(final Path file) {
+        return dir.relativize(file).toString();
+    }
+
+    /**
+     * @param file job definition file
+     * @return parsed job definitions
+     * @throws IOException if the file cannot be read
+     * @throws InputError  if the file is not a list of job definitions
+     */
+    List<Object> read(final Path file) throws IOException, InputError {
+        try (InputStream input = Files.newInputStream(file)) {
+            return parse(input);
+        }
+    }
+
+    /**
+     * @param input job definitions in the format
+     * @return parsed job definitions
+     * @throws IOException if the input cannot be read
+     * @throws InputError  if the input is not a list of job definitions
+     */
+    List<Object> parse(final InputStream input) throws IOException, InputError {
+        return definitions.parse(input);
+    }
+
+    private void send() {
+        Batch toSend = batch;
+        batch = new Batch();
+        if (toSend.files.isEmpty()) {
+            return;
+        }
+        pipeline.awaitCapacity();
+        RequestBody body;
+        try {
+            List<Object> jobs = new ArrayList<>();
+            toSend.files.forEach(file -> jobs.addAll(file.jobs));
+            body = RequestBody.create(definitions.combine(jobs), definitions.mediaType());
+        } catch (IOException e) {
+            failBatch(toSend, e);
+            return;
+        }
+        batches++;
+        pipeline.send(toSend, api -> api.loadJobs(project, body, duplicate, uuidOption));
+    }
+
+    private void failBatch(final Batch failedBatch, final Exception e) {
+        out.error(String.format("Failed to load %d files: %s", failedBatch.files.size(), e.getMessage()));
+        for (FileJobs file : failedBatch.files) {
+            failed.add(String.format("%s: %s", file.name, e.getMessage()));
+        }
+    }
+
+    private void uploaded(final Batch uploaded, final ImportResult result) {
+        attribute(uploaded, result.getSucceeded(), succeeded);
+        attribute(uploaded, result.getSkipped(), skipped);
+        attribute(uploaded, result.getFailed(), failed);
+        progress(uploaded);
+    }
+
+    private void uploadFailed(final Batch uploaded, final Exception e) {
+        failBatch(uploaded, e);
+        progress(uploaded);
+    }
+
+    private void progress(final Batch uploaded) {
+        uploadedFiles += uploaded.files.size();
+        out.info(String.format(
+                "Uploaded %d files: %d jobs succeeded, %d skipped, %d failed",
+                uploadedFiles,
+                succeeded.size(),
+                skipped.size(),
+                failed.size()
+        ));
+    }
+
+    /**
+     * @param index 1-based index of the job in the batch
+     * @return name of the file which defined the job
+     */
+    private static String fileName(final Batch batch, final Integer index) {
+        if (null != index) {
+            int remaining = index - 1;
+            for (FileJobs file : batch.files) {
+                if (remaining >= 0 && remaining < file.jobs.size()) {
+                    return file.name;
+                }
+                remaining -= file.jobs.size();
+            }
+        }
+        return batch.files.stream().map(file -> file.name).collect(Collectors.joining(","));
+    }
+
+    private static void attribute(final Batch batch, final List<JobLoadItem> items, final List<String> results) {
+        if (null == items) {
+            return;
+        }
+        for (JobLoadItem item : items) {
+            results.add(String.format("%s: %s", fileName(batch, item.getIndex()), item.toBasicString()));
+        }
+    }
+
+    /**
+     * Upload the last batch and wait for all requests to complete
+     */
+    void finish() {
+        send();
+        pipeline.finish();
+    }
+
+    int getFiles() {
+        return files;
+    }
+
+    int getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return jobs which were loaded, prefixed with the file name
+     */
+    List<String> getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * @return jobs which were skipped, prefixed with the file name
+     */
+    List<String> getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return jobs or files which failed, prefixed with the file name
+     */
+    List<String> getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import org.rundeck.client.api.RequestFailed;
+import org.rundeck.client.api.model.BulkJobDelete;
+import org.rundeck.client.api.model.DeleteJob;
+import org.rundeck.client.api.model.DeleteJobsResult;
+import org.rundeck.client.tool.CommandOutput;
+import org.rundeck.client.tool.extension.RdTool;
+import org.rundeck.client.util.RetryInterceptor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deletes jobs in batches as their IDs are submitted, with a bounded number of delete requests in flight. A batch
+ * which failed with a transport error, or a 5xx or 429 response, is sent again up to the retry count after a random
+ * backoff delay, as {@link RetryInterceptor} does. A job which is not found when its batch is retried was deleted by
+ * an earlier attempt. After a batch fails, no more batches are sent unless keep going is set.
+ */
+class JobPurge {
+    /**
+     * Error code of a job which does not exist
+     */
+    static final String NOT_FOUND = "api.error.item.doesnotexist";
+    private final CommandOutput out;
+    private final int batchSize;
+    private final int retry;
+    private final long backoff;
+    private final boolean keepGoing;
+    private final boolean progress;
+    private final BatchPipeline<Batch, DeleteJobsResult> pipeline;
+    private final List<DeleteJob> failed = new ArrayList<>();
+    private final long start = System.nanoTime();
+    private List<String> pending = new ArrayList<>();
+    private int requestCount;
+    private int deleted;
+    private boolean stopped;
+
+    private static class Batch {
+        final List<String> ids;
+        final int attempt;
+
+        Batch(final List<String> ids, final int attempt) {
+            this.ids = ids;
+            this.attempt = attempt;
+        }
+    }
+
+    /**
+     * @param rdTool    tool
+     * @param out       output for progress and failures
+     * @param batchSize max IDs in each request
+     * @param parallel  max number of delete requests in flight
+     * @param retry     number of times to send a failed batch again
+     * @param backoff   initial backoff in ms before sending a failed batch again, doubled for each retry
+     * @param keepGoing true to send later batches after a batch fails
+     * @param progress  true to report progress after each batch
+     */
+    JobPurge(
+            final RdTool rdTool,
+            final CommandOutput out,
+            final int batchSize,
+            final int parallel,
+            final int retry,
+            final long backoff,
+            final boolean keepGoing,
+            final boolean progress
+    )
+    {
+        this.out = out;
+        this.batchSize = Math.max(1, batchSize);
+        this.pipeline = new BatchPipeline<>(rdTool, parallel, this::completed, this::failed);
+        this.retry = Math.max(0, retry);
+        this.backoff = Math.max(0, backoff);
+        this.keepGoing = keepGoing;
+        this.progress = progress;
+    }
+
+    /**
+     * Add a job to delete, and send a delete request if a batch is full
+     *
+     * @param id job ID
+     * @return false if a batch failed and no more jobs will be deleted
+     */
+    boolean submit(final String id) {
+        if (stopped) {
+            return false;
+        }
+        pending.add(id);
+        if (pending.size() >= batchSize) {
+            send(pending, 0);
+            pending = new ArrayList<>();
+        }
+        return !stopped;
+    }
+
+    private void send(final List<String> ids, final int attempt) {
+        pipeline.awaitCapacity();
+        if (stopped) {
+            return;
+        }
+        pipeline.send(new Batch(ids, attempt), api -> api.deleteJobsBulk(new BulkJobDelete(ids)));
+    }
+
+    private void completed(final Batch batch, final DeleteJobsResult result) {
+        List<DeleteJob> batchFailed = new ArrayList<>();
+        if (!result.isAllsuccessful() && null != result.getFailed()) {
+            for (DeleteJob job : result.getFailed()) {
+                if (batch.attempt == 0 || !NOT_FOUND.equals(job.getErrorCode())) {
+                    batchFailed.add(job);
+                }
+            }
+        }
+        deleted += batch.ids.size() - batchFailed.size();
+        finished(batch, batchFailed, false);
+    }
+
+    private void failed(final Batch batch, final Exception e) {
+        List<DeleteJob> batchFailed = new ArrayList<>();
+        for (String id : batch.ids) {
+            DeleteJob failure = new DeleteJob();
+            failure.setId(id);
+            failure.setMessage(e.getMessage());
+            batchFailed.add(failure);
+        }
+        finished(batch, batchFailed, isRetryable(e));
+    }
+
+    /**
+     * @param e request error
+     * @return true if the request failed with a transport error, or a 5xx or 429 response
+     */
+    static boolean isRetryable(final Exception e) {
+        if (e instanceof IOException) {
+            return true;
+        }
+        if (e instanceof RequestFailed) {
+            int code = ((RequestFailed) e).getStatusCode();
+            return code == 429 || code >= 500;
+        }
+        return false;
+    }
+
+    private void finished(final Batch batch, final List<DeleteJob> batchFailed, final boolean retryable) {
+        if (retryable && batch.attempt < retry) {
+            long delay = RetryInterceptor.backoffDelay(backoff, batch.attempt);
+            out.warning(String.format(
+                    "Failed to delete batch of %d Jobs, retrying in %dms (%d of %d)",
+                    batch.ids.size(),
+                    delay,
+                    batch.attempt + 1,
+                    retry
+            ));
+            if (sleep(delay)) {
+                List<String> ids = batch.ids;
+                pipeline.send(new Batch(ids, batch.attempt + 1), api -> api.deleteJobsBulk(new BulkJobDelete(ids)));
+                return;
+            }
+        }
+        requestCount += batch.ids.size();
+        failed.addAll(batchFailed);
+        if (!batchFailed.isEmpty() && !keepGoing) {
+            stopped = true;
+        }
+        if (progress) {
+            out.info(String.format("Deleted %d Jobs, %d failed (%.1f/s)", deleted, failed.size(), rate()));
+        }
+    }
+
+    /**
+     * @param delay delay in ms
+     * @return false if interrupted
+     */
+    private static boolean sleep(final long delay) {
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private double rate() {
+        double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+        return deleted / seconds;
+    }
+
+    /**
+     * Send the last batch and wait for all requests to complete
+     *
+     * @return combined result of all requests
+     */
+    DeleteJobsResult finish() {
+        if (!pending.isEmpty()) {
+            send(pending, 0);
+            pending = new ArrayList<>();
+        }
+        pipeline.finish();
+        DeleteJobsResult result = new DeleteJobsResult();
+        result.setRequestCount(requestCount);
+        result.setAllsuccessful(failed.isEmpty());
+        result.setFailed(failed);
+        return result;
+    }
+
+    int getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return summary of the number of jobs and throughput
+     */
+    String summary() {
+        double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+        return String.format(
+                "%d Jobs were deleted, %d failed, in %.1fs (%.1f/s)",
+                deleted,
+                failed.size(),
+                seconds,
+                rate()
+        );
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import okhttp3.ResponseBody;
+import org.rundeck.client.api.model.JobItem;
+import org.rundeck.client.tool.CommandOutput;
+import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.extension.RdTool;
+import org.rundeck.client.tool.util.JobSyncManifest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compares local job definition files with the definitions on the server, and uploads only the jobs which were added
+ * or changed. Jobs are matched by UUID if the local definition has one, otherwise by group and name. The server export
+ * includes defaults which a local file usually leaves out, so a job synced before is compared with the hashes saved in
+ * the {@link JobSyncManifest}: it is changed if its local hash differs from the saved local hash, or its export hash
+ * differs from the saved server hash. A job without saved hashes is compared directly with the export. The server
+ * hashes are read from the manifest if the job list has not changed since it was saved, otherwise all definitions are
+ * exported.
+ */
+class JobSync {
+    private final RdTool rdTool;
+    private final CommandOutput out;
+    private final String project;
+    private final String format;
+    private final JobSyncManifest manifest;
+    private final JobDirectoryLoad load;
+    private final Map<String, JobSyncManifest.Entry> server = new TreeMap<>();
+    private final Map<String, JobSyncManifest.Entry> local = new TreeMap<>();
+    private final Set<String> matched = new HashSet<>();
+    private final List<String> added = new ArrayList<>();
+    private final List<String> changed = new ArrayList<>();
+    private int unchanged;
+
+    /**
+     * @param rdTool   tool
+     * @param out      output for progress
+     * @param project  project
+     * @param format   job definition format, yaml or json
+     * @param manifest saved manifest
+     * @param load     loader for the added and changed jobs
+     */
+    JobSync(
+            final RdTool rdTool,
+            final CommandOutput out,
+            final String project,
+            final String format,
+            final JobSyncManifest manifest,
+            final JobDirectoryLoad load
+    )
+    {
+        this.rdTool = rdTool;
+        this.out = out;
+        this.project = project;
+        this.format = format;
+        this.manifest = manifest;
+        this.load = load;
+    }
+
+    /**
+     * Read the hashes of the server definitions, from the manifest if the job list is unchanged
+     *
+     * @param jobs job list
+     * @param full true to export all definitions even if the manifest is current
+     * @throws IOException if an error occurs
+     * @throws InputError  if the export cannot be parsed
+     */
+    void readServer(final List<JobItem> jobs, final boolean full) throws IOException, InputError {
+        String fingerprint = JobSyncManifest.fingerprint(jobs);
+        if (!full && fingerprint.equals(manifest.getFingerprint())) {
+            out.info("Job list is unchanged since the last sync, using the saved manifest");
+            server.putAll(manifest.getJobs());
+            return;
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+        List<Object> definitions;
+        try (ResponseBody body = rdTool.apiCall(api -> api.exportJobs(project, null, null, null, null, format))) {
+            definitions = load.parse(body.byteStream());
+        }
+        for (Object definition : definitions) {
+            if (definition instanceof Map) {
+                Map<?, ?> job = (Map<?, ?>) definition;
+                server.put(
+                        JobSyncManifest.key(job),
+                        new JobSyncManifest.Entry(JobSyncManifest.uuid(job), null, JobSyncManifest.hash(job))
+                );
+            }
+        }
+    }
+
+    /**
+     * Compare the jobs in the local files with the server, and upload the jobs which were added or changed
+     *
+     * @param files local files
+     */
+    void compare(final List<Path> files) {
+        Map<String, String> keysByUuid = new HashMap<>();
+        server.forEach((key, entry) -> {
+            if (null != entry.getUuid()) {
+                keysByUuid.put(entry.getUuid(), key);
+            }
+        });
+        for (Path file : files) {
+            String name = load.name(file);
+            List<Object> jobs;
+            try {
+                jobs = load.read(file);
+            } catch (IOException | InputError e) {
+                load.failed(name, e.getMessage());
+                continue;
+            }
+            if (!jobs.stream().allMatch(Map.class::isInstance)) {
+                load.failed(name, "expected a list of job definitions");
+                continue;
+            }
+            List<Object> upload = new ArrayList<>();
+            long bytes = 0;
+            for (Object definition : jobs) {
+                Map<?, ?> job = (Map<?, ?>) definition;
+                String key = JobSyncManifest.key(job);
+                String uuid = JobSyncManifest.uuid(job);
+                String canonical = JobSyncManifest.canonical(job);
+                String hash = JobSyncManifest.hash(job);
+                String serverKey = null != uuid && keysByUuid.containsKey(uuid) ? keysByUuid.get(uuid) : key;
+                JobSyncManifest.Entry existing = server.get(serverKey);
+                if (null == existing) {
+                    added.add(name + ": " + key);
+                } else {
+                    matched.add(serverKey);
+                    if (serverKey.equals(key) && isUnchanged(key, hash, existing.getServerHash())) {
+                        local.put(key, new JobSyncManifest.Entry(uuid, hash, existing.getServerHash()));
+                        unchanged++;
+                        continue;
+                    }
+                    changed.add(name + ": " + key);
+                }
+                //the export hash of an uploaded job is not known until the next export
+                local.put(key, new JobSyncManifest.Entry(uuid, hash, null));
+                upload.add(job);
+                bytes += canonical.getBytes(StandardCharsets.UTF_8).length;
+            }
+            if (!upload.isEmpty()) {
+                load.add(name, upload, bytes);
+            }
+        }
+        load.finish();
+    }
+
+    /**
+     * @param key        group and name
+     * @param localHash  hash of the local definition
+     * @param serverHash hash of the server definition, or null if unknown
+     * @return true if neither the local nor the server definition changed since the last sync
+     */
+    private boolean isUnchanged(final String key, final String localHash, final String serverHash) {
+        JobSyncManifest.Entry saved = manifest.getJobs().get(key);
+        if (null == saved || null == saved.getLocalHash()) {
+            return localHash.equals(serverHash);
+        }
+        return saved.getLocalHash().equals(localHash)
+               && (null == saved.getServerHash() || null == serverHash || saved.getServerHash().equals(serverHash));
+    }
+
+    /**
+     * @return UUIDs of jobs which exist on the server but not in the local files, by "group/name"
+     */
+    Map<String, String> getServerOnly() {
+        Map<String, String> serverOnly = new LinkedHashMap<>();
+        server.forEach((key, entry) -> {
+            if (!matched.contains(key) && !local.containsKey(key)) {
+                serverOnly.put(key, entry.getUuid());
+            }
+        });
+        return serverOnly;
+    }
+
+    /**
+     * Save the manifest with the hashes of the synced jobs, using the job list after the sync. A job which is neither
+     * in the local files nor in the server definitions is left out, and the fingerprint is not saved so that the next
+     * sync exports all definitions.
+     *
+     * @param jobs job list after the sync
+     * @throws IOException if an error occurs
+     */
+    void saveManifest(final List<JobItem> jobs) throws IOException {
+        Map<String, JobSyncManifest.Entry> hashes = new TreeMap<>();
+        boolean complete = true;
+        for (JobItem job : jobs) {
+            String key = null != job.getGroup() && !job.getGroup().isEmpty() ? job.getGroup() + "/" + job.getName()
+                                                                             : job.getName();
+            JobSyncManifest.Entry entry = local.containsKey(key) ? local.get(key) : server.get(key);
+            if (null == entry) {
+                complete = false;
+                continue;
+            }
+            hashes.put(key, new JobSyncManifest.Entry(job.getId(), entry.getLocalHash(), entry.getServerHash()));
+        }
+        manifest.save(complete ? JobSyncManifest.fingerprint(jobs) : null, hashes);
+    }
+
+    /**
+     * @return jobs which do not exist on the server, as "file: group/name"
+     */
+    List<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * @return jobs which differ from the server, as "file: group/name"
+     */
+    List<String> getChanged() {
+        return changed;
+    }
+
+    int getUnchanged() {
+        return unchanged;
+    }
+}
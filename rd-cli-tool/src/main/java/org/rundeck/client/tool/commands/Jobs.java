@@ -24,14 +24,19 @@ import picocli.CommandLine;
 import org.rundeck.client.api.model.scheduler.ForecastJobItem;
 import org.rundeck.client.api.model.scheduler.ScheduledJobItem;
 import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.Main;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import org.rundeck.client.RundeckClient;
 import org.rundeck.client.api.RundeckApi;
 import org.rundeck.client.api.model.*;
 import org.rundeck.client.tool.commands.jobs.Files;
+import org.rundeck.client.tool.commands.jobs.Index;
 import org.rundeck.client.tool.options.*;
+import org.rundeck.client.tool.util.JobSyncManifest;
 import org.rundeck.client.util.Client;
 import org.rundeck.client.util.Format;
+import org.rundeck.client.util.RdClientConfig;
 import org.rundeck.client.util.ServiceClient;
 import org.rundeck.client.util.Util;
 import retrofit2.Call;
@@ -40,12 +45,16 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
@@ -55,12 +64,17 @@ import java.util.stream.Collectors;
         name = "jobs",
         description = "List and manage Jobs.",
         subcommands = {
-                Files.class
+                Files.class,
+                Index.class
         })
 public class Jobs extends BaseCommand {
 
     public static final String UUID_REMOVE = "remove";
     public static final String UUID_PRESERVE = "preserve";
+    /**
+     * Max job IDs in each export request
+     */
+    static final int EXPORT_CHUNK_SIZE = 200;
 
 
     @Getter @Setter
@@ -83,6 +97,20 @@ public class Jobs extends BaseCommand {
             return max != null && max > 0;
         }
 
+        @CommandLine.Option(names = {"--parallel"},
+                defaultValue = "1",
+                description = "Max number of batch delete requests to send at once. Default: 1")
+        int parallel = 1;
+
+        @CommandLine.Option(names = {"--retry"},
+                description = "Number of times to retry a batch which failed with a connection error or a 5xx or 429 "
+                              + "response, with the backoff delay set by RD_HTTP_RETRY_BACKOFF. Default: 0")
+        int retry;
+
+        @CommandLine.Option(names = {"--keep-going"},
+                description = "Continue deleting later batches after a batch fails.")
+        boolean keepGoing;
+
     }
 
     @CommandLine.Command(description = "Delete jobs matching the query parameters. Optionally save the definitions to a file " +
@@ -97,13 +125,46 @@ public class Jobs extends BaseCommand {
         //if id,idlist specified, use directly
         //otherwise query for the list and assemble the ids
 
+        if (!jobListOptions.isIdlist()
+            && !jobListOptions.isJob()
+            && !jobListOptions.isGroup()
+            && !jobListOptions.isGroupExact()
+            && !jobListOptions.isJobExact()) {
+            throw new InputError("must specify -i, or -j/-g/-J/-G to specify jobs to delete.");
+        }
+        JobPurge purge = new JobPurge(
+                getRdTool(),
+                getRdOutput(),
+                options.isBatchSize() ? options.getBatchSize() : Integer.MAX_VALUE,
+                options.getParallel(),
+                options.getRetry(),
+                retryBackoff(),
+                options.isKeepGoing(),
+                options.isBatchSize()
+        );
+        if (options.isConfirm()
+            && !jobFileOptions.isFile()
+            && !jobListOptions.isIdlist()
+            && getRdTool().getAppConfig().getBool(Main.RD_STREAMING, false)) {
+            //delete batches while the job list is read
+            String project = getRdTool().projectOrEnv(jobListOptions);
+            try (Stream<JobItem> jobs = streamJobList(project, jobListOptions)) {
+                Iterator<JobItem> iterator = jobs.iterator();
+                int count = 0;
+                while (iterator.hasNext() && (!options.isMax() || count < options.getMax())) {
+                    count++;
+                    if (!purge.submit(iterator.next().getId())) {
+                        break;
+                    }
+                }
+            }
+            return purgeResult(purge);
+        }
+
         List<String> ids = new ArrayList<>();
         if (jobListOptions.isIdlist()) {
             ids = jobListOptions.getIdlist();
         } else {
-            if (!jobListOptions.isJob() && !jobListOptions.isGroup() && !jobListOptions.isGroupExact() && !jobListOptions.isJobExact()) {
-                throw new InputError("must specify -i, or -j/-g/-J/-G to specify jobs to delete.");
-            }
             String project = getRdTool().projectOrEnv(jobListOptions);
             List<JobItem> body = getRdTool().apiCall(api -> api.listJobs(
                     project,
@@ -117,11 +178,21 @@ public class Jobs extends BaseCommand {
             }
         }
 
-        if (jobFileOptions.isFile()) {
-            list(jobOutputFormatOption, jobFileOptions, jobListOptions);
-        }
         int idsSize = ids.size();
         int idsToDelete = options.isMax() ? Math.min(idsSize, options.getMax()) : idsSize;
+        if (idsToDelete == 0) {
+            //an empty idlist would export every job in the project
+            return purgeResult(purge);
+        }
+        if (jobFileOptions.isFile()) {
+            //export the same jobs which will be deleted
+            exportJobIds(
+                    getRdTool().projectOrEnv(jobListOptions),
+                    ids.subList(0, idsToDelete),
+                    jobOutputFormatOption,
+                    jobFileOptions
+            );
+        }
         if (!options.isConfirm()) {
             //request confirmation
             if (null == System.console()) {
@@ -136,23 +207,82 @@ public class Jobs extends BaseCommand {
                 return 2;
             }
         }
-        int batch = options.isBatchSize() ? Math.min(idsToDelete, options.getBatchSize()) : idsToDelete;
-        int total = 0;
-        for (int i = 0; i < idsToDelete; ) {
-            int batchToUse = Math.min(batch, idsToDelete - total);
-            final List<String> finalIds = new ArrayList<>(batchToUse);
-            finalIds.addAll(ids.subList(i, i + batchToUse));
-            DeleteJobsResult deletedJobs = getRdTool().apiCall(api -> api.deleteJobsBulk(new BulkJobDelete(finalIds)));
-            if (!deletedJobs.isAllsuccessful()) {
-                getRdOutput().error(String.format("Failed to delete %d Jobs%n", deletedJobs.getFailed().size()));
-                getRdOutput().output(deletedJobs.getFailed().stream().map(DeleteJob::toBasicString).collect(Collectors.toList()));
-                return 1;
+        for (String id : ids.subList(0, idsToDelete)) {
+            if (!purge.submit(id)) {
+                break;
             }
-            total += finalIds.size();
-            i += batchToUse;
         }
+        return purgeResult(purge);
+    }
 
-        getRdOutput().info(String.format("%d Jobs were deleted%n", total));
+    /**
+     * Export the definitions of the jobs to the file. The IDs are requested in chunks to limit the URL length, and the
+     * jobs of all chunks are combined into one definition.
+     */
+    private void exportJobIds(
+            final String project,
+            final List<String> ids,
+            final JobOutputFormatOption jobOutputFormatOption,
+            final JobFileOptions jobFileOptions
+    ) throws IOException, InputError
+    {
+        String format = jobFileOptions.getFormat().toString();
+        if (ids.size() <= EXPORT_CHUNK_SIZE) {
+            String idlist = String.join(",", ids);
+            writeJobExport(
+                    getRdTool().apiCall(api -> api.exportJobs(project, idlist, format)),
+                    jobOutputFormatOption,
+                    jobFileOptions
+            );
+            return;
+        }
+        JobDefinitions definitions = new JobDefinitions(jobFileOptions.getFormat());
+        List<Object> jobs = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += EXPORT_CHUNK_SIZE) {
+            String idlist = String.join(",", ids.subList(i, Math.min(ids.size(), i + EXPORT_CHUNK_SIZE)));
+            try (ResponseBody body = getRdTool().apiCall(api -> api.exportJobs(project, idlist, format))) {
+                jobs.addAll(definitions.parse(body.byteStream()));
+            }
+        }
+        byte[] data = definitions.combine(jobs);
+        if ("-".equals(jobFileOptions.getFile().getName())) {
+            System.out.write(data);
+            System.out.flush();
+            return;
+        }
+        try (FileOutputStream out = new FileOutputStream(jobFileOptions.getFile())) {
+            out.write(data);
+        }
+        if (!jobOutputFormatOption.isOutputFormat()) {
+            getRdOutput().info(String.format(
+                    "Wrote %d bytes of %s to file %s%n",
+                    data.length,
+                    definitions.mediaType(),
+                    jobFileOptions.getFile()
+            ));
+        }
+    }
+
+    /**
+     * @return initial backoff in ms before retrying a failed batch, the same as for retried HTTP requests
+     */
+    private long retryBackoff() {
+        Long backoff = getRdTool().getAppConfig().getLong(
+                RundeckClient.ENV_HTTP_RETRY_BACKOFF,
+                RundeckClient.DEFAULT_RETRY_BACKOFF
+        );
+        return null != backoff ? backoff : RundeckClient.DEFAULT_RETRY_BACKOFF;
+    }
+
+    private int purgeResult(final JobPurge purge) {
+        DeleteJobsResult deletedJobs = purge.finish();
+        if (!deletedJobs.isAllsuccessful()) {
+            getRdOutput().error(String.format("Failed to delete %d Jobs%n", deletedJobs.getFailed().size()));
+            getRdOutput().output(deletedJobs.getFailed().stream().map(DeleteJob::toBasicString).collect(Collectors.toList()));
+            getRdOutput().info(purge.summary());
+            return 1;
+        }
+        getRdOutput().info(purge.summary());
         return 0;
     }
 
@@ -163,8 +293,11 @@ public class Jobs extends BaseCommand {
             @CommandLine.Mixin ProjectNameOptions projectNameOptions,
             @CommandLine.Mixin VerboseOption verboseOption
     ) throws IOException, InputError {
+        if (options.isDir()) {
+            return loadDir(options, fileOptions, projectNameOptions);
+        }
         if (!fileOptions.isFile()) {
-            throw new InputError("-f is required");
+            throw new InputError("-f or --dir is required");
         }
         File input = fileOptions.getFile();
         if (!input.canRead() || !input.isFile()) {
@@ -198,6 +331,200 @@ public class Jobs extends BaseCommand {
         return (failed == null || failed.isEmpty()) ? 0 : 1;
     }
 
+    private int loadDir(
+            final JobLoadOptions options,
+            final JobFileOptions fileOptions,
+            final ProjectNameOptions projectNameOptions
+    ) throws IOException, InputError
+    {
+        if (fileOptions.isFile()) {
+            throw new InputError("-f cannot be used with --dir");
+        }
+        Path dir = options.getDir().toPath();
+        if (!java.nio.file.Files.isDirectory(dir)) {
+            throw new InputError(String.format("Directory does not exist: %s", dir));
+        }
+        String project = getRdTool().projectOrEnv(projectNameOptions);
+        List<Path> files = JobDirectoryLoad.discover(
+                dir,
+                options.isGlob() ? options.getGlob() : JobDirectoryLoad.defaultGlob(fileOptions.getFormat())
+        );
+        if (files.isEmpty()) {
+            getRdOutput().warning(String.format("No Job definition files found in %s", dir));
+            return 0;
+        }
+        JobDirectoryLoad load = new JobDirectoryLoad(
+                getRdTool(),
+                getRdOutput(),
+                dir,
+                project,
+                fileOptions.getFormat(),
+                options.getDuplicate().toString(),
+                options.isRemoveUuids() ? UUID_REMOVE : UUID_PRESERVE,
+                options.getBatchBytes(),
+                options.getParallel()
+        );
+        for (Path file : files) {
+            load.add(file);
+        }
+        load.finish();
+
+        getRdOutput().info(String.format("Loaded %d files in %d uploads%n", load.getFiles(), load.getBatches()));
+        printLoadLines(load.getSucceeded(), "Succeeded");
+        printLoadLines(load.getSkipped(), "Skipped");
+        printLoadLines(load.getFailed(), "Failed");
+        return load.getFailed().isEmpty() ? 0 : 1;
+    }
+
+    @Getter @Setter
+    public static class Sync {
+        @CommandLine.Option(names = {"--dir"},
+                required = true,
+                description = "Directory of Job definition files, including subdirectories")
+        File dir;
+
+        @CommandLine.Option(names = {"--glob"},
+                description = "File name pattern, e.g. \"*.yaml\". Default: files with the extension of the format")
+        String glob;
+
+        boolean isGlob() {
+            return glob != null;
+        }
+
+        @CommandLine.Option(names = {"-F", "--format"},
+                defaultValue = "yaml",
+                description = "Format of the Job definition files: yaml, json. Default: yaml")
+        JobFileOptions.Format format = JobFileOptions.Format.yaml;
+
+        @CommandLine.Option(names = {"--delete"},
+                description = "Delete Jobs which exist on the server but not in the directory")
+        boolean delete;
+
+        @CommandLine.Option(names = {"--full"},
+                description = "Export all Job definitions from the server, even if the saved manifest is current. "
+                              + "Required to detect changes made on the server to the content of a Job, which do "
+                              + "not change the Job list")
+        boolean full;
+
+        @CommandLine.Option(names = {"--batch-bytes"},
+                defaultValue = "1048576",
+                description = "Combine changed Jobs up to this total size in bytes into one upload. Default: 1048576")
+        long batchBytes = 1048576;
+
+        @CommandLine.Option(names = {"--parallel"},
+                defaultValue = "2",
+                description = "Max number of uploads to send at once. Default: 2")
+        int parallel = 2;
+    }
+
+    @CommandLine.Command(description = "Upload the Job definitions in a directory which were added or changed since "
+                                       + "they were loaded, compared by content hash. A manifest of the hashes is "
+                                       + "saved locally, and is used instead of exporting all definitions if the "
+                                       + "Job list has not changed. Use --full to detect Job content changed on the "
+                                       + "server.")
+    public int sync(
+            @CommandLine.Mixin Sync options,
+            @CommandLine.Mixin ProjectNameOptions projectNameOptions
+    ) throws IOException, InputError {
+        if (options.getFormat() == JobFileOptions.Format.xml) {
+            throw new InputError("sync supports the yaml and json formats");
+        }
+        Path dir = options.getDir().toPath();
+        if (!java.nio.file.Files.isDirectory(dir)) {
+            throw new InputError(String.format("Directory does not exist: %s", dir));
+        }
+        String project = getRdTool().projectOrEnv(projectNameOptions);
+        List<Path> files = JobDirectoryLoad.discover(
+                dir,
+                options.isGlob() ? options.getGlob() : JobDirectoryLoad.defaultGlob(options.getFormat())
+        );
+        if (files.isEmpty()) {
+            //never treat an empty directory as a request to delete every job
+            getRdOutput().warning(String.format("No Job definition files found in %s", dir));
+            return 0;
+        }
+        RdClientConfig config = getRdTool().getAppConfig();
+        JobSyncManifest manifest = JobSyncManifest.load(JobSyncManifest.file(
+                config,
+                config.getString(Main.RD_URL, null),
+                project
+        ));
+        JobDirectoryLoad load = new JobDirectoryLoad(
+                getRdTool(),
+                getRdOutput(),
+                dir,
+                project,
+                options.getFormat(),
+                JobLoadOptions.Duplication.update.toString(),
+                UUID_PRESERVE,
+                options.getBatchBytes(),
+                options.getParallel()
+        );
+        JobSync sync = new JobSync(
+                getRdTool(),
+                getRdOutput(),
+                project,
+                options.getFormat().toString(),
+                manifest,
+                load
+        );
+        sync.readServer(listAllJobs(project), options.isFull());
+        sync.compare(files);
+
+        getRdOutput().info(String.format(
+                "%d Jobs added, %d changed, %d unchanged%n",
+                sync.getAdded().size(),
+                sync.getChanged().size(),
+                sync.getUnchanged()
+        ));
+        printLoadLines(load.getSucceeded(), "Succeeded");
+        printLoadLines(load.getSkipped(), "Skipped");
+        printLoadLines(load.getFailed(), "Failed");
+        boolean success = load.getFailed().isEmpty();
+
+        Map<String, String> serverOnly = sync.getServerOnly();
+        if (!serverOnly.isEmpty() && options.isDelete() && !success) {
+            //jobs of a file which failed to load would otherwise look like they exist only on the server
+            getRdOutput().warning(String.format(
+                    "Not deleting %d Jobs which exist only on the server, because some files failed to load:%n",
+                    serverOnly.size()
+            ));
+            getRdOutput().output(new ArrayList<>(serverOnly.keySet()));
+        } else if (!serverOnly.isEmpty() && options.isDelete()) {
+            JobPurge purge = new JobPurge(getRdTool(), getRdOutput(), 500, 1, 0, 0, true, false);
+            serverOnly.values().forEach(purge::submit);
+            success &= purgeResult(purge) == 0;
+        } else if (!serverOnly.isEmpty()) {
+            getRdOutput().info(String.format(
+                    "%d Jobs exist only on the server, use --delete to delete them:%n",
+                    serverOnly.size()
+            ));
+            getRdOutput().output(new ArrayList<>(serverOnly.keySet()));
+        }
+
+        if (success) {
+            sync.saveManifest(listAllJobs(project));
+        } else {
+            manifest.delete();
+        }
+        return success ? 0 : 1;
+    }
+
+    /**
+     * @param project project
+     * @return all jobs, never a stale response from the HTTP cache
+     */
+    private List<JobItem> listAllJobs(final String project) throws IOException, InputError {
+        return getRdTool().apiCall(api -> api.listJobsRevalidated(project));
+    }
+
+    private void printLoadLines(final List<String> list, final String title) {
+        if (!list.isEmpty()) {
+            getRdOutput().info(String.format("%d Jobs %s:%n", list.size(), title));
+            getRdOutput().output(list);
+        }
+    }
+
     private void printLoadResult(
             final List<JobLoadItem> list,
             final String title,
@@ -242,47 +569,15 @@ public class Jobs extends BaseCommand {
                         jobFileOptions.getFormat().toString()
                 ));
             }
-            try (ResponseBody body = body1) {
-                if ((
-                            jobFileOptions.getFormat() == JobFileOptions.Format.yaml
-                            && !ServiceClient.hasAnyMediaType(
-                                    body.contentType(),
-                                    Client.MEDIA_TYPE_YAML,
-                                    Client.MEDIA_TYPE_TEXT_YAML
-                            )
-                    ) || (
-                            jobFileOptions.getFormat() == JobFileOptions.Format.json
-                            && !ServiceClient.hasAnyMediaType(
-                                    body.contentType(),
-                                    Client.MEDIA_TYPE_JSON
-                            )
-                    ) || (
-                            jobFileOptions.getFormat() == JobFileOptions.Format.xml
-                            && !ServiceClient.hasAnyMediaType(
-                                    body.contentType(),
-                                    Client.MEDIA_TYPE_XML,
-                                    Client.MEDIA_TYPE_TEXT_XML
-                            )
-                    )) {
-
-                    throw new IllegalStateException("Unexpected response format: " + body.contentType());
-                }
-                InputStream inputStream = body.byteStream();
-                if ("-".equals(jobFileOptions.getFile().getName())) {
-                    Util.copyStream(inputStream, System.out);
-                } else {
-                    try (FileOutputStream out = new FileOutputStream(jobFileOptions.getFile())) {
-                        long total = Util.copyStream(inputStream, out);
-                        if (!jobOutputFormatOption.isOutputFormat()) {
-                            getRdOutput().info(String.format(
-                                    "Wrote %d bytes of %s to file %s%n",
-                                    total,
-                                    body.contentType(),
-                                    jobFileOptions.getFile()
-                            ));
-                        }
-                    }
-                }
+            writeJobExport(body1, jobOutputFormatOption, jobFileOptions);
+        } else if (!jobOutputFormatOption.isVerbose()
+                   && getRdTool().getAppConfig().getBool(Main.RD_STREAMING, false)) {
+            long count;
+            try (Stream<JobItem> jobs = streamJobList(project, jobListOptions)) {
+                count = outputJobStream(jobOutputFormatOption, jobs);
+            }
+            if (!jobOutputFormatOption.isOutputFormat()) {
+                getRdOutput().info(String.format("%d Jobs in project %s%n", count, project));
             }
         } else {
             List<JobItem> body;
@@ -304,6 +599,96 @@ public class Jobs extends BaseCommand {
         }
     }
 
+    /**
+     * Write the job definitions to the file, or stdout if the file name is "-"
+     *
+     * @param responseBody export response, which is closed
+     */
+    private void writeJobExport(
+            final ResponseBody responseBody,
+            final JobOutputFormatOption jobOutputFormatOption,
+            final JobFileOptions jobFileOptions
+    ) throws IOException
+    {
+        try (ResponseBody body = responseBody) {
+            if ((
+                        jobFileOptions.getFormat() == JobFileOptions.Format.yaml
+                        && !ServiceClient.hasAnyMediaType(
+                                body.contentType(),
+                                Client.MEDIA_TYPE_YAML,
+                                Client.MEDIA_TYPE_TEXT_YAML
+                        )
+                ) || (
+                        jobFileOptions.getFormat() == JobFileOptions.Format.json
+                        && !ServiceClient.hasAnyMediaType(
+                                body.contentType(),
+                                Client.MEDIA_TYPE_JSON
+                        )
+                ) || (
+                        jobFileOptions.getFormat() == JobFileOptions.Format.xml
+                        && !ServiceClient.hasAnyMediaType(
+                                body.contentType(),
+                                Client.MEDIA_TYPE_XML,
+                                Client.MEDIA_TYPE_TEXT_XML
+                        )
+                )) {
+
+                throw new IllegalStateException("Unexpected response format: " + body.contentType());
+            }
+            InputStream inputStream = body.byteStream();
+            if ("-".equals(jobFileOptions.getFile().getName())) {
+                Util.copyStream(inputStream, System.out);
+            } else {
+                try (FileOutputStream out = new FileOutputStream(jobFileOptions.getFile())) {
+                    long total = Util.copyStream(inputStream, out);
+                    if (!jobOutputFormatOption.isOutputFormat()) {
+                        getRdOutput().info(String.format(
+                                "Wrote %d bytes of %s to file %s%n",
+                                total,
+                                body.contentType(),
+                                jobFileOptions.getFile()
+                        ));
+                    }
+                }
+            }
+        }
+    }
+
+    private Stream<JobItem> streamJobList(final String project, final JobListOptions jobListOptions)
+            throws IOException, InputError
+    {
+        if (jobListOptions.isIdlist()) {
+            return getRdTool().apiCall(api -> api.streamJobs(project, String.join(",", jobListOptions.getIdlist())));
+        }
+        return getRdTool().apiCall(api -> api.streamJobs(
+                project,
+                jobListOptions.getJob(),
+                jobListOptions.getGroup(),
+                jobListOptions.getJobExact(),
+                jobListOptions.getGroupExact()
+        ));
+    }
+
+    /**
+     * Output each job as it is read, verbose output is not supported
+     *
+     * @return number of jobs
+     */
+    private long outputJobStream(final JobOutputFormatOption options, final Stream<JobItem> jobs) {
+        final Function<JobItem, ?> outformat;
+        if (options.isOutputFormat()) {
+            outformat = Format.formatter(options.getOutputFormat(), JobItem::toMap, "%", "");
+        } else {
+            outformat = JobItem::toBasicString;
+        }
+        long[] count = new long[1];
+        jobs.forEach(job -> {
+            count[0]++;
+            getRdOutput().output(outformat.apply(job));
+        });
+        return count[0];
+    }
+
     private void outputJobList(final JobOutputFormatOption options, final List<JobItem> body) {
         final Function<JobItem, ?> outformat;
         if (options.isVerbose()) {
@@ -446,89 +831,78 @@ public class Jobs extends BaseCommand {
     }
 
 
-    @CommandLine.Command(description = "Enable execution for a set of jobs. " +
-            "--idlist/-i, or --job/-j or --group/-g or --jobxact/-J or --groupxact/-G Options are " +
-            "required.")
-    public int enablebulk(@CommandLine.Mixin BulkJobActionOptions options, @CommandLine.Mixin VerboseOption verboseOption) throws IOException, InputError {
-
+    /**
+     * Request confirmation, then toggle the jobs in batches if a batch size is set
+     *
+     * @param action  action verb, e.g. "enable"
+     * @param acting  present participle of the action, e.g. "enabling"
+     * @param done    past tense of the action, e.g. "enabled"
+     * @param request bulk toggle request
+     * @return exit code
+     */
+    private <R extends BulkToggleResponse> int bulkToggle(
+            final BulkJobActionOptions options,
+            final VerboseOption verboseOption,
+            final String action,
+            final String acting,
+            final String done,
+            final BiFunction<RundeckApi, IdList, Call<R>> request
+    ) throws IOException, InputError
+    {
         List<String> ids = getJobList(options);
 
         if (!options.isConfirm()) {
             //request confirmation
             if (null == System.console()) {
                 getRdOutput().error("No user interaction available. Use --confirm to confirm request without user interaction");
-                getRdOutput().warning(String.format("Not enabling %d jobs", ids.size()));
+                getRdOutput().warning(String.format("Not %s %d jobs", acting, ids.size()));
                 return 2;
             }
-            String s = System.console().readLine("Really enable %d Jobs? (y/N) ", ids.size());
+            String s = System.console().readLine("Really %s %d Jobs? (y/N) ", action, ids.size());
 
             if (!"y".equals(s)) {
-                getRdOutput().warning(String.format("Not enabling %d jobs", ids.size()));
+                getRdOutput().warning(String.format("Not %s %d jobs", acting, ids.size()));
                 return 2;
             }
         }
 
-        final List<String> finalIds = ids;
-
-        BulkToggleJobExecutionResponse response = getRdTool().apiCall(api -> api.bulkEnableJobs(new IdList(finalIds)));
+        BulkJobToggle<R> toggle = new BulkJobToggle<>(
+                getRdTool(),
+                getRdOutput(),
+                request,
+                Character.toUpperCase(done.charAt(0)) + done.substring(1),
+                options.getParallel(),
+                ids.size(),
+                options.isBatchSize() ? options.getBatchSize() : 0
+        );
+        toggle.toggle(ids);
 
-        if (response.isAllsuccessful()) {
-            getRdOutput().info(String.format("%d Jobs were enabled%n", response.getRequestCount()));
+        if (toggle.isAllsuccessful()) {
+            getRdOutput().info(String.format("%d Jobs were %s%n", toggle.getRequestCount(), done));
             if (verboseOption.isVerbose()) {
-                getRdOutput().output(response.getSucceeded().stream()
-                        .map(BulkToggleJobExecutionResponse.Result::toString)
-                        .collect(Collectors.toList()));
+                getRdOutput().output(toggle.getSucceeded());
             }
             return 0;
         }
-        getRdOutput().error(String.format("Failed to enable %d Jobs%n", response.getFailed().size()));
-        getRdOutput().output(response.getFailed().stream()
-                .map(BulkToggleJobExecutionResponse.Result::toString)
-                .collect(Collectors.toList()));
+        getRdOutput().error(String.format("Failed to %s %d Jobs%n", action, toggle.getFailed().size()));
+        getRdOutput().output(toggle.getFailed());
         return 1;
     }
 
 
-    @CommandLine.Command(description = "Disable execution for a set of jobs. " +
+    @CommandLine.Command(description = "Enable execution for a set of jobs. " +
             "--idlist/-i, or --job/-j or --group/-g or --jobxact/-J or --groupxact/-G Options are " +
             "required.")
-    public int disablebulk(@CommandLine.Mixin BulkJobActionOptions options, @CommandLine.Mixin VerboseOption verboseOption) throws IOException, InputError {
-
-        List<String> ids = getJobList(options);
-
-        if (!options.isConfirm()) {
-            //request confirmation
-            if (null == System.console()) {
-                getRdOutput().error("No user interaction available. Use --confirm to confirm request without user interaction");
-                getRdOutput().warning(String.format("Not disabling %d jobs", ids.size()));
-                return 2;
-            }
-            String s = System.console().readLine("Really disable %d Jobs? (y/N) ", ids.size());
-
-            if (!"y".equals(s)) {
-                getRdOutput().warning(String.format("Not disabling %d jobs", ids.size()));
-                return 2;
-            }
-        }
-
-        final List<String> finalIds = ids;
+    public int enablebulk(@CommandLine.Mixin BulkJobActionOptions options, @CommandLine.Mixin VerboseOption verboseOption) throws IOException, InputError {
+        return bulkToggle(options, verboseOption, "enable", "enabling", "enabled", RundeckApi::bulkEnableJobs);
+    }
 
-        BulkToggleJobExecutionResponse response = getRdTool().apiCall(api -> api.bulkDisableJobs(new IdList(finalIds)));
 
-        if (response.isAllsuccessful()) {
-            getRdOutput().info(String.format("%d Jobs were disabled%n", response.getRequestCount()));
-            if (verboseOption.isVerbose()) {
-                getRdOutput().output(response.getSucceeded().stream()
-                        .map(BulkToggleJobExecutionResponse.Result::toString)
-                        .collect(Collectors.toList()));
-            }
-            return 0;
-        }
-        getRdOutput().error(String.format("Failed to disable %d Jobs%n", response.getFailed().size()));
-        getRdOutput().output(response.getFailed().stream()
-                .map(BulkToggleJobExecutionResponse.Result::toString)
-                .collect(Collectors.toList()));
-        return 1;
+    @CommandLine.Command(description = "Disable execution for a set of jobs. " +
+            "--idlist/-i, or --job/-j or --group/-g or --jobxact/-J or --groupxact/-G Options are " +
+            "required.")
+    public int disablebulk(@CommandLine.Mixin BulkJobActionOptions options, @CommandLine.Mixin VerboseOption verboseOption) throws IOException, InputError {
+        return bulkToggle(options, verboseOption, "disable", "disabling", "disabled", RundeckApi::bulkDisableJobs);
     }
 
 
@@ -536,42 +910,14 @@ public class Jobs extends BaseCommand {
             "--idlist/-i, or --job/-j or --group/-g or --jobxact/-J or --groupxact/-G Options are " +
             "required.")
     public int reschedulebulk(@CommandLine.Mixin BulkJobActionOptions options, @CommandLine.Mixin VerboseOption verboseOption) throws IOException, InputError {
-
-        List<String> ids = getJobList(options);
-
-        if (!options.isConfirm()) {
-            //request confirmation
-            if (null == System.console()) {
-                getRdOutput().error("No user interaction available. Use --confirm to confirm request without user interaction");
-                getRdOutput().warning(String.format("Not rescheduling %d jobs", ids.size()));
-                return 2;
-            }
-            String s = System.console().readLine("Really reschedule %d Jobs? (y/N) ", ids.size());
-
-            if (!"y".equals(s)) {
-                getRdOutput().warning(String.format("Not rescheduling %d jobs", ids.size()));
-                return 2;
-            }
-        }
-
-        final List<String> finalIds = ids;
-
-        BulkToggleJobScheduleResponse response = getRdTool().apiCall(api -> api.bulkEnableJobSchedule(new IdList(finalIds)));
-
-        if (response.isAllsuccessful()) {
-            getRdOutput().info(String.format("%d Jobs were rescheduled%n", response.getRequestCount()));
-            if (verboseOption.isVerbose()) {
-                getRdOutput().output(response.getSucceeded().stream()
-                        .map(BulkToggleJobScheduleResponse.Result::toString)
-                        .collect(Collectors.toList()));
-            }
-            return 0;
-        }
-        getRdOutput().error(String.format("Failed to reschedule %d Jobs%n", response.getFailed().size()));
-        getRdOutput().output(response.getFailed().stream()
-                .map(BulkToggleJobScheduleResponse.Result::toString)
-                .collect(Collectors.toList()));
-        return 1;
+        return bulkToggle(
+                options,
+                verboseOption,
+                "reschedule",
+                "rescheduling",
+                "rescheduled",
+                RundeckApi::bulkEnableJobSchedule
+        );
     }
 
 
@@ -579,42 +925,14 @@ public class Jobs extends BaseCommand {
             "--idlist/-i, or --job/-j or --group/-g or --jobxact/-J or --groupxact/-G Options are " +
             "required.")
     public int unschedulebulk(@CommandLine.Mixin BulkJobActionOptions options, @CommandLine.Mixin VerboseOption verboseOption) throws IOException, InputError {
-
-        List<String> ids = getJobList(options);
-
-        if (!options.isConfirm()) {
-            //request confirmation
-            if (null == System.console()) {
-                getRdOutput().error("No user interaction available. Use --confirm to confirm request without user interaction");
-                getRdOutput().warning(String.format("Not unscheduling %d jobs", ids.size()));
-                return 2;
-            }
-            String s = System.console().readLine("Really unschedule %d Jobs? (y/N) ", ids.size());
-
-            if (!"y".equals(s)) {
-                getRdOutput().warning(String.format("Not unscheduling %d jobs", ids.size()));
-                return 2;
-            }
-        }
-
-        final List<String> finalIds = ids;
-
-        BulkToggleJobScheduleResponse response = getRdTool().apiCall(api -> api.bulkDisableJobSchedule(new IdList(finalIds)));
-
-        if (response.isAllsuccessful()) {
-            getRdOutput().info(String.format("%d Jobs were unsheduled%n", response.getRequestCount()));
-            if (verboseOption.isVerbose()) {
-                getRdOutput().output(response.getSucceeded().stream()
-                        .map(BulkToggleJobScheduleResponse.Result::toString)
-                        .collect(Collectors.toList()));
-            }
-            return 0;
-        }
-        getRdOutput().error(String.format("Failed to disable %d Jobs%n", response.getFailed().size()));
-        getRdOutput().output(response.getFailed().stream()
-                .map(BulkToggleJobScheduleResponse.Result::toString)
-                .collect(Collectors.toList()));
-        return 1;
+        return bulkToggle(
+                options,
+                verboseOption,
+                "unschedule",
+                "unscheduling",
+                "unscheduled",
+                RundeckApi::bulkDisableJobSchedule
+        );
     }
 
 
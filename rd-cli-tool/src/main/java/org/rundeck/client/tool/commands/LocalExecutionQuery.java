@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import org.rundeck.client.api.model.Execution;
+import org.rundeck.client.api.model.JobItem;
+import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.options.QueryOptions;
+import org.rundeck.client.tool.util.ExecutionStore;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the execution query options to executions in a local {@link ExecutionStore}. The time and job ID filters
+ * are applied to the store index, and the others to the stored executions. As for the server query, the time filters
+ * apply to the end time, so running executions do not match them.
+ */
+class LocalExecutionQuery {
+    private static final Pattern PERIOD = Pattern.compile("^(\\d+)([hnsdwmy])$");
+    private final QueryOptions options;
+    private final List<String> jobIdList;
+    private final long now;
+
+    LocalExecutionQuery(final QueryOptions options, final List<String> jobIdList, final long now) {
+        this.options = options;
+        this.jobIdList = jobIdList;
+        this.now = now;
+    }
+
+    /**
+     * @param period period such as "3m", using h,n,s,d,w,m,y (hour,minute,second,day,week,month,year)
+     * @return period in ms
+     * @throws InputError if the period is not valid
+     */
+    static long periodMillis(final String period) throws InputError {
+        Matcher matcher = PERIOD.matcher(period.trim());
+        if (!matcher.matches()) {
+            throw new InputError(String.format(
+                    "Invalid time period: %s, expected a number followed by one of: h,n,s,d,w,m,y",
+                    period
+            ));
+        }
+        long count = Long.parseLong(matcher.group(1));
+        switch (matcher.group(2)) {
+            case "h":
+                return TimeUnit.HOURS.toMillis(count);
+            case "n":
+                return TimeUnit.MINUTES.toMillis(count);
+            case "s":
+                return TimeUnit.SECONDS.toMillis(count);
+            case "d":
+                return TimeUnit.DAYS.toMillis(count);
+            case "w":
+                return TimeUnit.DAYS.toMillis(count * 7);
+            case "m":
+                return TimeUnit.DAYS.toMillis(count * 30);
+            default:
+                return TimeUnit.DAYS.toMillis(count * 365);
+        }
+    }
+
+    /**
+     * @return filter for the end time and job ID of index entries
+     * @throws InputError if a time filter is not valid
+     */
+    Predicate<ExecutionStore.Entry> indexFilter() throws InputError {
+        Predicate<ExecutionStore.Entry> filter = entry -> true;
+        if (options.isRecentFilter()) {
+            long after = now - periodMillis(options.getRecentFilter());
+            filter = filter.and(entry -> entry.getEnded() > 0 && entry.getEnded() >= after);
+        }
+        if (options.isOlderFilter()) {
+            long before = now - periodMillis(options.getOlderFilter());
+            filter = filter.and(entry -> entry.getEnded() > 0 && entry.getEnded() < before);
+        }
+        if (null != jobIdList && !jobIdList.isEmpty()) {
+            filter = filter.and(entry -> jobIdList.contains(entry.getJobId()));
+        }
+        if (null != options.getExcludeJobIdList() && !options.getExcludeJobIdList().isEmpty()) {
+            List<String> exclude = options.getExcludeJobIdList();
+            filter = filter.and(entry -> !exclude.contains(entry.getJobId()));
+        }
+        if (options.isStatusFilter()) {
+            String status = options.getStatusFilter();
+            filter = filter.and(entry -> status.equals(entry.getStatus()));
+        }
+        if (options.isAdhoc()) {
+            filter = filter.and(entry -> null == entry.getJobId());
+        } else if (options.isJob()) {
+            filter = filter.and(entry -> null != entry.getJobId());
+        }
+        return filter;
+    }
+
+    /**
+     * @return filter for the user, group and job name options
+     */
+    Predicate<Execution> executionFilter() {
+        Predicate<Execution> filter = execution -> true;
+        if (options.isUserFilter()) {
+            String user = options.getUserFilter();
+            filter = filter.and(execution -> user.equals(execution.getUser()));
+        }
+        if (options.isGroupPath()) {
+            String group = options.getGroupPath();
+            filter = filter.and(execution -> groupMatches(execution.getJob(), group));
+        }
+        if (options.isExcludeGroupPath()) {
+            String group = options.getExcludeGroupPath();
+            filter = filter.and(execution -> !groupMatches(execution.getJob(), group));
+        }
+        if (options.isGroupPathExact()) {
+            String group = options.getGroupPathExact();
+            filter = filter.and(execution -> groupEquals(execution.getJob(), group));
+        }
+        if (options.isExcludeGroupPathExact()) {
+            String group = options.getExcludeGroupPathExact();
+            filter = filter.and(execution -> !groupEquals(execution.getJob(), group));
+        }
+        if (options.isJobFilter()) {
+            String name = options.getJobFilter().toLowerCase(Locale.ROOT);
+            filter = filter.and(execution -> nameContains(execution.getJob(), name));
+        }
+        if (options.isExcludeJobFilter()) {
+            String name = options.getExcludeJobFilter().toLowerCase(Locale.ROOT);
+            filter = filter.and(execution -> !nameContains(execution.getJob(), name));
+        }
+        if (options.isJobExactFilter()) {
+            String name = options.getJobExactFilter();
+            filter = filter.and(execution -> null != execution.getJob()
+                                             && name.equals(execution.getJob().getName()));
+        }
+        if (options.isExcludeJobExactFilter()) {
+            String name = options.getExcludeJobExactFilter();
+            filter = filter.and(execution -> null == execution.getJob()
+                                             || !name.equals(execution.getJob().getName()));
+        }
+        if (null != options.getJobList() && !options.getJobList().isEmpty()) {
+            List<String> jobs = options.getJobList();
+            filter = filter.and(execution -> jobs.contains(fullName(execution.getJob())));
+        }
+        if (null != options.getExcludeJobList() && !options.getExcludeJobList().isEmpty()) {
+            List<String> jobs = options.getExcludeJobList();
+            filter = filter.and(execution -> !jobs.contains(fullName(execution.getJob())));
+        }
+        return filter;
+    }
+
+    /**
+     * @return true if the job group is the group or a subgroup, or the job has no group and the group is "-"
+     */
+    static boolean groupMatches(final JobItem job, final String group) {
+        if (null == job) {
+            return false;
+        }
+        String jobGroup = job.getGroup();
+        if ("-".equals(group)) {
+            return null == jobGroup || jobGroup.isEmpty();
+        }
+        return null != jobGroup && (jobGroup.equals(group) || jobGroup.startsWith(group + "/"));
+    }
+
+    private static boolean groupEquals(final JobItem job, final String group) {
+        if (null == job) {
+            return false;
+        }
+        String jobGroup = null != job.getGroup() ? job.getGroup() : "";
+        return jobGroup.equals("-".equals(group) ? "" : group);
+    }
+
+    private static boolean nameContains(final JobItem job, final String lowerName) {
+        return null != job && null != job.getName() && job.getName().toLowerCase(Locale.ROOT).contains(lowerName);
+    }
+
+    private static String fullName(final JobItem job) {
+        if (null == job) {
+            return null;
+        }
+        return null != job.getGroup() && !job.getGroup().isEmpty() ? job.getGroup() + "/" + job.getName()
+                                                                   : job.getName();
+    }
+}
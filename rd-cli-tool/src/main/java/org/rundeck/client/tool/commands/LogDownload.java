@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import org.rundeck.client.api.model.ExecLog;
+import org.rundeck.client.api.model.ExecOutput;
+import org.rundeck.client.api.model.LogDecompactor;
+import org.rundeck.client.tool.CommandOutput;
+import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.extension.RdTool;
+import org.rundeck.client.tool.util.AdaptivePoll;
+import org.rundeck.client.tool.util.RawLogSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+
+/**
+ * Downloads the full log output of executions to one file per execution, using a fixed number of worker threads.
+ * Output is written to a ".part" file which is renamed when the log is complete, so existing files are skipped.
+ */
+public class LogDownload {
+    public static final String PART_SUFFIX = ".part";
+    private final RdTool rdTool;
+    private final CommandOutput out;
+    private final Path dir;
+    private final boolean gzip;
+    private final int maxLines;
+    private final Function<ExecLog, String> formatter;
+    private final LongPredicate waitFunc;
+    private final ExecutorService executor;
+    private final AtomicLong downloaded = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final long start = System.nanoTime();
+
+    /**
+     * @param rdTool    tool
+     * @param out       output
+     * @param dir       destination dir
+     * @param workers   number of concurrent downloads
+     * @param gzip      if true, compress with gzip
+     * @param maxLines  max log entries to request at once
+     * @param formatter log formatter, or null to write the log text
+     * @param waitFunc  function for waiting the given ms, return false to halt
+     */
+    public LogDownload(
+            final RdTool rdTool,
+            final CommandOutput out,
+            final Path dir,
+            final int workers,
+            final boolean gzip,
+            final int maxLines,
+            final Function<ExecLog, String> formatter,
+            final LongPredicate waitFunc
+    )
+    {
+        this.rdTool = rdTool;
+        this.out = out;
+        this.dir = dir;
+        this.gzip = gzip;
+        this.maxLines = maxLines;
+        this.formatter = formatter;
+        this.waitFunc = waitFunc;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workers));
+    }
+
+    /**
+     * @param id execution ID
+     * @return destination file for the execution
+     */
+    public Path target(final String id) {
+        return dir.resolve(id + (gzip ? ".log.gz" : ".log"));
+    }
+
+    /**
+     * Download the execution log unless the file already exists
+     *
+     * @param id execution ID
+     */
+    public void submit(final String id) {
+        if (Files.exists(target(id))) {
+            skipped.incrementAndGet();
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                download(id);
+            } catch (IOException | InputError | RuntimeException e) {
+                failed.incrementAndGet();
+                out.error(String.format("[%s] Failed to download output: %s", id, e.getMessage()));
+            }
+        });
+    }
+
+    private void download(final String id) throws IOException, InputError {
+        Path target = target(id);
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        ExecOutput[] last = new ExecOutput[1];
+        RawLogSink sink = RawLogSink.file(part, gzip, formatter);
+        try (sink) {
+            ExecOutput output = Executions.startFollowOutput(rdTool, maxLines, true, id, 0, true);
+            Executions.followOutput(
+                    rdTool.getClient(),
+                    output,
+                    id,
+                    AdaptivePoll.adaptive(AdaptivePoll.DEFAULT_MIN_INTERVAL, AdaptivePoll.DEFAULT_MAX_INTERVAL, maxLines),
+                    true,
+                    new LogDecompactor(),
+                    sink,
+                    page -> last[0] = page,
+                    waitFunc
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (null == last[0] || !last[0].execCompleted || !last[0].completed) {
+            throw new IllegalStateException("output is incomplete");
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        downloaded.incrementAndGet();
+        bytes.addAndGet(sink.getBytes());
+        out.output(target.toString());
+    }
+
+    /**
+     * Wait for all downloads to finish
+     *
+     * @throws InterruptedException if interrupted
+     */
+    public void finish() throws InterruptedException {
+        executor.shutdown();
+        while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            //wait
+        }
+    }
+
+    public long getDownloaded() {
+        return downloaded.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * @return total bytes of log output written
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @return summary of the number of executions and throughput
+     */
+    public String summary() {
+        double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+        double mb = bytes.get() / (1024.0 * 1024.0);
+        return String.format(
+                "Downloaded %d, skipped %d, failed %d executions: %.1f MB in %.1fs, %.1f MB/s",
+                downloaded.get(),
+                skipped.get(),
+                failed.get(),
+                mb,
+                seconds,
+                mb / seconds
+        );
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands;
+
+import org.rundeck.client.api.RundeckApi;
+import org.rundeck.client.api.model.ExecLog;
+import org.rundeck.client.api.model.ExecOutput;
+import org.rundeck.client.api.model.LogDecompactor;
+import org.rundeck.client.tool.CommandOutput;
+import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.extension.RdTool;
+import org.rundeck.client.tool.util.AdaptivePoll;
+import org.rundeck.client.util.Futures;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Follows the output of several executions in a single loop. Each execution has its own {@link AdaptivePoll}, the
+ * requests which are due are sent concurrently, and each log line is prefixed with the execution ID.
+ */
+public class MultiFollow {
+    public static final String STATUS_INCOMPLETE = "incomplete";
+    private final RdTool rdTool;
+    private final CommandOutput out;
+    private final Function<ExecLog, String> formatter;
+    private final boolean progress;
+    private final boolean quiet;
+    private final Supplier<AdaptivePoll> pollFactory;
+    private final LongPredicate waitFunc;
+
+    /**
+     * @param rdTool      tool
+     * @param out         output
+     * @param formatter   log formatter, or null
+     * @param progress    show progress only
+     * @param quiet       no log output
+     * @param pollFactory creates the poll for each execution
+     * @param waitFunc    function for waiting the given ms, return false to halt
+     */
+    public MultiFollow(
+            final RdTool rdTool,
+            final CommandOutput out,
+            final Function<ExecLog, String> formatter,
+            final boolean progress,
+            final boolean quiet,
+            final Supplier<AdaptivePoll> pollFactory,
+            final LongPredicate waitFunc
+    )
+    {
+        this.rdTool = rdTool;
+        this.out = out;
+        this.formatter = formatter;
+        this.progress = progress;
+        this.quiet = quiet;
+        this.pollFactory = pollFactory;
+        this.waitFunc = waitFunc;
+    }
+
+    static class Followed {
+        final String id;
+        final AdaptivePoll poll;
+        final LogDecompactor decompactor = new LogDecompactor();
+        ExecOutput output;
+        boolean received;
+        long previousOffset;
+        long due;
+        boolean done;
+        String status;
+
+        Followed(final String id, final AdaptivePoll poll) {
+            this.id = id;
+            this.poll = poll;
+        }
+    }
+
+    /**
+     * Follow the executions until all are complete or interrupted
+     *
+     * @param ids     execution IDs
+     * @param restart if true, output from the beginning, otherwise the last lines
+     * @param tail    number of lines to output from the end if not restarting
+     * @return final status of each execution, "incomplete" if following was interrupted, or the error message if
+     * the output could not be retrieved
+     * @throws InputError  on error
+     * @throws IOException on error
+     */
+    public Map<String, String> follow(final List<String> ids, final boolean restart, final long tail)
+            throws InputError, IOException
+    {
+        List<Followed> all = new ArrayList<>();
+        for (String id : ids) {
+            all.add(new Followed(id, pollFactory.get()));
+        }
+        fetch(all, f -> restart
+                        ? api -> api.getOutput(f.id, 0L, 0L, (long) f.poll.getPageSize(), true)
+                        : api -> api.getOutput(f.id, tail));
+        while (true) {
+            long now = System.currentTimeMillis();
+            List<Followed> pending = new ArrayList<>();
+            for (Followed f : all) {
+                if (f.received) {
+                    receive(f, now);
+                }
+                if (!f.done) {
+                    pending.add(f);
+                }
+            }
+            if (pending.isEmpty()) {
+                break;
+            }
+            long due = pending.stream().mapToLong(f -> f.due).min().orElse(now);
+            if (!waitFunc.test(Math.max(0, due - System.currentTimeMillis()))) {
+                break;
+            }
+            long time = System.currentTimeMillis();
+            List<Followed> ready = new ArrayList<>();
+            for (Followed f : pending) {
+                if (f.due <= time) {
+                    ready.add(f);
+                }
+            }
+            fetch(ready, f -> api -> api.getOutput(
+                    f.id,
+                    f.output.offset,
+                    f.output.lastModified,
+                    (long) f.poll.getPageSize(),
+                    true
+            ));
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        for (Followed f : all) {
+            result.put(f.id, null != f.status && f.done ? f.status : STATUS_INCOMPLETE);
+        }
+        return result;
+    }
+
+    /**
+     * Request output for each execution concurrently, and wait for all responses
+     */
+    private void fetch(final List<Followed> followed, final Function<Followed, Function<RundeckApi, Call<ExecOutput>>> call)
+            throws InputError, IOException
+    {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Followed f : followed) {
+            futures.add(rdTool.apiCallAsync(call.apply(f)).handle((output, error) -> {
+                if (null != error) {
+                    Throwable cause = Futures.unwrap(error);
+                    f.done = true;
+                    f.status = "error: " + cause.getMessage();
+                    out.error(String.format("[%s] Failed to get output: %s", f.id, cause.getMessage()));
+                } else {
+                    if (null != f.output) {
+                        f.previousOffset = f.output.offset;
+                    }
+                    f.output = output;
+                    f.received = true;
+                }
+                return null;
+            }));
+        }
+        RdTool.await(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
+    }
+
+    private void receive(final Followed f, final long now) {
+        f.received = false;
+        List<ExecLog> entries = f.decompactor.decompact(f.output);
+        if (progress && null != entries && !entries.isEmpty()) {
+            out.output(".");
+        } else if (!quiet && null != entries) {
+            String prefix = "[" + f.id + "] ";
+            for (ExecLog entry : entries) {
+                String outval = prefix + (formatter != null ? formatter.apply(entry) : entry.log);
+                if ("WARN".equals(entry.level)) {
+                    out.warning(outval);
+                } else if ("ERROR".equals(entry.level)) {
+                    out.error(outval);
+                } else {
+                    out.output(outval);
+                }
+            }
+        }
+        f.status = f.output.execState;
+        f.done = f.output.execCompleted && f.output.completed;
+        if (!f.done) {
+            f.due = now + f.poll.next(f.previousOffset, f.output);
+        }
+        //only the offset is needed for the next request
+        f.output.entries = null;
+    }
+}
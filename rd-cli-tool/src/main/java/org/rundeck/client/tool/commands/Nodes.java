@@ -18,6 +18,7 @@ package org.rundeck.client.tool.commands;
 
 
 import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.Main;
 import org.rundeck.client.api.model.ProjectNode;
 import org.rundeck.client.tool.extension.BaseCommand;
 import org.rundeck.client.tool.options.NodeFilterOptions;
@@ -27,9 +28,11 @@ import org.rundeck.client.util.Format;
 import picocli.CommandLine;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
@@ -48,13 +51,6 @@ public class Nodes extends BaseCommand {
                      @CommandLine.Mixin
                      NodeFilterOptions nodeFilterOptions) throws IOException, InputError {
         String project = getRdTool().projectOrEnv(options);
-        Map<String, ProjectNode> body = apiCall(api -> api.listNodes(project, nodeFilterOptions.filterString()));
-        if (!nodeOutputFormatOption.isOutputFormat()) {
-            getRdOutput().info(String.format("%d Nodes%s in project %s:%n", body.size(),
-                    nodeFilterOptions.isFilter() ? " matching filter" : "",
-                    project
-            ));
-        }
         Function<ProjectNode, ?> field;
         if (nodeOutputFormatOption.isOutputFormat()) {
             field = Format.formatter(nodeOutputFormatOption.getOutputFormat(), ProjectNode::getAttributes, "%", "");
@@ -63,6 +59,28 @@ public class Nodes extends BaseCommand {
         } else {
             field = ProjectNode::getName;
         }
+        if (!nodeOutputFormatOption.isVerbose() && getRdTool().getAppConfig().getBool(Main.RD_STREAMING, false)) {
+            long count = 0;
+            try (Stream<ProjectNode> nodes = apiCall(api -> api.streamNodes(project, nodeFilterOptions.filterString()))) {
+                for (Iterator<ProjectNode> iterator = nodes.iterator(); iterator.hasNext(); count++) {
+                    getRdOutput().output(field.apply(iterator.next()));
+                }
+            }
+            if (!nodeOutputFormatOption.isOutputFormat()) {
+                getRdOutput().info(String.format("%d Nodes%s in project %s", count,
+                        nodeFilterOptions.isFilter() ? " matching filter" : "",
+                        project
+                ));
+            }
+            return;
+        }
+        Map<String, ProjectNode> body = apiCall(api -> api.listNodes(project, nodeFilterOptions.filterString()));
+        if (!nodeOutputFormatOption.isOutputFormat()) {
+            getRdOutput().info(String.format("%d Nodes%s in project %s:%n", body.size(),
+                    nodeFilterOptions.isFilter() ? " matching filter" : "",
+                    project
+            ));
+        }
         getRdOutput().output(body.values().stream().map(field).collect(Collectors.toList()));
     }
 }
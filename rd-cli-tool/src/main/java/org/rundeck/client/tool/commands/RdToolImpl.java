@@ -26,11 +26,13 @@ import org.rundeck.client.tool.extension.RdOutput;
 import org.rundeck.client.tool.extension.RdTool;
 import org.rundeck.client.util.Client;
 import org.rundeck.client.util.ConfigSource;
+import org.rundeck.client.util.Futures;
 import org.rundeck.client.util.RdClientConfig;
 import org.rundeck.client.util.ServiceClient;
 import retrofit2.Call;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
@@ -43,6 +45,7 @@ public class RdToolImpl
         implements RdTool
 {
     @Getter private final RdApp rdApp;
+    private ServiceClient<RundeckApi> downgradedClient;
 
     public RdToolImpl(final RdApp rdApp) {
         this.rdApp = rdApp;
@@ -115,6 +118,50 @@ public class RdToolImpl
         }
     }
 
+    /**
+     * Perform a downgradable API call asynchronously
+     *
+     * @param func function
+     * @param <T>  result type
+     * @return future result
+     */
+    @Override
+    public <T> CompletableFuture<T> apiCallAsync(final Function<RundeckApi, Call<T>> func) {
+        ServiceClient<RundeckApi> client;
+        try {
+            client = rdApp.getClient();
+        } catch (InputError e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return client.apiCallDowngradableAsync(func).exceptionallyCompose(e -> {
+            Throwable cause = Futures.unwrap(e);
+            if (!(cause instanceof Client.UnsupportedVersionDowngrade)) {
+                return CompletableFuture.failedFuture(cause);
+            }
+            try {
+                return downgradedClient((Client.UnsupportedVersionDowngrade) cause).apiCallAsync(func);
+            } catch (InputError inputError) {
+                return CompletableFuture.failedFuture(inputError);
+            }
+        });
+    }
+
+    /**
+     * Downgrade to the supported version once for concurrent calls
+     */
+    private synchronized ServiceClient<RundeckApi> downgradedClient(final Client.UnsupportedVersionDowngrade downgrade)
+            throws InputError
+    {
+        if (null == downgradedClient || downgradedClient.getApiVersion() != downgrade.getSupportedVersion()) {
+            rdApp.versionDowngradeWarning(
+                    downgrade.getRequestedVersion(),
+                    downgrade.getSupportedVersion()
+            );
+            downgradedClient = rdApp.getClient(downgrade.getSupportedVersion());
+        }
+        return downgradedClient;
+    }
+
     public <T> ServiceClient.WithErrorResponse<T> apiWithErrorResponseDowngradable(
             final Function<RundeckApi,
                     Call<T>> func
@@ -129,7 +129,15 @@ public class Retry extends BaseCommand implements Callable<Integer> {
         }
 
         request.setOptions(jobopts);
-        execution = apiCall(api -> api.retryJob(jobId, execId, request));
+        execution = Run.jobApiCall(
+                options,
+                getRdOutput(),
+                getRdTool(),
+                () -> getRdTool().projectOrEnv(options),
+                jobId,
+                (api, id) -> api.retryJob(id, execId, request)
+        );
+        Run.checkStartedJob(options, execution, getRdOutput(), getRdTool(), () -> getRdTool().projectOrEnv(options));
 
         String started = "started";
         getRdOutput().info(String.format("Execution %s: %s%n", started, execution.toBasicString()));
@@ -16,25 +16,32 @@
 
 package org.rundeck.client.tool.commands;
 
+import org.rundeck.client.api.RequestFailed;
+import org.rundeck.client.api.RundeckApi;
 import org.rundeck.client.api.model.Execution;
 import org.rundeck.client.api.model.JobFileUploadResult;
 import org.rundeck.client.api.model.JobItem;
 import org.rundeck.client.api.model.JobRun;
 import org.rundeck.client.tool.CommandOutput;
 import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.Main;
 import org.rundeck.client.tool.commands.jobs.Files;
 import org.rundeck.client.tool.extension.BaseCommand;
 import org.rundeck.client.tool.extension.RdTool;
 import org.rundeck.client.tool.options.*;
+import org.rundeck.client.tool.util.JobIndex;
 import org.rundeck.client.util.Format;
 import org.rundeck.client.util.Quoting;
+import org.rundeck.client.util.RdClientConfig;
 import picocli.CommandLine;
+import retrofit2.Call;
 
 import java.io.File;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -175,16 +182,31 @@ public class Run extends BaseCommand implements Callable<Integer> {
                         Format.date(runat, "yyyy-MM-dd'T'HH:mm:ssXX")
                 ));
             }
-            execution = apiCall(api -> api.runJob(jobId, request));
+            execution = jobApiCall(
+                    options,
+                    getRdOutput(),
+                    getRdTool(),
+                    () -> getRdTool().projectOrEnv(options),
+                    jobId,
+                    (api, id) -> api.runJob(id, request)
+            );
         } else {
-            execution = apiCall(api -> api.runJob(
+            execution = jobApiCall(
+                    options,
+                    getRdOutput(),
+                    getRdTool(),
+                    () -> getRdTool().projectOrEnv(options),
                     jobId,
-                    Quoting.joinStringQuoted(options.getCommandString()),
-                    loglevel,
-                    nodeFilterOptions.getFilter(),
-                    options.getUser()
-            ));
+                    (api, id) -> api.runJob(
+                            id,
+                            Quoting.joinStringQuoted(options.getCommandString()),
+                            loglevel,
+                            nodeFilterOptions.getFilter(),
+                            options.getUser()
+                    )
+            );
         }
+        checkStartedJob(options, execution, getRdOutput(), getRdTool(), () -> getRdTool().projectOrEnv(options));
         String started = runat != null ? "scheduled" : "started";
 
         if(!followOptions.isFollow()){
@@ -215,7 +237,7 @@ public class Run extends BaseCommand implements Callable<Integer> {
 
     /**
      * If job ID is supplied, use that, otherwise query for matching project/jobname and return found ID, or null if not
-     * found
+     * found. If the job index is enabled, the ID is found in the local job index when possible.
      *
      * @param options ident options
      * @param out     output
@@ -239,6 +261,30 @@ public class Run extends BaseCommand implements Callable<Integer> {
         }
         String proj = project.get();
         String job = options.getJob();
+        if (JobIndex.isEnabled(rdTool.getAppConfig())) {
+            String[] parts = Jobs.splitJobNameParts(job);
+            String jobId = openJobIndex(rdTool, proj).lookup(parts[0], parts[1]);
+            if (null != jobId) {
+                out.info(String.format("Found matching job: %s %s%n", jobId, job));
+                return jobId;
+            }
+        }
+        return findJobId(proj, job, out, rdTool);
+    }
+
+    /**
+     * Query the server for a job by group and name
+     *
+     * @return job ID, or null if there is not exactly one match
+     */
+    private static String findJobId(
+            final String proj,
+            final String job,
+            final CommandOutput out,
+            final RdTool rdTool
+    )
+            throws InputError, IOException
+    {
         String[] parts = Jobs.splitJobNameParts(job);
         List<JobItem> jobItems = rdTool.apiCallDowngradable(api -> api.listJobs(
                 proj,
@@ -267,6 +313,105 @@ public class Run extends BaseCommand implements Callable<Integer> {
         }
     }
 
+    /**
+     * Open the local job index for the project, and refresh it from the server if it is older than the TTL
+     *
+     * @param rdTool  rdTool
+     * @param project project
+     * @return index
+     */
+    private static JobIndex openJobIndex(final RdTool rdTool, final String project)
+            throws InputError, IOException
+    {
+        RdClientConfig config = rdTool.getAppConfig();
+        JobIndex index = JobIndex.load(JobIndex.file(config, config.getString(Main.RD_URL, null), project));
+        long now = System.currentTimeMillis();
+        if (!index.isFresh(now, JobIndex.ttlMillis(config))) {
+            //listJobs responses are revalidated with the server ETag when the HTTP cache is enabled
+            index.refresh(rdTool.apiCallDowngradable(api -> api.listJobs(project, null, null, null, null)), now);
+        }
+        return index;
+    }
+
+    /**
+     * Call the API for the job. If the job ID was found in the local job index and the job is not found, the index is
+     * removed and the call is sent again with the ID found on the server.
+     *
+     * @param options ident options
+     * @param out     output
+     * @param rdTool  rdTool
+     * @param project project name
+     * @param jobId   job ID from {@link #getJobIdFromOpts(JobIdentOptions, CommandOutput, RdTool, GetInput)}
+     * @param func    API call for a job ID
+     * @return result
+     */
+    public static <T> T jobApiCall(
+            final JobIdentOptions options,
+            final CommandOutput out,
+            final RdTool rdTool,
+            final GetInput<String> project,
+            final String jobId,
+            final BiFunction<RundeckApi, String, Call<T>> func
+    )
+            throws InputError, IOException
+    {
+        try {
+            return rdTool.apiCall(api -> func.apply(api, jobId));
+        } catch (RequestFailed e) {
+            if (e.getStatusCode() != 404 || options.isId() || !JobIndex.isEnabled(rdTool.getAppConfig())) {
+                throw e;
+            }
+            String proj = project.get();
+            RdClientConfig config = rdTool.getAppConfig();
+            JobIndex.load(JobIndex.file(config, config.getString(Main.RD_URL, null), proj)).delete();
+            out.warning(String.format("Job %s was not found, the local job index was removed", jobId));
+            String found = findJobId(proj, options.getJob(), out, rdTool);
+            if (null == found || found.equals(jobId)) {
+                throw e;
+            }
+            return rdTool.apiCall(api -> func.apply(api, found));
+        }
+    }
+
+    /**
+     * Warn if the job of an execution started by name is not the requested job, which can happen if the job ID was
+     * found in a stale local job index, and remove the index so that it is refreshed for the next command.
+     *
+     * @param options   ident options
+     * @param execution execution started
+     * @param out       output
+     * @param rdTool    rdTool
+     * @param project   project name
+     */
+    public static void checkStartedJob(
+            final JobIdentOptions options,
+            final Execution execution,
+            final CommandOutput out,
+            final RdTool rdTool,
+            final GetInput<String> project
+    )
+            throws IOException, InputError
+    {
+        if (options.isId() || !JobIndex.isEnabled(rdTool.getAppConfig()) || null == execution.getJob()) {
+            return;
+        }
+        String[] parts = Jobs.splitJobNameParts(options.getJob());
+        JobItem job = execution.getJob();
+        String group = null != job.getGroup() && !job.getGroup().isEmpty() ? job.getGroup() : null;
+        if (Objects.equals(parts[0], group) && Objects.equals(parts[1], job.getName())) {
+            return;
+        }
+        out.warning(String.format(
+                "Started Job %s%s (%s) does not match the requested Job %s, the local job index was removed",
+                null != group ? group + "/" : "",
+                job.getName(),
+                job.getId(),
+                options.getJob()
+        ));
+        RdClientConfig config = rdTool.getAppConfig();
+        JobIndex.load(JobIndex.file(config, config.getString(Main.RD_URL, null), project.get())).delete();
+    }
+
     private Date parseDelayTime(final String delayString) {
         long delayms = System.currentTimeMillis();
         Pattern p = Pattern.compile("(?<digits>\\d+)(?<unit>[smhdwMY])\\s*");
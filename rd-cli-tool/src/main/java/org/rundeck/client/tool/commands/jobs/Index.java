@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.client.tool.commands.jobs;
+
+import org.rundeck.client.api.model.JobItem;
+import org.rundeck.client.tool.InputError;
+import org.rundeck.client.tool.Main;
+import org.rundeck.client.tool.extension.BaseCommand;
+import org.rundeck.client.tool.options.ProjectNameOptions;
+import org.rundeck.client.tool.util.JobIndex;
+import org.rundeck.client.util.Format;
+import org.rundeck.client.util.RdClientConfig;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manage the local job index used to find jobs by name
+ */
+@CommandLine.Command(description = "Manage the local index of Job IDs by name, used by run and retry when "
+                                   + JobIndex.RD_JOB_INDEX + "=true. The index is refreshed when older than "
+                                   + JobIndex.RD_JOB_INDEX_TTL + " seconds. The Job list is revalidated with the "
+                                   + "server only when the HTTP cache is enabled with RD_HTTP_CACHE_DIR.",
+        name = "index")
+public class Index extends BaseCommand {
+
+    private JobIndex load(final String project) {
+        RdClientConfig config = getRdTool().getAppConfig();
+        return JobIndex.load(JobIndex.file(config, config.getString(Main.RD_URL, null), project));
+    }
+
+    @CommandLine.Command(description = "Refresh the local job index for a project from the server")
+    public void refresh(@CommandLine.Mixin ProjectNameOptions projectNameOptions) throws IOException, InputError {
+        String project = getRdTool().projectOrEnv(projectNameOptions);
+        List<JobItem> jobs = apiCall(api -> api.listJobs(project, null, null, null, null));
+        JobIndex index = load(project);
+        index.refresh(jobs, System.currentTimeMillis());
+        getRdOutput().info(String.format("Indexed %d Jobs in project %s", jobs.size(), project));
+    }
+
+    @CommandLine.Command(description = "Show the local job index for a project")
+    public void show(@CommandLine.Mixin ProjectNameOptions projectNameOptions) throws InputError {
+        String project = getRdTool().projectOrEnv(projectNameOptions);
+        JobIndex index = load(project);
+        if (null == index.getRefreshed()) {
+            throw new InputError(String.format(
+                    "The job index for project %s is empty, run: rd jobs index refresh -p %s",
+                    project,
+                    project
+            ));
+        }
+        RdClientConfig config = getRdTool().getAppConfig();
+        boolean fresh = index.isFresh(System.currentTimeMillis(), JobIndex.ttlMillis(config));
+        getRdOutput().info(String.format(
+                "Job index for project %s, refreshed at %s (%s)",
+                project,
+                Format.date(new Date(index.getRefreshed()), "yyyy-MM-dd'T'HH:mm:ssXX"),
+                fresh ? "current" : "expired"
+        ));
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, List<String>> job : index.getJobs().entrySet()) {
+            lines.add(String.format("%s %s", String.join(",", job.getValue()), job.getKey()));
+        }
+        getRdOutput().output(lines);
+    }
+}
@@ -10,4 +10,17 @@ public class BulkJobActionOptions extends JobListOptions {
   @CommandLine.Option(names={"--confirm","-y"}, description = "Force confirmation of request.")
   boolean confirm;
 
+  @CommandLine.Option(names = {"--batch-size"},
+          description = "Send the job IDs in batches of this size, instead of one request. Use for many jobs.")
+  Integer batchSize;
+
+  public boolean isBatchSize() {
+    return batchSize != null && batchSize > 0;
+  }
+
+  @CommandLine.Option(names = {"--parallel"},
+          defaultValue = "2",
+          description = "Max number of batch requests to send at once, with --batch-size. Default: 2")
+  int parallel = 2;
+
 }
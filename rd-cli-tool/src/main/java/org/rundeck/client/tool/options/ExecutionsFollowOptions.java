@@ -20,17 +20,70 @@ import lombok.Getter;
 import lombok.Setter;
 import picocli.CommandLine;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter @Setter
 public class ExecutionsFollowOptions extends FollowOptions {
 
-    @CommandLine.Option(names = {"-e", "--eid"}, description = "Execution ID", required = true)
+    @CommandLine.Option(names = {"-e", "--eid"}, description = "Execution ID")
     String id;
 
+    @CommandLine.Parameters(paramLabel = "ID",
+            description = "More execution IDs to follow together with the -e execution, with each log line " +
+                    "prefixed by the execution ID.")
+    List<String> ids;
+
+    @CommandLine.Option(names = {"--query"},
+            description = "Follow all running executions in the project.")
+    boolean query;
+
     @CommandLine.Option(names = {"-%", "--outformat"},
             description = "Output format specifier for execution logs. You can use \"%%key\" where key is one of:" +
                     "time,level,log,user,command,node. E.g. \"%%user@%%node/%%level: %%log\"")
     String outputFormat;
 
+    @CommandLine.Option(names = {"--output-file"},
+            description = "Write log output to the file without formatting, replacing any existing content.")
+    File outputFile;
+
+    @CommandLine.Option(names = {"--raw"},
+            description = "Write log output to stdout without formatting, in large writes. Use for executions with " +
+                    "a lot of output.")
+    boolean raw;
+
+    @CommandLine.Option(names = {"--gzip"},
+            description = "Compress log output with gzip when using --output-file or --raw.")
+    boolean gzip;
+
+    @CommandLine.Option(names = {"--checkpoint"},
+            description = "File to store the log offset reached after each page of output. If the file exists, " +
+                    "output is resumed from the stored offset, and --output-file is appended to.")
+    File checkpoint;
+
+    public boolean isCheckpoint() {
+        return checkpoint != null;
+    }
+
+    public boolean isOutputFile() {
+        return outputFile != null;
+    }
+
+    /**
+     * @return the -e execution ID if set, followed by the other execution IDs
+     */
+    public List<String> getExecutionIds() {
+        List<String> all = new ArrayList<>();
+        if (null != id) {
+            all.add(id);
+        }
+        if (null != ids) {
+            all.addAll(ids);
+        }
+        return all;
+    }
+
     public boolean isOutputFormat() {
         return outputFormat != null;
     }
@@ -18,6 +18,7 @@ package org.rundeck.client.tool.options;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.rundeck.client.tool.util.AdaptivePoll;
 import picocli.CommandLine;
 
 @Getter @Setter
@@ -38,4 +39,20 @@ public class FollowOptions extends RunOptions {
             description = "Number of lines to tail from the end, default: 1")
     long tail;
 
+    @CommandLine.Option(names = {"--poll-min"},
+            defaultValue = "250",
+            description = "Minimum time in milliseconds between requests when following output, default: 250")
+    long pollMin = AdaptivePoll.DEFAULT_MIN_INTERVAL;
+
+    @CommandLine.Option(names = {"--poll-max"},
+            defaultValue = "5000",
+            description = "Maximum time in milliseconds between requests when following output while no new output "
+                          + "is received, default: 5000")
+    long pollMax = AdaptivePoll.DEFAULT_MAX_INTERVAL;
+
+    @CommandLine.Option(names = {"--max-lines"},
+            defaultValue = "500",
+            description = "Maximum number of log lines to request at once when following output, default: 500")
+    int maxLines = AdaptivePoll.DEFAULT_MAX_PAGE_SIZE;
+
 }
@@ -20,6 +20,8 @@ import lombok.Getter;
 import lombok.Setter;
 import picocli.CommandLine;
 
+import java.io.File;
+
 @Getter @Setter
 public class JobLoadOptions {
 
@@ -37,5 +39,33 @@ public class JobLoadOptions {
     @CommandLine.Option(names = {"-r", "--remove-uuids"}, description = "Remove UUIDs when uploading")
     boolean removeUuids;
 
+    @CommandLine.Option(names = {"--dir"},
+            description = "Load all Job definition files in the directory and its subdirectories, instead of -f")
+    File dir;
+
+    public boolean isDir() {
+        return dir != null;
+    }
+
+    @CommandLine.Option(names = {"--glob"},
+            description = "File name pattern for --dir, e.g. \"*.yaml\". Default: files with the extension of the " +
+                          "format")
+    String glob;
+
+    public boolean isGlob() {
+        return glob != null;
+    }
+
+    @CommandLine.Option(names = {"--batch-bytes"},
+            defaultValue = "1048576",
+            description = "With --dir, combine the Jobs of files up to this total size in bytes into one upload. " +
+                          "Default: 1048576")
+    long batchBytes = 1048576;
+
+    @CommandLine.Option(names = {"--parallel"},
+            defaultValue = "2",
+            description = "With --dir, max number of uploads to send at once. Default: 2")
+    int parallel = 2;
+
 
 }
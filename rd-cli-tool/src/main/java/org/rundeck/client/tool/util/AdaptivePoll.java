@@ -0,0 +1,107 @@
+package org.rundeck.client.tool.util;
+
+import org.rundeck.client.api.model.ExecOutput;
+
+/**
+ * Chooses the delay and page size for each request when following execution output. A full page is followed
+ * immediately by another request, the delay doubles up to the max interval while no new output is received, and the
+ * page size is scaled to the output remaining to be read.
+ */
+public class AdaptivePoll {
+    public static final long DEFAULT_MIN_INTERVAL = 250;
+    public static final long DEFAULT_MAX_INTERVAL = 5000;
+    public static final int DEFAULT_MAX_PAGE_SIZE = 500;
+    /**
+     * Smallest page size requested
+     */
+    public static final int MIN_PAGE_SIZE = 50;
+
+    private final long minInterval;
+    private final long maxInterval;
+    private final int maxPageSize;
+    private final boolean adaptive;
+    private long interval;
+    private int pageSize;
+
+    private AdaptivePoll(
+            final long minInterval,
+            final long maxInterval,
+            final int maxPageSize,
+            final boolean adaptive
+    )
+    {
+        this.minInterval = Math.max(0, minInterval);
+        this.maxInterval = Math.max(this.minInterval, maxInterval);
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.adaptive = adaptive;
+        this.interval = this.minInterval;
+        this.pageSize = this.maxPageSize;
+    }
+
+    /**
+     * @param minInterval min delay in ms
+     * @param maxInterval max delay in ms
+     * @param maxPageSize max number of log entries to request at once
+     * @return adaptive poll
+     */
+    public static AdaptivePoll adaptive(final long minInterval, final long maxInterval, final int maxPageSize) {
+        return new AdaptivePoll(minInterval, maxInterval, maxPageSize, true);
+    }
+
+    /**
+     * @param interval delay in ms
+     * @param pageSize number of log entries to request at once
+     * @return poll with a fixed delay and page size
+     */
+    public static AdaptivePoll fixed(final long interval, final int pageSize) {
+        return new AdaptivePoll(interval, interval, pageSize, false);
+    }
+
+    /**
+     * @return number of log entries to request next
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Update the state with a response
+     *
+     * @param previousOffset log offset before the response
+     * @param output         response
+     * @return delay in ms before the next request
+     */
+    public long next(final long previousOffset, final ExecOutput output) {
+        if (!adaptive) {
+            return interval;
+        }
+        int received = null != output.entries ? output.entries.size() : 0;
+        if (received >= pageSize) {
+            //more output is likely available
+            interval = 0;
+            pageSize = maxPageSize;
+            return interval;
+        }
+        if (output.unmodified || received == 0) {
+            interval = Math.min(maxInterval, Math.max(minInterval, interval * 2));
+        } else {
+            interval = minInterval;
+        }
+        pageSize = scalePageSize(previousOffset, output, received);
+        return interval;
+    }
+
+    /**
+     * @return page size large enough for the output remaining to be read, estimated from the bytes per entry in the
+     * response and the total log size
+     */
+    private int scalePageSize(final long previousOffset, final ExecOutput output, final int received) {
+        long remainingBytes = output.totalSize > 0 && output.percentLoaded < 100
+                              ? Math.max(0, output.totalSize - output.offset)
+                              : 0;
+        long readBytes = output.offset - previousOffset;
+        long remaining = received > 0 && readBytes > 0 ? remainingBytes * received / readBytes : 0;
+        long wanted = Math.max(received * 2L, remaining);
+        return (int) Math.max(Math.min(MIN_PAGE_SIZE, maxPageSize), Math.min(maxPageSize, wanted));
+    }
+}
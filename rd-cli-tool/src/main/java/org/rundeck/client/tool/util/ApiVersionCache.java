@@ -0,0 +1,136 @@
+package org.rundeck.client.tool.util;
+
+import org.rundeck.client.RundeckClient;
+import org.rundeck.client.util.ConfigSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores the API version supported by each server, so that clients can start with a supported version instead of
+ * being downgraded on each invocation. Entries expire after a TTL.
+ */
+public class ApiVersionCache {
+    /**
+     * If true, cache the API version detected by downgrading
+     */
+    public static final String RD_API_VERSION_CACHE = "RD_API_VERSION_CACHE";
+    /**
+     * Time in seconds that a cached API version is used, default 1 day
+     */
+    public static final String RD_API_VERSION_CACHE_TTL = "RD_API_VERSION_CACHE_TTL";
+    public static final long DEFAULT_TTL = TimeUnit.DAYS.toSeconds(1);
+    private final Path file;
+    private final long ttlMillis;
+
+    public ApiVersionCache(final Path file, final long ttlMillis) {
+        this.file = file;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @param config config
+     * @return cache if enabled, or null
+     */
+    public static ApiVersionCache create(final ConfigSource config) {
+        if (!config.getBool(RD_API_VERSION_CACHE, false)) {
+            return null;
+        }
+        Long ttl = config.getLong(RD_API_VERSION_CACHE_TTL, DEFAULT_TTL);
+        return new ApiVersionCache(
+                LocalCache.dir(config).resolve("api-versions.properties"),
+                TimeUnit.SECONDS.toMillis(null != ttl ? ttl : DEFAULT_TTL)
+        );
+    }
+
+    /**
+     * @param baseUrl server url
+     * @return app base url used as the key, or null if the url specifies the API version
+     */
+    static String key(final String baseUrl) {
+        if (RundeckClient.API_VERS_PATTERN.matcher(baseUrl).matches()) {
+            return null;
+        }
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    /**
+     * @param baseUrl server url
+     * @return cached version, or null if not cached or expired
+     */
+    public Integer get(final String baseUrl) {
+        String key = key(baseUrl);
+        if (null == key) {
+            return null;
+        }
+        String value = load().getProperty(key);
+        if (null == value) {
+            return null;
+        }
+        String[] parts = value.split(",", 2);
+        try {
+            int version = Integer.parseInt(parts[0]);
+            long time = parts.length > 1 ? Long.parseLong(parts[1]) : 0;
+            if (System.currentTimeMillis() - time > ttlMillis) {
+                return null;
+            }
+            return version;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Store the supported version
+     *
+     * @param baseUrl server url
+     * @param version supported API version
+     * @throws IOException if the cache cannot be written
+     */
+    public synchronized void put(final String baseUrl, final int version) throws IOException {
+        String key = key(baseUrl);
+        if (null == key) {
+            return;
+        }
+        Properties props = load();
+        props.setProperty(key, version + "," + System.currentTimeMillis());
+        store(props);
+    }
+
+    /**
+     * Remove the cached version
+     *
+     * @param baseUrl server url
+     * @throws IOException if the cache cannot be written
+     */
+    public synchronized void remove(final String baseUrl) throws IOException {
+        String key = key(baseUrl);
+        Properties props = load();
+        if (null != key && null != props.remove(key)) {
+            store(props);
+        }
+    }
+
+    private Properties load() {
+        Properties props = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                props.load(in);
+            } catch (IOException ignored) {
+                //treat an unreadable cache as empty
+            }
+        }
+        return props;
+    }
+
+    private void store(final Properties props) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        props.store(out, "rd API versions: version,timestamp");
+        LocalCache.write(file, out.toByteArray());
+    }
+}
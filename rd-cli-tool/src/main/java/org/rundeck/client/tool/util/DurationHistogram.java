@@ -0,0 +1,136 @@
+package org.rundeck.client.tool.util;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations in milliseconds with log-linear buckets, in the style of HdrHistogram. Values below {@code
+ * 2 * SUB_BUCKETS} ms are counted exactly, above that each power of two range is split into {@link #SUB_BUCKETS}
+ * linear sub-buckets, so a percentile is within {@code 1/SUB_BUCKETS} (about 1.6%) of the recorded value for any
+ * duration from milliseconds to days. Buckets are allocated up to the largest recorded value, so memory grows with
+ * the log of the max duration. Histograms can be merged.
+ */
+public class DurationHistogram {
+    /**
+     * Number of bits of precision within each power of two range
+     */
+    static final int SUB_BUCKET_BITS = 6;
+    /**
+     * Number of linear sub-buckets within each power of two range
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private long[] counts = new long[0];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * @param millis duration, negative values are counted as 0
+     * @return bucket index
+     */
+    static int bucket(final long millis) {
+        long value = Math.max(0, millis);
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * @param index bucket index
+     * @return lowest value in the bucket in ms
+     */
+    static long lowerBound(final int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * @param index bucket index
+     * @return highest value in the bucket in ms
+     */
+    static long upperBound(final int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return lowerBound(index) + (1L << shift) - 1;
+    }
+
+    private void ensureCapacity(final int size) {
+        if (counts.length < size) {
+            counts = Arrays.copyOf(counts, size);
+        }
+    }
+
+    /**
+     * Record a duration
+     *
+     * @param millis duration in ms
+     */
+    public void record(final long millis) {
+        int index = bucket(millis);
+        ensureCapacity(index + 1);
+        counts[index]++;
+        count++;
+        total += Math.max(0, millis);
+        max = Math.max(max, millis);
+    }
+
+    /**
+     * Add the values of another histogram to this one
+     *
+     * @param other histogram
+     */
+    public void merge(final DurationHistogram other) {
+        ensureCapacity(other.counts.length);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return sum of all values in ms
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count > 0 ? (double) total / count : 0;
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100
+     * @return estimated value in ms, the highest value of the bucket holding the percentile, never more than the max
+     * recorded value
+     */
+    public long percentile(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBound(i));
+            }
+        }
+        return max;
+    }
+}
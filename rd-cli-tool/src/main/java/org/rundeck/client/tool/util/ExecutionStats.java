@@ -0,0 +1,190 @@
+package org.rundeck.client.tool.util;
+
+import org.rundeck.client.api.model.Execution;
+import org.rundeck.client.api.model.JobItem;
+import org.rundeck.client.util.DataOutput;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Duration percentiles and failure rates of completed executions, grouped by job, user or node. Each group holds a
+ * {@link DurationHistogram}, so memory depends on the number of groups and the longest duration, and not on the
+ * number of executions. Groups can be merged.
+ */
+public class ExecutionStats {
+    public static final String ADHOC = "(adhoc)";
+    private final GroupBy groupBy;
+    private final Map<String, Group> groups = new TreeMap<>();
+
+    public enum GroupBy {
+        job,
+        user,
+        node
+    }
+
+    /**
+     * Statistics for one group
+     */
+    public static class Group implements DataOutput {
+        private final String name;
+        private final DurationHistogram durations = new DurationHistogram();
+        private long succeeded;
+        private long failed;
+
+        Group(final String name) {
+            this.name = name;
+        }
+
+        void add(final long duration, final boolean success) {
+            durations.record(duration);
+            if (success) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+
+        /**
+         * Add the values of another group to this one
+         *
+         * @param other group
+         */
+        public void merge(final Group other) {
+            durations.merge(other.durations);
+            succeeded += other.succeeded;
+            failed += other.failed;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DurationHistogram getDurations() {
+            return durations;
+        }
+
+        public long getTotal() {
+            return succeeded + failed;
+        }
+
+        public long getSucceeded() {
+            return succeeded;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return failed executions as a fraction of all executions
+         */
+        public double getFailureRate() {
+            long total = getTotal();
+            return total > 0 ? (double) failed / total : 0;
+        }
+
+        @Override
+        public Map<?, ?> asMap() {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("group", name);
+            data.put("total", getTotal());
+            data.put("succeeded", succeeded);
+            data.put("failed", failed);
+            data.put("failure-rate", String.format(Locale.ROOT, "%.3f", getFailureRate()));
+            data.put("duration-p50", durations.percentile(50));
+            data.put("duration-p90", durations.percentile(90));
+            data.put("duration-p95", durations.percentile(95));
+            data.put("duration-p99", durations.percentile(99));
+            data.put("duration-avg", Math.round(durations.getMean()));
+            data.put("duration-max", durations.getMax());
+            return data;
+        }
+    }
+
+    public ExecutionStats(final GroupBy groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    /**
+     * Add completed executions, others are ignored
+     *
+     * @param executions executions
+     */
+    public void addAll(final Collection<Execution> executions) {
+        for (Execution execution : executions) {
+            add(execution);
+        }
+    }
+
+    /**
+     * Add a completed execution, others are ignored
+     *
+     * @param execution execution
+     */
+    public void add(final Execution execution) {
+        if (null == execution.getDateStarted() || null == execution.getDateEnded()) {
+            return;
+        }
+        long duration = execution.getDateEnded().unixtime - execution.getDateStarted().unixtime;
+        boolean success = "succeeded".equals(execution.getStatus());
+        if (groupBy == GroupBy.node) {
+            Set<String> nodes = new LinkedHashSet<>();
+            if (null != execution.getFailedNodes()) {
+                for (String node : execution.getFailedNodes()) {
+                    if (nodes.add(node)) {
+                        group(node).add(duration, false);
+                    }
+                }
+            }
+            if (null != execution.getSuccessfulNodes()) {
+                for (String node : execution.getSuccessfulNodes()) {
+                    if (nodes.add(node)) {
+                        group(node).add(duration, true);
+                    }
+                }
+            }
+            return;
+        }
+        group(groupBy == GroupBy.user ? String.valueOf(execution.getUser()) : jobName(execution.getJob()))
+                .add(duration, success);
+    }
+
+    private static String jobName(final JobItem job) {
+        if (null == job) {
+            return ADHOC;
+        }
+        return null != job.getGroup() && !job.getGroup().isEmpty() ? job.getGroup() + "/" + job.getName()
+                                                                   : job.getName();
+    }
+
+    private Group group(final String name) {
+        return groups.computeIfAbsent(name, Group::new);
+    }
+
+    /**
+     * Add the groups of another result to this one
+     *
+     * @param other stats with the same grouping
+     */
+    public void merge(final ExecutionStats other) {
+        for (Group group : other.groups.values()) {
+            group(group.name).merge(group);
+        }
+    }
+
+    /**
+     * @return groups sorted by name
+     */
+    public List<Group> getGroups() {
+        return Collections.unmodifiableList(new ArrayList<>(groups.values()));
+    }
+}
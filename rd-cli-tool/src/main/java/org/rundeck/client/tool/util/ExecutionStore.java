@@ -0,0 +1,357 @@
+package org.rundeck.client.tool.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.rundeck.client.api.model.Execution;
+import org.rundeck.client.util.ConfigSource;
+import org.rundeck.client.util.HttpCache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+/**
+ * Local store of the executions of one project, synchronized incrementally from the server. Executions are appended
+ * as JSON lines to a record file, and an index file holds the ID, start and end time, status and job ID of each
+ * record with its position, so queries filter on the index and only read matching records. A changed execution is
+ * appended again, and the last index line for an ID wins.
+ */
+public class ExecutionStore {
+    public static final String RECORDS_FILE = "executions.jsonl";
+    public static final String INDEX_FILE = "index.tsv";
+    public static final String STATE_FILE = "state.properties";
+    private final Path dir;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Map<String, Entry> index = new LinkedHashMap<>();
+    private Long watermark;
+    private Long lastSync;
+
+    /**
+     * Index entry for an execution
+     */
+    public static class Entry {
+        private final String id;
+        private final long started;
+        private final long ended;
+        private final String status;
+        private final String jobId;
+        private final long position;
+        private final int length;
+
+        Entry(
+                final String id,
+                final long started,
+                final long ended,
+                final String status,
+                final String jobId,
+                final long position,
+                final int length
+        )
+        {
+            this.id = id;
+            this.started = started;
+            this.ended = ended;
+            this.status = status;
+            this.jobId = jobId;
+            this.position = position;
+            this.length = length;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return start time in ms, or 0
+         */
+        public long getStarted() {
+            return started;
+        }
+
+        /**
+         * @return end time in ms, or 0 if not complete
+         */
+        public long getEnded() {
+            return ended;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        /**
+         * @return job ID, or null for adhoc executions
+         */
+        public String getJobId() {
+            return jobId;
+        }
+
+        String toLine() {
+            return String.join(
+                    "\t",
+                    id,
+                    Long.toString(started),
+                    Long.toString(ended),
+                    null != status ? status : "",
+                    null != jobId ? jobId : "",
+                    Long.toString(position),
+                    Integer.toString(length)
+            );
+        }
+
+        static Entry parse(final String line) {
+            String[] parts = line.split("\t", -1);
+            if (parts.length != 7) {
+                return null;
+            }
+            try {
+                return new Entry(
+                        parts[0],
+                        Long.parseLong(parts[1]),
+                        Long.parseLong(parts[2]),
+                        parts[3].isEmpty() ? null : parts[3],
+                        parts[4].isEmpty() ? null : parts[4],
+                        Long.parseLong(parts[5]),
+                        Integer.parseInt(parts[6])
+                );
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    ExecutionStore(final Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * @param config  config
+     * @param url     server URL
+     * @param project project name
+     * @return store dir for the project within the local cache dir
+     */
+    public static Path dir(final ConfigSource config, final String url, final String project) {
+        return LocalCache.dir(config)
+                         .resolve("executions")
+                         .resolve(HttpCache.sha256(null != url ? url : ""))
+                         .resolve(project);
+    }
+
+    /**
+     * Open the store, loading the index if it exists
+     *
+     * @param dir store dir
+     * @return store
+     * @throws IOException if the index cannot be read
+     */
+    public static ExecutionStore open(final Path dir) throws IOException {
+        ExecutionStore store = new ExecutionStore(dir);
+        store.load();
+        return store;
+    }
+
+    private void load() throws IOException {
+        Path indexFile = dir.resolve(INDEX_FILE);
+        if (Files.exists(indexFile)) {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                Entry entry = Entry.parse(line);
+                if (null != entry) {
+                    index.put(entry.id, entry);
+                }
+            }
+        }
+        Path stateFile = dir.resolve(STATE_FILE);
+        if (Files.exists(stateFile)) {
+            Properties props = new Properties();
+            try (InputStream in = Files.newInputStream(stateFile)) {
+                props.load(in);
+            }
+            watermark = parseLong(props.getProperty("watermark"));
+            lastSync = parseLong(props.getProperty("lastSync"));
+        }
+    }
+
+    private static Long parseLong(final String value) {
+        try {
+            return null != value ? Long.parseLong(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return end time in ms of the latest completed execution stored, or null if none
+     */
+    public Long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * @return time in ms of the last completed sync, or null
+     */
+    public Long getLastSync() {
+        return lastSync;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    private static long time(final Execution execution, final boolean end) {
+        if (end) {
+            return null != execution.getDateEnded() ? execution.getDateEnded().unixtime : 0;
+        }
+        return null != execution.getDateStarted() ? execution.getDateStarted().unixtime : 0;
+    }
+
+    /**
+     * Store executions which are new or have changed status or end time
+     *
+     * @param executions executions
+     * @return number of executions stored
+     * @throws IOException if an error occurs
+     */
+    public synchronized int putAll(final Collection<Execution> executions) throws IOException {
+        List<Execution> changed = new ArrayList<>();
+        for (Execution execution : executions) {
+            Entry existing = index.get(execution.getId());
+            if (null == existing
+                || existing.ended != time(execution, true)
+                || !Objects.equals(existing.status, execution.getStatus())) {
+                changed.add(execution);
+            }
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        Files.createDirectories(dir);
+        StringBuilder indexLines = new StringBuilder();
+        try (FileChannel records = FileChannel.open(
+                dir.resolve(RECORDS_FILE),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND
+        )) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            long position = records.size();
+            List<Entry> entries = new ArrayList<>();
+            for (Execution execution : changed) {
+                byte[] data = mapper.writeValueAsBytes(execution);
+                buffer.write(data);
+                buffer.write('\n');
+                Entry entry = new Entry(
+                        execution.getId(),
+                        time(execution, false),
+                        time(execution, true),
+                        execution.getStatus(),
+                        null != execution.getJob() ? execution.getJob().getId() : null,
+                        position,
+                        data.length
+                );
+                position += data.length + 1;
+                entries.add(entry);
+                indexLines.append(entry.toLine()).append('\n');
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                records.write(bytes);
+            }
+            for (Entry entry : entries) {
+                index.put(entry.id, entry);
+                if (entry.ended > 0 && (null == watermark || entry.ended > watermark)) {
+                    watermark = entry.ended;
+                }
+            }
+        }
+        //records are written before the index, so the index never refers to missing data
+        Files.write(
+                dir.resolve(INDEX_FILE),
+                indexLines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND
+        );
+        return changed.size();
+    }
+
+    /**
+     * Store the watermark and sync time
+     *
+     * @throws IOException if an error occurs
+     */
+    public synchronized void saveState() throws IOException {
+        lastSync = System.currentTimeMillis();
+        Properties props = new Properties();
+        if (null != watermark) {
+            props.setProperty("watermark", Long.toString(watermark));
+        }
+        props.setProperty("lastSync", Long.toString(lastSync));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        props.store(out, "rd executions sync state");
+        LocalCache.write(dir.resolve(STATE_FILE), out.toByteArray());
+    }
+
+    /**
+     * Find executions, newest first
+     *
+     * @param indexFilter filter applied to the index
+     * @param filter      filter applied to the executions which match the index filter
+     * @return matching executions
+     * @throws IOException if an error occurs
+     */
+    public synchronized List<Execution> query(final Predicate<Entry> indexFilter, final Predicate<Execution> filter)
+            throws IOException
+    {
+        List<Entry> entries = new ArrayList<>();
+        for (Entry entry : index.values()) {
+            if (indexFilter.test(entry)) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparingLong((Entry e) -> e.started).reversed());
+        List<Execution> result = new ArrayList<>();
+        if (entries.isEmpty()) {
+            return result;
+        }
+        try (FileChannel records = FileChannel.open(dir.resolve(RECORDS_FILE), StandardOpenOption.READ)) {
+            for (Entry entry : entries) {
+                ByteBuffer data = ByteBuffer.allocate(entry.length);
+                long position = entry.position;
+                while (data.hasRemaining()) {
+                    int read = records.read(data, position);
+                    if (read < 0) {
+                        throw new IOException("Execution store record file is truncated: " + dir);
+                    }
+                    position += read;
+                }
+                Execution execution = mapper.readValue(data.array(), Execution.class);
+                if (filter.test(execution)) {
+                    result.add(execution);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package org.rundeck.client.tool.util;
+
+import org.rundeck.client.api.model.ExecLog;
+import org.rundeck.client.api.model.ExecOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Stores the log offset reached when following an execution, so that a later invocation can resume from the same
+ * offset without repeating or missing output. The last log entry is stored as well, to decompact the first entries
+ * received after resuming.
+ */
+public class FollowCheckpoint {
+    private static final String[] LOG_FIELDS = {"time", "level", "log", "user", "command", "node", "stepctx"};
+    private final Path file;
+    private final String id;
+    private boolean resumable;
+    private long offset;
+    private long lastModified;
+    private ExecLog previous;
+
+    FollowCheckpoint(final Path file, final String id) {
+        this.file = file;
+        this.id = id;
+    }
+
+    /**
+     * Load the checkpoint file if it exists
+     *
+     * @param file checkpoint file
+     * @param id   execution ID
+     * @return checkpoint, which is resumable if the file exists and is for the same execution
+     * @throws IOException if the file cannot be read
+     */
+    public static FollowCheckpoint load(final Path file, final String id) throws IOException {
+        FollowCheckpoint checkpoint = new FollowCheckpoint(file, id);
+        if (!Files.exists(file)) {
+            return checkpoint;
+        }
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        }
+        if (!id.equals(props.getProperty("id"))) {
+            return checkpoint;
+        }
+        try {
+            checkpoint.offset = Long.parseLong(props.getProperty("offset", "0"));
+            checkpoint.lastModified = Long.parseLong(props.getProperty("lastModified", "0"));
+        } catch (NumberFormatException e) {
+            return checkpoint;
+        }
+        ExecLog previous = new ExecLog();
+        boolean hasPrevious = false;
+        for (String field : LOG_FIELDS) {
+            String value = props.getProperty("previous." + field);
+            if (null != value) {
+                hasPrevious = true;
+                setField(previous, field, value);
+            }
+        }
+        checkpoint.previous = hasPrevious ? previous : null;
+        checkpoint.resumable = true;
+        return checkpoint;
+    }
+
+    private static void setField(final ExecLog log, final String field, final String value) {
+        switch (field) {
+            case "time":
+                log.time = value;
+                break;
+            case "level":
+                log.level = value;
+                break;
+            case "log":
+                log.log = value;
+                break;
+            case "user":
+                log.user = value;
+                break;
+            case "command":
+                log.command = value;
+                break;
+            case "node":
+                log.node = value;
+                break;
+            case "stepctx":
+                log.stepctx = value;
+                break;
+            default:
+        }
+    }
+
+    /**
+     * @return true if the checkpoint was loaded for the same execution
+     */
+    public boolean isResumable() {
+        return resumable;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return last log entry received before the checkpoint, or null
+     */
+    public ExecLog getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Store the offset after a page of output has been written
+     *
+     * @param output   output page
+     * @param previous last decompacted log entry, or null
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final ExecOutput output, final ExecLog previous) throws IOException {
+        if (resumable && output.offset <= offset) {
+            return;
+        }
+        Properties props = new Properties();
+        props.setProperty("id", id);
+        props.setProperty("offset", Long.toString(output.offset));
+        props.setProperty("lastModified", Long.toString(output.lastModified));
+        if (null != previous) {
+            for (Map.Entry<String, String> entry : previous.toMap().entrySet()) {
+                if (null != entry.getValue()) {
+                    props.setProperty("previous." + entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        props.store(out, "rd executions follow checkpoint");
+        LocalCache.write(file, out.toByteArray());
+        this.offset = output.offset;
+        this.lastModified = output.lastModified;
+        this.previous = previous;
+        this.resumable = true;
+    }
+}
@@ -0,0 +1,181 @@
+package org.rundeck.client.tool.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.rundeck.client.api.model.JobItem;
+import org.rundeck.client.util.ConfigSource;
+import org.rundeck.client.util.HttpCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local index of the job IDs of a project by group and name, so a job can be found by name without querying the
+ * server. The index is refreshed from the full job list when it is older than the TTL. A name which matches more than
+ * one job is not resolved by the index.
+ */
+public class JobIndex {
+    /**
+     * If true, find job IDs by name using the local job index. The job list is revalidated with the server when the
+     * index is refreshed only if the HTTP cache is enabled with RD_HTTP_CACHE_DIR
+     */
+    public static final String RD_JOB_INDEX = "RD_JOB_INDEX";
+    /**
+     * Max age in seconds of the local job index before it is refreshed, default 300
+     */
+    public static final String RD_JOB_INDEX_TTL = "RD_JOB_INDEX_TTL";
+    public static final long DEFAULT_TTL_SECONDS = 300;
+    public static final String INDEX_FILE = "index.json";
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    private final Path file;
+    private final Map<String, List<String>> jobs = new TreeMap<>();
+    private Long refreshed;
+
+    JobIndex(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @param config config
+     * @return true if the job index is enabled
+     */
+    public static boolean isEnabled(final ConfigSource config) {
+        return null != config && config.getBool(RD_JOB_INDEX, false);
+    }
+
+    /**
+     * @param config config
+     * @return TTL in ms
+     */
+    public static long ttlMillis(final ConfigSource config) {
+        Long ttl = config.getLong(RD_JOB_INDEX_TTL, DEFAULT_TTL_SECONDS);
+        return TimeUnit.SECONDS.toMillis(null != ttl ? ttl : DEFAULT_TTL_SECONDS);
+    }
+
+    /**
+     * @param config  config
+     * @param url     server URL
+     * @param project project name
+     * @return index file for the project within the local cache dir
+     */
+    public static Path file(final ConfigSource config, final String url, final String project) {
+        return LocalCache.dir(config)
+                         .resolve("jobs")
+                         .resolve(HttpCache.sha256(null != url ? url : ""))
+                         .resolve(project)
+                         .resolve(INDEX_FILE);
+    }
+
+    /**
+     * Load the index, a missing or unreadable index is empty
+     *
+     * @param file index file
+     * @return index
+     */
+    @SuppressWarnings("unchecked")
+    public static JobIndex load(final Path file) {
+        JobIndex index = new JobIndex(file);
+        if (!Files.exists(file)) {
+            return index;
+        }
+        try {
+            Map<String, Object> data = MAPPER.readValue(file.toFile(), Map.class);
+            Object jobs = data.get("jobs");
+            if (jobs instanceof Map) {
+                for (Map.Entry<String, Object> job : ((Map<String, Object>) jobs).entrySet()) {
+                    if (job.getValue() instanceof List) {
+                        index.jobs.put(job.getKey(), new ArrayList<>((List<String>) job.getValue()));
+                    }
+                }
+            }
+            Object refreshed = data.get("refreshed");
+            index.refreshed = refreshed instanceof Number ? ((Number) refreshed).longValue() : null;
+        } catch (IOException | ClassCastException e) {
+            index.jobs.clear();
+            index.refreshed = null;
+        }
+        return index;
+    }
+
+    /**
+     * @param group group path, or null
+     * @param name  job name
+     * @return "group/name", or the name if there is no group
+     */
+    public static String key(final String group, final String name) {
+        return null != group && !group.isEmpty() ? group + "/" + name : name;
+    }
+
+    /**
+     * @param now       current time in ms
+     * @param ttlMillis max age in ms
+     * @return true if the index was refreshed within the TTL
+     */
+    public boolean isFresh(final long now, final long ttlMillis) {
+        return null != refreshed && refreshed <= now && now - refreshed < ttlMillis;
+    }
+
+    /**
+     * @param group group path, or null
+     * @param name  job name
+     * @return ID of the only job with the group and name, or null
+     */
+    public String lookup(final String group, final String name) {
+        List<String> ids = jobs.get(key(group, name));
+        return null != ids && ids.size() == 1 ? ids.get(0) : null;
+    }
+
+    /**
+     * Replace the content with the job list and save the index
+     *
+     * @param list all jobs in the project
+     * @param now  current time in ms
+     * @throws IOException if an error occurs
+     */
+    public void refresh(final Collection<JobItem> list, final long now) throws IOException {
+        jobs.clear();
+        for (JobItem job : list) {
+            jobs.computeIfAbsent(key(job.getGroup(), job.getName()), k -> new ArrayList<>()).add(job.getId());
+        }
+        refreshed = now;
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("refreshed", refreshed);
+        data.put("jobs", jobs);
+        LocalCache.write(file, MAPPER.writeValueAsBytes(data));
+    }
+
+    /**
+     * Delete the saved index, so that it is refreshed when next used
+     *
+     * @throws IOException if an error occurs
+     */
+    public void delete() throws IOException {
+        jobs.clear();
+        refreshed = null;
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * @return time in ms of the last refresh, or null
+     */
+    public Long getRefreshed() {
+        return refreshed;
+    }
+
+    /**
+     * @return job IDs by "group/name"
+     */
+    public Map<String, List<String>> getJobs() {
+        return Collections.unmodifiableMap(jobs);
+    }
+}
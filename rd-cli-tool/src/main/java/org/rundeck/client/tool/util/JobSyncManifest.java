@@ -0,0 +1,226 @@
+package org.rundeck.client.tool.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.rundeck.client.api.model.JobItem;
+import org.rundeck.client.util.ConfigSource;
+import org.rundeck.client.util.HttpCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Content hashes of the job definitions of a project, saved after a job sync. Each job has the hash of its local
+ * definition and the hash of its definition exported by the server, which differ because the server adds defaults.
+ * The manifest holds a fingerprint of the job list metadata, so that a later sync can use the saved hashes instead of
+ * exporting all definitions when the job list has not changed.
+ */
+public class JobSyncManifest {
+    public static final String MANIFEST_FILE = "manifest.json";
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    private final Path file;
+    private String fingerprint;
+    private final Map<String, Entry> jobs = new TreeMap<>();
+
+    /**
+     * Hashes of one job definition
+     */
+    public static class Entry {
+        private final String uuid;
+        private final String localHash;
+        private final String serverHash;
+
+        /**
+         * @param uuid       job UUID, or null
+         * @param localHash  hash of the local definition, or null if unknown
+         * @param serverHash hash of the definition exported by the server, or null if unknown
+         */
+        public Entry(final String uuid, final String localHash, final String serverHash) {
+            this.uuid = uuid;
+            this.localHash = localHash;
+            this.serverHash = serverHash;
+        }
+
+        public String getUuid() {
+            return uuid;
+        }
+
+        public String getLocalHash() {
+            return localHash;
+        }
+
+        public String getServerHash() {
+            return serverHash;
+        }
+    }
+
+    JobSyncManifest(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @param config  config
+     * @param url     server URL
+     * @param project project name
+     * @return manifest file for the project within the local cache dir
+     */
+    public static Path file(final ConfigSource config, final String url, final String project) {
+        return LocalCache.dir(config)
+                         .resolve("jobs")
+                         .resolve(HttpCache.sha256(null != url ? url : ""))
+                         .resolve(project)
+                         .resolve(MANIFEST_FILE);
+    }
+
+    /**
+     * Load the manifest, a missing or unreadable manifest is empty
+     *
+     * @param file manifest file
+     * @return manifest
+     */
+    @SuppressWarnings("unchecked")
+    public static JobSyncManifest load(final Path file) {
+        JobSyncManifest manifest = new JobSyncManifest(file);
+        if (!Files.exists(file)) {
+            return manifest;
+        }
+        try {
+            Map<String, Object> data = MAPPER.readValue(file.toFile(), Map.class);
+            Object jobs = data.get("jobs");
+            if (jobs instanceof Map) {
+                for (Map.Entry<String, Object> job : ((Map<String, Object>) jobs).entrySet()) {
+                    if (job.getValue() instanceof Map) {
+                        Map<String, Object> value = (Map<String, Object>) job.getValue();
+                        manifest.jobs.put(
+                                job.getKey(),
+                                new Entry(
+                                        (String) value.get("uuid"),
+                                        (String) value.get("local"),
+                                        (String) value.get("server")
+                                )
+                        );
+                    }
+                }
+            }
+            manifest.fingerprint = (String) data.get("fingerprint");
+        } catch (IOException | ClassCastException e) {
+            manifest.jobs.clear();
+        }
+        return manifest;
+    }
+
+    /**
+     * @param jobs job list
+     * @return hash of the ID, group, name and description of the jobs
+     */
+    public static String fingerprint(final Collection<JobItem> jobs) {
+        List<String> lines = new ArrayList<>();
+        for (JobItem job : jobs) {
+            lines.add(String.join("\t", job.getId(), job.getGroup(), job.getName(), job.getDescription()));
+        }
+        Collections.sort(lines);
+        return HttpCache.sha256(String.join("\n", lines));
+    }
+
+    /**
+     * @param job parsed job definition
+     * @return group and name of the job, as "group/name"
+     */
+    public static String key(final Map<?, ?> job) {
+        Object group = job.get("group");
+        Object name = job.get("name");
+        return null != group && !group.toString().isEmpty() ? group + "/" + name : String.valueOf(name);
+    }
+
+    /**
+     * @param job parsed job definition
+     * @return UUID of the job, or null
+     */
+    public static String uuid(final Map<?, ?> job) {
+        Object uuid = null != job.get("uuid") ? job.get("uuid") : job.get("id");
+        return null != uuid ? uuid.toString() : null;
+    }
+
+    /**
+     * @param job parsed job definition
+     * @return canonical form of the definition, with sorted keys and without the job UUID
+     */
+    public static String canonical(final Map<?, ?> job) {
+        Map<Object, Object> content = new LinkedHashMap<>(job);
+        content.remove("id");
+        content.remove("uuid");
+        try {
+            return MAPPER.writeValueAsString(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * @param job parsed job definition
+     * @return hash of the canonical form of the definition
+     */
+    public static String hash(final Map<?, ?> job) {
+        return HttpCache.sha256(canonical(job));
+    }
+
+    /**
+     * @return fingerprint of the job list when saved, or null
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return hashes of the jobs by "group/name"
+     */
+    public Map<String, Entry> getJobs() {
+        return Collections.unmodifiableMap(jobs);
+    }
+
+    /**
+     * Replace the content and save the manifest
+     *
+     * @param fingerprint fingerprint of the job list, or null if the hashes are incomplete
+     * @param jobs        hashes of the jobs by "group/name"
+     * @throws IOException if an error occurs
+     */
+    public void save(final String fingerprint, final Map<String, Entry> jobs) throws IOException {
+        this.fingerprint = fingerprint;
+        this.jobs.clear();
+        this.jobs.putAll(jobs);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("fingerprint", fingerprint);
+        Map<String, Object> entries = new TreeMap<>();
+        for (Map.Entry<String, Entry> job : this.jobs.entrySet()) {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("uuid", job.getValue().uuid);
+            value.put("local", job.getValue().localHash);
+            value.put("server", job.getValue().serverHash);
+            entries.put(job.getKey(), value);
+        }
+        data.put("jobs", entries);
+        LocalCache.write(file, MAPPER.writeValueAsBytes(data));
+    }
+
+    /**
+     * Delete the saved manifest, so that the next sync exports all definitions
+     *
+     * @throws IOException if an error occurs
+     */
+    public void delete() throws IOException {
+        fingerprint = null;
+        jobs.clear();
+        Files.deleteIfExists(file);
+    }
+}
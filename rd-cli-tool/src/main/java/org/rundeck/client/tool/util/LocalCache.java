@@ -0,0 +1,61 @@
+package org.rundeck.client.tool.util;
+
+import org.rundeck.client.util.ConfigSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+
+/**
+ * Local directory for data cached between invocations
+ */
+public final class LocalCache {
+    /**
+     * Directory for local cache files, default ~/.rd/cache
+     */
+    public static final String RD_CACHE_DIR = "RD_CACHE_DIR";
+
+    private LocalCache() {
+    }
+
+    /**
+     * @param config config
+     * @return cache dir from RD_CACHE_DIR, or ~/.rd/cache
+     */
+    public static Path dir(final ConfigSource config) {
+        String dir = config.getString(RD_CACHE_DIR, null);
+        if (null != dir && !dir.isEmpty()) {
+            return Paths.get(dir);
+        }
+        return Paths.get(System.getProperty("user.home"), ".rd", "cache");
+    }
+
+    /**
+     * Replace the file content atomically, so that concurrent readers see either the old or new content. The parent
+     * directory is created if necessary, and is only accessible by the owner.
+     *
+     * @param file file
+     * @param data content
+     * @throws IOException if an error occurs
+     */
+    public static void write(final Path file, final byte[] data) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (!Files.isDirectory(dir)) {
+            Files.createDirectories(dir);
+            try {
+                Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwx------"));
+            } catch (UnsupportedOperationException ignored) {
+            }
+        }
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, data);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
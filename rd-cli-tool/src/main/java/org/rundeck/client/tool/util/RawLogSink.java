@@ -0,0 +1,233 @@
+package org.rundeck.client.tool.util;
+
+import org.rundeck.client.api.model.ExecLog;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes log entries to a file or stdout without the per-line formatting of {@link
+ * org.rundeck.client.tool.CommandOutput}. Entries are encoded into a buffer which is written to the channel when full
+ * and at the end of each batch, optionally compressed with gzip.
+ */
+public class RawLogSink implements Consumer<List<ExecLog>>, Closeable {
+    public static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte NEWLINE = '\n';
+    private final WritableByteChannel channel;
+    private final GZIPOutputStream gzip;
+    private final OutputStream stream;
+    private final FileChannel file;
+    private final Function<ExecLog, String> formatter;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long lines;
+    private long bytes;
+
+    RawLogSink(
+            final WritableByteChannel channel,
+            final GZIPOutputStream gzip,
+            final OutputStream stream,
+            final FileChannel file,
+            final Function<ExecLog, String> formatter
+    )
+    {
+        this.channel = channel;
+        this.gzip = gzip;
+        this.stream = stream;
+        this.file = file;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Create a sink writing to a file, replacing any existing content
+     *
+     * @param file      file
+     * @param gzip      if true, compress with gzip
+     * @param formatter log formatter, or null to write the log text
+     * @return sink
+     * @throws IOException if the file cannot be opened
+     */
+    public static RawLogSink file(final Path file, final boolean gzip, final Function<ExecLog, String> formatter)
+            throws IOException
+    {
+        return file(file, gzip, formatter, false);
+    }
+
+    /**
+     * Create a sink writing to a file. When appending with gzip, a new gzip member is added to the file, which is
+     * read as a single stream by gzip tools
+     *
+     * @param file      file
+     * @param gzip      if true, compress with gzip
+     * @param formatter log formatter, or null to write the log text
+     * @param append    if true, append to the file, otherwise replace any existing content
+     * @return sink
+     * @throws IOException if the file cannot be opened
+     */
+    public static RawLogSink file(
+            final Path file,
+            final boolean gzip,
+            final Function<ExecLog, String> formatter,
+            final boolean append
+    ) throws IOException
+    {
+        FileChannel fileChannel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+        );
+        if (!gzip) {
+            return new RawLogSink(fileChannel, null, null, fileChannel, formatter);
+        }
+        GZIPOutputStream stream = new GZIPOutputStream(Channels.newOutputStream(fileChannel), BUFFER_SIZE, true);
+        return new RawLogSink(Channels.newChannel(stream), stream, null, fileChannel, formatter);
+    }
+
+    /**
+     * Create a sink writing to an output stream, which is flushed but not closed
+     *
+     * @param out       output stream, e.g. stdout
+     * @param gzip      if true, compress with gzip
+     * @param formatter log formatter, or null to write the log text
+     * @return sink
+     * @throws IOException if an error occurs
+     */
+    public static RawLogSink stream(final OutputStream out, final boolean gzip, final Function<ExecLog, String> formatter)
+            throws IOException
+    {
+        OutputStream unclosed = new FilterOutputStream(out) {
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.flush();
+            }
+        };
+        if (!gzip) {
+            return new RawLogSink(Channels.newChannel(unclosed), null, unclosed, null, formatter);
+        }
+        GZIPOutputStream stream = new GZIPOutputStream(unclosed, BUFFER_SIZE, true);
+        return new RawLogSink(Channels.newChannel(stream), stream, stream, null, formatter);
+    }
+
+    @Override
+    public void accept(final List<ExecLog> entries) {
+        if (null == entries || entries.isEmpty()) {
+            return;
+        }
+        try {
+            write(entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the entries, and flush the buffer
+     *
+     * @param entries log entries
+     * @throws IOException if an error occurs
+     */
+    public void write(final List<ExecLog> entries) throws IOException {
+        for (ExecLog entry : entries) {
+            String text = null != formatter ? formatter.apply(entry) : entry.log;
+            byte[] data = (null != text ? text : "").getBytes(StandardCharsets.UTF_8);
+            if (data.length + 1 > buffer.remaining()) {
+                flushBuffer();
+            }
+            if (data.length + 1 > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(data));
+            } else {
+                buffer.put(data);
+            }
+            buffer.put(NEWLINE);
+            lines++;
+            bytes += data.length + 1;
+        }
+        flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(final ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    /**
+     * Write buffered data to the channel, and flush the output stream if writing to a stream
+     *
+     * @throws IOException if an error occurs
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        if (null != stream) {
+            stream.flush();
+        }
+    }
+
+    /**
+     * Write buffered data, flush the compressed output if using gzip, and force the file content to storage, so that
+     * all entries written so far can be read from the file if the process stops before the sink is closed
+     *
+     * @throws IOException if an error occurs
+     */
+    public void sync() throws IOException {
+        flush();
+        if (null != gzip && null == stream) {
+            gzip.flush();
+        }
+        if (null != file) {
+            file.force(false);
+        }
+    }
+
+    /**
+     * @return number of lines written
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * @return number of uncompressed bytes written
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        if (null == stream) {
+            channel.close();
+            return;
+        }
+        if (null != gzip) {
+            gzip.finish();
+        }
+        stream.flush();
+    }
+}
@@ -16,9 +16,25 @@
 
 package org.rundeck.client
 
+import okhttp3.MediaType
+import okhttp3.Protocol
+import okhttp3.RequestBody
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import org.rundeck.client.util.Client
+import org.rundeck.client.util.ClientMetrics
 import org.rundeck.client.util.FormAuthInterceptor
+import org.rundeck.client.util.RetryInterceptor
+import org.rundeck.client.util.SessionCookieJar
 import spock.lang.Specification
 
+import java.nio.file.Files
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.zip.GZIPInputStream
+
 /**
  * @author greg
  * @since 11/22/16
@@ -235,4 +251,414 @@ class RundeckClientSpec extends Specification {
         ''    | _
         null  | _
     }
+
+    def "http cache revalidates cached response with etag"() {
+        given:
+        MockWebServer server = new MockWebServer()
+        server.enqueue(new MockResponse().
+                setBody('[{"name":"proj1"}]').
+                addHeader('Content-Type', 'application/json').
+                addHeader('ETag', '"v1"').
+                addHeader('Cache-Control', 'no-cache'))
+        server.enqueue(new MockResponse().setResponseCode(304).addHeader('ETag', '"v1"'))
+        server.start()
+        def cacheDir = Files.createTempDirectory('rd-http-cache').toFile()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                httpCache(cacheDir, 1024 * 1024).
+                build()
+
+        when:
+        def first = client.apiCall { it.listProjects() }
+        def second = client.apiCall { it.listProjects() }
+
+        then:
+        first*.name == ['proj1']
+        second*.name == ['proj1']
+        server.takeRequest().getHeader('If-None-Match') == null
+        server.takeRequest().getHeader('If-None-Match') == '"v1"'
+        client.retrofit.callFactory().cache().hitCount() == 1
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+        cacheDir.deleteDir()
+    }
+
+    def "http cache is not used for uncached endpoints"() {
+        given:
+        MockWebServer server = new MockWebServer()
+        server.enqueue(new MockResponse().
+                setBody('{"name":"proj1"}').
+                addHeader('Content-Type', 'application/json').
+                addHeader('ETag', '"v1"'))
+        server.enqueue(new MockResponse().
+                setBody('{"name":"proj1"}').
+                addHeader('Content-Type', 'application/json').
+                addHeader('ETag', '"v1"'))
+        server.start()
+        def cacheDir = Files.createTempDirectory('rd-http-cache').toFile()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                httpCache(cacheDir, 1024 * 1024).
+                build()
+
+        when:
+        client.apiCall { it.getProjectInfo('proj1') }
+        client.apiCall { it.getProjectInfo('proj1') }
+
+        then:
+        server.takeRequest().getHeader('If-None-Match') == null
+        server.takeRequest().getHeader('If-None-Match') == null
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+        cacheDir.deleteDir()
+    }
+
+    /**
+     * Server which holds each response until the expected number of requests are in flight at once, or a timeout
+     */
+    private static MockWebServer concurrentServer(int expected, AtomicInteger maxInFlight) {
+        def latch = new CountDownLatch(expected)
+        def inFlight = new AtomicInteger()
+        def server = new MockWebServer()
+        server.dispatcher = new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            MockResponse dispatch(RecordedRequest request) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max)
+                latch.countDown()
+                latch.await(2, TimeUnit.SECONDS)
+                inFlight.decrementAndGet()
+                new MockResponse().addHeader('Content-Type', 'application/json').setBody('{"name":"p"}')
+            }
+        }
+        server
+    }
+
+    def "max requests per host allows more concurrent requests"() {
+        given:
+        def maxInFlight = new AtomicInteger()
+        def server = concurrentServer(8, maxInFlight)
+        server.start()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                maxRequestsPerHost(perHost).
+                connectionPool(perHost, 30L).
+                build()
+
+        when:
+        def results = client.apiCallAll((1..8).collect { i -> { api -> api.getProjectInfo("p$i") } as java.util.function.Function }).get(10, TimeUnit.SECONDS)
+
+        then:
+        results.size() == 8
+        maxInFlight.get() == expected
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+
+        where:
+        perHost | expected
+        null    | 5
+        8       | 8
+    }
+
+    def "h2c prior knowledge protocol"() {
+        given:
+        def server = new MockWebServer()
+        server.protocols = [Protocol.H2_PRIOR_KNOWLEDGE]
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody('{"name":"p"}'))
+        server.start()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                protocols('h2c-prior-knowledge').
+                build()
+
+        when:
+        def response = client.apiWithErrorResponse { it.getProjectInfo('p') }
+
+        then:
+        response.response.raw().protocol() == Protocol.H2_PRIOR_KNOWLEDGE
+        response.response.body().name == 'p'
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+    }
+
+    def "parse protocols"() {
+        expect:
+        RundeckClient.Builder.parseProtocols(value) == expected
+
+        where:
+        value                 | expected
+        'h2'                  | [Protocol.HTTP_2, Protocol.HTTP_1_1]
+        'http1.1'             | [Protocol.HTTP_1_1]
+        'http1.1,h2'          | [Protocol.HTTP_1_1, Protocol.HTTP_2]
+        'h2c-prior-knowledge' | [Protocol.H2_PRIOR_KNOWLEDGE]
+    }
+
+    def "parse protocols invalid"() {
+        when:
+        RundeckClient.Builder.parseProtocols(value)
+
+        then:
+        IllegalArgumentException e = thrown()
+
+        where:
+        value                    | _
+        'h2c-prior-knowledge,h2' | _
+        'spdy'                   | _
+    }
+
+    def "gzip request compresses text bodies"() {
+        given:
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody('{}'))
+        server.start()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                gzipRequests(true).
+                build()
+        def content = '- name: a job\n' * size
+        def body = RequestBody.create(content, MediaType.parse(type))
+
+        when:
+        client.apiWithErrorResponse { it.loadJobs('p', body) }
+        def request = server.takeRequest()
+
+        then:
+        request.getHeader('Content-Encoding') == (compressed ? 'gzip' : null)
+        (compressed ? new GZIPInputStream(request.body.inputStream()).text : request.body.readUtf8()) == content
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+
+        where:
+        type                 | size | compressed
+        'application/yaml'   | 1000 | true
+        'application/json'   | 1000 | true
+        'text/xml'           | 1000 | true
+        'application/yaml'   | 10   | false
+        'application/zip'    | 1000 | false
+    }
+
+    def "client metrics per api method"() {
+        given:
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody('{"name":"p"}'))
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody('{"name":"q"}'))
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody('[]'))
+        server.start()
+        def metrics = new ClientMetrics()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                metrics(metrics).
+                build()
+        def summary = new StringWriter()
+
+        when:
+        client.apiCall { it.getProjectInfo('p') }
+        client.apiCall { it.getProjectInfo('q') }
+        client.apiCall { it.listProjects() }
+        metrics.writeSummary(new PrintWriter(summary))
+
+        then:
+        metrics.endpoints*.name == ['getProjectInfo', 'listProjects']
+        metrics.endpoints[0].count == 2
+        metrics.endpoints[0].errors == 0
+        metrics.endpoints[0].bytesIn == 24
+        metrics.endpoints[1].count == 1
+        metrics.endpoints[1].bytesIn == 2
+        summary.toString().readLines().size() == 3
+        metrics.toMap().methods.getProjectInfo.count == 2
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+    }
+
+    def "retry GET after overloaded response"() {
+        given:
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().setResponseCode(code).addHeader('Retry-After', '0'))
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody('{"name":"p"}'))
+        server.start()
+        def logger = Mock(Client.Logger)
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                retry(2, 0L).
+                logger(logger).
+                build()
+
+        when:
+        def result = client.apiCall { it.getProjectInfo('p') }
+
+        then:
+        result.name == 'p'
+        server.requestCount == 2
+        1 * logger.warning({ it.contains("Retrying GET") && it.contains("HTTP $code") })
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+
+        where:
+        code << [429, 502, 503, 504]
+    }
+
+    def "retry stops after max retries"() {
+        given:
+        def server = new MockWebServer()
+        3.times { server.enqueue(new MockResponse().setResponseCode(503)) }
+        server.start()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                retry(2, 0L).
+                logger(Mock(Client.Logger)).
+                build()
+
+        when:
+        def response = client.service.getProjectInfo('p').execute()
+
+        then:
+        response.code() == 503
+        server.requestCount == 3
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+    }
+
+    def "retry does not repeat non-idempotent requests"() {
+        given:
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().setResponseCode(503))
+        server.start()
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                tokenAuth('atoken').
+                retry(2, 0L).
+                logger(Mock(Client.Logger)).
+                build()
+
+        when:
+        def response = client.service.deleteProject('p').execute()
+
+        then:
+        response.code() == 503
+        server.requestCount == 1
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+    }
+
+    def "retry after header"() {
+        given:
+        def response = new okhttp3.Response.Builder().
+                request(new okhttp3.Request.Builder().url('http://example.com').build()).
+                protocol(Protocol.HTTP_1_1).
+                code(503).
+                message('unavailable')
+        if (header) {
+            response.header('Retry-After', header)
+        }
+
+        expect:
+        RetryInterceptor.retryAfter(response.build(), 100) == expected
+
+        where:
+        header  | expected
+        null    | 100
+        '2'     | 2000
+        '9999'  | RetryInterceptor.MAX_DELAY
+        'bogus' | 100
+    }
+
+    def "password auth session is reused from the session store"() {
+        given:
+        def dir = Files.createTempDirectory('rdsession').toFile()
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().setBody('<html></html>'))
+        server.enqueue(new MockResponse().addHeader('Set-Cookie', 'JSESSIONID=abc; Path=/').setBody('<html></html>'))
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody('{"name":"p"}'))
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody('{"name":"p"}'))
+        server.start()
+        def build = {
+            RundeckClient.builder().
+                    baseUrl(server.url('/').toString()).
+                    passwordAuth('admin', 'pass').
+                    sessionStore(dir).
+                    build()
+        }
+
+        when:
+        def client1 = build()
+        client1.apiCall { it.getProjectInfo('p') }
+        client1.close()
+        def client2 = build()
+        client2.apiCall { it.getProjectInfo('p') }
+        client2.close()
+
+        then:
+        server.requestCount == 4
+        server.takeRequest().path == '/'
+        server.takeRequest().path == '/j_security_check'
+        server.takeRequest().path == '/api/' + RundeckClient.API_VERS + '/project/p'
+        def reused = server.takeRequest()
+        reused.path == '/api/' + RundeckClient.API_VERS + '/project/p'
+        reused.getHeader('Cookie') == 'JSESSIONID=abc'
+
+        cleanup:
+        server.shutdown()
+        dir.deleteDir()
+    }
+
+    def "expired stored session logs in again"() {
+        given:
+        def dir = Files.createTempDirectory('rdsession').toFile()
+        def server = new MockWebServer()
+        server.start()
+        def url = okhttp3.HttpUrl.parse(server.url('/').toString())
+        SessionCookieJar.open(dir, server.url('/').toString(), 'admin').
+                saveFromResponse(url, [okhttp3.Cookie.parse(url, 'JSESSIONID=old; Path=/')])
+        server.enqueue(new MockResponse().setResponseCode(302).addHeader('Location', '/user/login'))
+        server.enqueue(new MockResponse().setBody('<html>login</html>'))
+        server.enqueue(new MockResponse().setBody('<html></html>'))
+        server.enqueue(new MockResponse().addHeader('Set-Cookie', 'JSESSIONID=new; Path=/').setBody('<html></html>'))
+        server.enqueue(new MockResponse().addHeader('Content-Type', 'application/json').setBody('{"name":"p"}'))
+        def client = RundeckClient.builder().
+                baseUrl(server.url('/').toString()).
+                passwordAuth('admin', 'pass').
+                sessionStore(dir).
+                build()
+
+        when:
+        def result = client.apiCall { it.getProjectInfo('p') }
+
+        then:
+        result.name == 'p'
+        server.takeRequest().getHeader('Cookie') == 'JSESSIONID=old'
+        server.takeRequest().path == '/user/login'
+        server.takeRequest().path == '/'
+        server.takeRequest().path == '/j_security_check'
+        server.takeRequest().getHeader('Cookie') == 'JSESSIONID=new'
+
+        cleanup:
+        client?.close()
+        server.shutdown()
+        dir.deleteDir()
+    }
 }
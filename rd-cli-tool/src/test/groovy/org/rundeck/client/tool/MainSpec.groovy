@@ -1,8 +1,12 @@
 package org.rundeck.client.tool
 
+import org.rundeck.client.tool.util.ApiVersionCache
+import org.rundeck.client.util.MapConfigValues
 import picocli.CommandLine
 import spock.lang.Specification
 
+import java.nio.file.Files
+
 /**
  * Tests for the --allow-cross-origin-redirect CLI flag.
  */
@@ -68,4 +72,34 @@ class MainSpec extends Specification {
         cleanup:
         System.clearProperty('rd.allow.cross.origin.redirect')
     }
+
+    def "client starts at cached version"() {
+        given:
+        def dir = Files.createTempDirectory('rdcache')
+        def values = [
+                RD_URL              : 'https://rundeck.example.com',
+                RD_TOKEN            : 'atoken',
+                RD_API_DOWNGRADE    : 'true',
+                RD_API_VERSION_CACHE: enabled,
+                RD_CACHE_DIR        : dir.toString()
+        ]
+        new ApiVersionCache(dir.resolve('api-versions.properties'), 60_000).put('https://rundeck.example.com/', 20)
+        def rd = new Main.Rd(new MapConfigValues(values))
+
+        when:
+        def client = Main.createClient(rd)
+
+        then:
+        client.apiVersion == expected
+
+        cleanup:
+        client?.close()
+        rd.close()
+        dir.toFile().deleteDir()
+
+        where:
+        enabled | expected
+        'true'  | 20
+        'false' | org.rundeck.client.RundeckClient.API_VERS
+    }
 }
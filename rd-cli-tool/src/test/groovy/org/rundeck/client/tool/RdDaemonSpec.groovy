@@ -0,0 +1,183 @@
+package org.rundeck.client.tool
+
+import org.rundeck.client.util.ConfigBase
+import org.rundeck.client.util.MapConfigValues
+import spock.lang.Specification
+
+import java.net.UnixDomainSocketAddress
+import java.nio.channels.SocketChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.attribute.PosixFilePermissions
+
+class RdDaemonSpec extends Specification {
+    Path dir
+
+    def setup() {
+        dir = Files.createTempDirectory('rdd')
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    private static String cwd() {
+        Paths.get('').toAbsolutePath().toString()
+    }
+
+    def "forwarded command runs in the daemon"() {
+        given:
+        def socket = dir.resolve('d.sock')
+        def server = RdDaemon.Server.bind(socket)
+        def thread = Thread.start { server.serve(500) }
+        def request = new RdDaemon.Request(cwd(), ['version'] as String[], [:])
+        def out = new ByteArrayOutputStream()
+        def err = new ByteArrayOutputStream()
+
+        when:
+        def result = RdDaemonClient.forward(socket, request, out, err)
+
+        then:
+        result == 0
+        out.toString().trim() == org.rundeck.client.Version.VERSION
+
+        cleanup:
+        thread?.join(5000)
+        server?.close()
+    }
+
+    def "socket directory is created readable only by the user, and connections from the user are accepted"() {
+        given:
+        def socket = dir.resolve('sub/d.sock')
+        def server = RdDaemon.Server.bind(socket)
+
+        when:
+        def client = SocketChannel.open(UnixDomainSocketAddress.of(socket))
+        def conn = server.channel.accept()
+
+        then:
+        PosixFilePermissions.toString(Files.getPosixFilePermissions(socket.parent)) == 'rwx------'
+        PosixFilePermissions.toString(Files.getPosixFilePermissions(socket)) == 'rw-------'
+        server.isOwner(conn)
+
+        cleanup:
+        conn?.close()
+        client?.close()
+        server?.close()
+    }
+
+    def "request from a different working dir is rejected"() {
+        given:
+        def socket = dir.resolve('d.sock')
+        def server = RdDaemon.Server.bind(socket)
+        def thread = Thread.start { server.serve(500) }
+        def request = new RdDaemon.Request(dir.toString(), ['version'] as String[], [:])
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = RdDaemonClient.forward(socket, request, out, out)
+
+        then:
+        result == null
+        out.size() == 0
+
+        cleanup:
+        thread?.join(5000)
+        server?.close()
+    }
+
+    def "command which prompts for confirmation is rejected"() {
+        given:
+        def socket = dir.resolve('d.sock')
+        def server = RdDaemon.Server.bind(socket)
+        def thread = Thread.start { server.serve(500) }
+        def request = new RdDaemon.Request(cwd(), true, ['jobs', 'purge', '-p', 'p', '-j', 'a'] as String[], [:])
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = RdDaemonClient.forward(socket, request, out, out)
+
+        then:
+        result == null
+        out.size() == 0
+
+        cleanup:
+        thread?.join(5000)
+        server?.close()
+    }
+
+    def "commands which read the console or stdin require a terminal"() {
+        given:
+        def rd = new Main.Rd(new MapConfigValues(env))
+        def request = new RdDaemon.Request(cwd(), true, args as String[], env)
+
+        expect:
+        RdDaemon.requiresTerminal(Main.createCommandLine(args as String[], rd), request) == expected
+
+        where:
+        args                                                       | env                 | expected
+        ['jobs', 'purge', '-p', 'p', '-j', 'a']                    | [:]                 | true
+        ['jobs', 'purge', '-p', 'p', '-j', 'a', '-y']              | [:]                 | false
+        ['jobs', 'disablebulk', '-p', 'p', '-j', 'a']              | [:]                 | true
+        ['jobs', 'disablebulk', '-p', 'p', '-j', 'a', '--confirm'] | [:]                 | false
+        ['projects', 'delete', '-p', 'p']                          | [:]                 | true
+        ['executions', 'deletebulk', '-p', 'p']                    | [:]                 | true
+        ['adhoc', '-p', 'p', '-S']                                 | [:]                 | true
+        ['keys', 'create', '-p', 'a', '-t', 'password', '-P']      | [:]                 | true
+        ['executions', 'query', '-p', 'p']                         | [:]                 | true
+        ['executions', 'query', '-p', 'p', '--noninteractive']     | [:]                 | false
+        ['executions', 'query', '-p', 'p']                         | [RD_FORMAT: 'json'] | false
+        ['jobs', 'list', '-p', 'p']                                | [:]                 | false
+        ['version']                                                | [:]                 | false
+        ['jobs', 'list', '--not-an-option']                        | [:]                 | false
+    }
+
+    def "request round trip"() {
+        given:
+        def bytes = new ByteArrayOutputStream()
+        new RdDaemon.Request('/a', true, ['jobs', 'list'] as String[], [RD_URL: 'http://x']).write(new DataOutputStream(bytes))
+
+        when:
+        def request = RdDaemon.Request.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+
+        then:
+        request.workingDir == '/a'
+        request.console
+        request.args == ['jobs', 'list'] as String[]
+        request.env == [RD_URL: 'http://x']
+    }
+
+    def "no daemon listening"() {
+        given:
+        def request = new RdDaemon.Request(cwd(), ['version'] as String[], [:])
+
+        expect:
+        RdDaemonClient.forward(dir.resolve('missing.sock'), request, System.out, System.err) == null
+    }
+
+    def "enabled only for non-daemon commands"() {
+        given:
+        def config = new ConfigBase(new MapConfigValues([RD_DAEMON: enabled]))
+
+        expect:
+        RdDaemonClient.isEnabled(config, args as String[]) == expected
+
+        where:
+        enabled | args                 | expected
+        'true'  | ['jobs', 'list']     | true
+        'true'  | ['daemon']           | false
+        'false' | ['jobs', 'list']     | false
+        null    | ['jobs', 'list']     | false
+    }
+
+    def "client pool key ignores output-only config"() {
+        expect:
+        RdDaemon.ClientPool.key([RD_URL: 'http://a', RD_FORMAT: 'json'], Object, null) ==
+        RdDaemon.ClientPool.key([RD_URL: 'http://a', RD_PROJECT: 'p'], Object, null)
+        RdDaemon.ClientPool.key([RD_URL: 'http://a'], Object, null) !=
+        RdDaemon.ClientPool.key([RD_URL: 'http://b'], Object, null)
+        RdDaemon.ClientPool.key([RD_URL: 'http://a'], Object, 20) !=
+        RdDaemon.ClientPool.key([RD_URL: 'http://a'], Object, null)
+    }
+}
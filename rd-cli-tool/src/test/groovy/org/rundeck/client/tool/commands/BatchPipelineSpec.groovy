@@ -0,0 +1,62 @@
+package org.rundeck.client.tool.commands
+
+import org.rundeck.client.tool.extension.RdTool
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class BatchPipelineSpec extends Specification {
+    def "completes the oldest request before sending when the max are in flight"() {
+        given:
+        def events = []
+        int sent = 0
+        def rdTool = Mock(RdTool) {
+            apiCallAsync(_) >> {
+                sent++
+                events << "sent $sent".toString()
+                sent == 2 ? CompletableFuture.failedFuture(new IOException('boom'))
+                          : CompletableFuture.completedFuture("r$sent".toString())
+            }
+        }
+        def pipeline = new BatchPipeline<String, String>(
+                rdTool,
+                2,
+                { b, r -> events << "done $b $r".toString() },
+                { b, e -> events << "failed $b ${e.message}".toString() }
+        )
+
+        when:
+        ['a', 'b', 'c'].each { pipeline.send(it, null) }
+        pipeline.finish()
+
+        then:
+        events == ['sent 1', 'sent 2', 'done a r1', 'sent 3', 'failed b boom', 'done c r3']
+    }
+
+    def "requests sent by a callback are completed by finish"() {
+        given:
+        def done = []
+        def rdTool = Mock(RdTool) {
+            apiCallAsync(_) >> { CompletableFuture.completedFuture('ok') }
+        }
+        BatchPipeline<Integer, String> pipeline
+        pipeline = new BatchPipeline<Integer, String>(
+                rdTool,
+                1,
+                { b, r ->
+                    done << b
+                    if (b < 3) {
+                        pipeline.send(b + 1, null)
+                    }
+                },
+                { b, e -> }
+        )
+
+        when:
+        pipeline.send(1, null)
+        pipeline.finish()
+
+        then:
+        done == [1, 2, 3]
+    }
+}
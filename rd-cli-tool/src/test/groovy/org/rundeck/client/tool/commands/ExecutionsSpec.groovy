@@ -18,6 +18,7 @@ package org.rundeck.client.tool.commands
 
 import org.rundeck.client.api.model.AbortResult
 import org.rundeck.client.api.model.BulkExecutionDeleteResponse
+import org.rundeck.client.api.model.DateInfo
 import org.rundeck.client.api.model.Execution
 import org.rundeck.client.api.model.ExecutionList
 import org.rundeck.client.api.model.JobItem
@@ -27,19 +28,26 @@ import org.rundeck.client.tool.CommandOutput
 import org.rundeck.client.tool.RdApp
 import org.rundeck.client.tool.extension.RdTool
 import org.rundeck.client.tool.options.ExecutionOutputFormatOption
+import org.rundeck.client.tool.options.ExecutionsFollowOptions
 import org.rundeck.client.tool.options.PagingResultOptions
 import org.rundeck.client.tool.options.ProjectNameOptions
 import org.rundeck.client.util.RdClientConfig
 
+import okhttp3.mockwebserver.Dispatcher
 import okhttp3.mockwebserver.MockResponse
 import okhttp3.mockwebserver.MockWebServer
 import okhttp3.mockwebserver.RecordedRequest
 import org.rundeck.client.api.RundeckApi
+import org.rundeck.client.api.model.ExecLog
 import org.rundeck.client.api.model.ExecOutput
 import org.rundeck.client.util.Client
+import picocli.CommandLine
 import retrofit2.Retrofit
 import retrofit2.converter.jackson.JacksonConverterFactory
 import retrofit2.mock.Calls
+import org.rundeck.client.tool.util.AdaptivePoll
+import org.rundeck.client.tool.util.ExecutionStats
+import org.rundeck.client.tool.util.FollowCheckpoint
 import spock.lang.Specification
 
 /**
@@ -77,6 +85,137 @@ class ExecutionsSpec extends Specification {
         false | 0
     }
 
+    def "deletebulk --all deletes pages in batches from the last page and continues after failures"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def options = new Executions.BulkDeleteCmd()
+        options.with {
+            it.project = 'aproject'
+            it.confirm = true
+            it.all = true
+            it.batchSize = 2
+            it.parallel = 2
+        }
+        def page = { int offset, List<String> ids ->
+            Calls.response(
+                    new ExecutionList(
+                            paging: new Paging(offset: offset, max: 2, total: 5, count: ids.size()),
+                            executions: ids.collect { new Execution(id: it, description: '') }
+                    )
+            )
+        }
+
+        when:
+        def result = command.deletebulk(options, new PagingResultOptions(), new ExecutionOutputFormatOption())
+
+        then:
+        1 * api.listExecutions('aproject', [max: '2', offset: '0'], null, null, null, null) >> page(0, ['1', '2'])
+        1 * api.listExecutions('aproject', [max: '2', offset: '4'], null, null, null, null) >> page(4, ['5'])
+        1 * api.listExecutions('aproject', [max: '2', offset: '2'], null, null, null, null) >> page(2, ['3', '4'])
+        1 * api.deleteExecutions({ it.ids == ['5'] }) >> Calls.response(
+                new BulkExecutionDeleteResponse(successCount: 1, allsuccessful: true, requestCount: 1)
+        )
+        1 * api.deleteExecutions({ it.ids == ['3', '4'] }) >> Calls.failure(new IOException('timeout'))
+        1 * api.deleteExecutions({ it.ids == ['1', '2'] }) >> Calls.response(
+                new BulkExecutionDeleteResponse(
+                        successCount: 1,
+                        failedCount: 1,
+                        requestCount: 2,
+                        failures: [new BulkExecutionDeleteResponse.DeleteFailure(id: '2', message: 'not found')]
+                )
+        )
+        0 * api._(*_)
+        1 * out.error('Failed to delete batch of 2 executions: timeout')
+        1 * out.error('Failed to delete 3 of 5 executions:')
+        1 * out.error(['* #3: \'timeout\'', '* #4: \'timeout\'', '* #2: \'not found\''])
+        result == 1
+    }
+
+    def "deletebulk --all repeats the query when executions remain after the purge"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def options = new Executions.BulkDeleteCmd()
+        options.with {
+            it.project = 'aproject'
+            it.confirm = true
+            it.all = true
+            it.batchSize = 2
+            it.parallel = 2
+        }
+        def page = { int offset, int total, List<String> ids ->
+            Calls.response(
+                    new ExecutionList(
+                            paging: new Paging(offset: offset, max: 2, total: total, count: ids.size()),
+                            executions: ids.collect { new Execution(id: it, description: '') }
+                    )
+            )
+        }
+        def deleted = { int count ->
+            Calls.response(new BulkExecutionDeleteResponse(successCount: count, allsuccessful: true, requestCount: count))
+        }
+
+        when:
+        def result = command.deletebulk(options, new PagingResultOptions(), new ExecutionOutputFormatOption())
+
+        then: 'a new execution shifted execution 2 to the deleted page'
+        3 * api.listExecutions('aproject', [max: '2', offset: '0'], null, null, null, null) >>> [
+                page(0, 3, ['new', '1']),
+                page(0, 1, ['2']),
+                page(0, 0, [])
+        ]
+        1 * api.listExecutions('aproject', [max: '2', offset: '2'], null, null, null, null) >> page(2, 3, ['3'])
+        1 * api.deleteExecutions({ it.ids == ['3'] }) >> deleted(1)
+        1 * api.deleteExecutions({ it.ids == ['new', '1'] }) >> deleted(2)
+        1 * api.deleteExecutions({ it.ids == ['2'] }) >> deleted(1)
+        0 * api._(*_)
+        1 * out.info('Deleted 4 executions.')
+        result == 0
+    }
+
+    def "deletebulk --all without --confirm and no console"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def options = new Executions.BulkDeleteCmd()
+        options.with {
+            it.project = 'aproject'
+            it.all = true
+            it.batchSize = 2
+        }
+
+        when:
+        def result = command.deletebulk(options, new PagingResultOptions(), new ExecutionOutputFormatOption())
+
+        then:
+        1 * api.listExecutions('aproject', [max: '2', offset: '0'], null, null, null, null) >> Calls.response(
+                new ExecutionList(
+                        paging: new Paging(offset: 0, max: 2, total: 3, count: 2),
+                        executions: [new Execution(id: '1', description: ''), new Execution(id: '2', description: '')]
+                )
+        )
+        0 * api._(*_)
+        1 * out.error('No user interaction available. Use --confirm to confirm purge without user interaction')
+        1 * out.warning('Not deleting 3 executions')
+        result == 2
+    }
+
     private RdTool setupMock(RundeckApi api) {
         def retrofit = new Retrofit.Builder().baseUrl('http://example.com/fake/').build()
         def client = new Client(api, retrofit, null, null, 18, true, null)
@@ -199,6 +338,43 @@ class ExecutionsSpec extends Specification {
 
     }
 
+    def "followOutput with adaptive poll requests again without delay after a full page"() {
+        given:
+        def id = '123'
+        def api = Mock(RundeckApi)
+        def retrofit = new Retrofit.Builder().baseUrl('http://example.com/fake/').build()
+        def client = new Client(api, retrofit, null, null, 18, true, null)
+
+        ExecOutput execOutput = new ExecOutput()
+        execOutput.execState = 'running'
+        execOutput.offset = 100
+        execOutput.lastModified = 01L
+        execOutput.entries = (1..10).collect { new ExecLog() }
+
+        ExecOutput execOutputFinal = new ExecOutput()
+        execOutputFinal.execState = 'succeeded'
+        execOutputFinal.execCompleted = true
+        execOutputFinal.completed = true
+        execOutputFinal.entries = []
+        def delays = []
+
+        when:
+        boolean result = Executions.followOutput(
+                client,
+                execOutput,
+                id,
+                AdaptivePoll.adaptive(250, 5000, 10),
+                true,
+                { },
+                { long millis -> delays << millis; true }
+        )
+
+        then:
+        1 * api.getOutput(id, 100, 01L, 10, true) >> Calls.response(execOutputFinal)
+        result
+        delays == [0L]
+    }
+
     def "parse execution"() {
         given:
         MockWebServer server = new MockWebServer()
@@ -307,6 +483,192 @@ class ExecutionsSpec extends Specification {
 
     }
 
+    def "logs downloads each execution to a file and skips existing files"() {
+        given:
+        def dir = File.createTempDir()
+        new File(dir, '2.log').text = 'existing\n'
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def options = new Executions.LogsCmd(dir: dir, workers: 2, maxLines: 10)
+        options.project = 'aproject'
+
+        when:
+        def result = command.logs(options)
+
+        then:
+        1 * api.listExecutions('aproject', [max: '100', offset: '0'], null, null, null, null) >> Calls.response(
+                new ExecutionList(
+                        paging: new Paging(offset: 0, max: 100, total: 3, count: 3),
+                        executions: ['1', '2', '3'].collect { new Execution(id: it, description: '') }
+                )
+        )
+        1 * api.getOutput('1', 0L, 0L, 10L, true) >> Calls.response(
+                new ExecOutput(
+                        execState: 'running',
+                        offset: 10,
+                        lastModified: 1,
+                        compacted: true,
+                        entries: [new ExecLog(log: 'a', node: 'node1'), new ExecLog('b')]
+                )
+        )
+        1 * api.getOutput('1', 10L, 1L, _, true) >> Calls.response(
+                new ExecOutput(
+                        execState: 'succeeded',
+                        offset: 20,
+                        execCompleted: true,
+                        completed: true,
+                        entries: [new ExecLog('c')]
+                )
+        )
+        1 * api.getOutput('3', 0L, 0L, 10L, true) >> Calls.response(
+                new ExecOutput(
+                        execState: 'failed',
+                        offset: 5,
+                        execCompleted: true,
+                        completed: true,
+                        entries: [new ExecLog('x')]
+                )
+        )
+        0 * api._(*_)
+        result == 0
+        new File(dir, '1.log').text == 'a\nb\nc\n'
+        new File(dir, '2.log').text == 'existing\n'
+        new File(dir, '3.log').text == 'x\n'
+        !new File(dir, '1.log.part').exists()
+        1 * out.info({ it.startsWith('Downloaded 2, skipped 1, failed 0 executions') })
+
+        cleanup:
+        dir.deleteDir()
+    }
+
+    def "follow resumes from checkpoint"() {
+        given:
+        def dir = File.createTempDir()
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def checkpointFile = new File(dir, 'follow.properties')
+        FollowCheckpoint.load(checkpointFile.toPath(), '1').save(
+                new ExecOutput(offset: 100, lastModified: 5),
+                new ExecLog(log: 'a', level: 'NORMAL', node: 'node1')
+        )
+        def options = new ExecutionsFollowOptions(
+                id: '1',
+                checkpoint: checkpointFile,
+                outputFormat: '%node %log',
+                pollMin: 0,
+                pollMax: 0
+        )
+
+        when:
+        def result = command.follow(options, new ProjectNameOptions())
+
+        then:
+        1 * api.getOutput('1', 100L, 5L, _, true) >> Calls.response(
+                new ExecOutput(
+                        execState: 'running',
+                        offset: 200,
+                        lastModified: 6,
+                        compacted: true,
+                        entries: [new ExecLog('b')]
+                )
+        )
+        1 * api.getOutput('1', 200L, 6L, _, true) >> Calls.response(
+                new ExecOutput(
+                        execState: 'succeeded',
+                        offset: 300,
+                        lastModified: 7,
+                        execCompleted: true,
+                        completed: true,
+                        compacted: true,
+                        entries: [new ExecLog('c')]
+                )
+        )
+        0 * api._(*_)
+        1 * out.output('node1 b')
+        1 * out.output('node1 c')
+        result == 0
+        FollowCheckpoint.load(checkpointFile.toPath(), '1').offset == 300
+
+        cleanup:
+        dir.deleteDir()
+    }
+
+    def "follow large compacted log decompacts across pages"() {
+        given:
+        def pages = 50
+        def pageSize = 1000
+        MockWebServer server = new MockWebServer()
+        server.dispatcher = new Dispatcher() {
+            @Override
+            MockResponse dispatch(RecordedRequest request) {
+                int offset = request.requestUrl.queryParameter('offset').toInteger()
+                int page = offset.intdiv(pageSize)
+                def entries = (0..<pageSize).collect { i ->
+                    int n = offset + i
+                    if (n == 0) {
+                        return '{"log":"line 0","level":"NORMAL","node":"node0","time":"10:00"}'
+                    }
+                    n % 300 == 0 ? """{"log":"line ${n}","node":"node${n}"}""" : "\"line ${n}\""
+                }
+                def last = page == pages - 1
+                new MockResponse().addHeader('content-type', 'application/json').setBody("""{
+  "id": "123",
+  "offset": ${offset + pageSize},
+  "lastModified": 1,
+  "execState": "${last ? 'succeeded' : 'running'}",
+  "execCompleted": ${last},
+  "completed": ${last},
+  "compacted": true,
+  "compactedAttr": "log",
+  "entries": [${entries.join(',')}]
+}""")
+            }
+        }
+        server.start()
+        def retrofit = new Retrofit.Builder().baseUrl(server.url('/api/19/')).
+                addConverterFactory(JacksonConverterFactory.create()).
+                build()
+        def client = new Client(retrofit.create(RundeckApi), retrofit, null, null, 19, true, null)
+        def first = retrofit.create(RundeckApi).getOutput('123', 0L, 0L, (long) pageSize, true).execute().body()
+        def count = 0
+        def errors = []
+
+        when:
+        boolean result = Executions.followOutput(
+                client,
+                first,
+                '123',
+                AdaptivePoll.fixed(0, pageSize),
+                true,
+                { List<ExecLog> logs ->
+                    logs.each { ExecLog log ->
+                        def node = "node${count - count % 300}"
+                        if (log.log != "line ${count}" || log.node != node || log.level != 'NORMAL') {
+                            errors << "${count}: ${log.toMap()}"
+                        }
+                        count++
+                    }
+                },
+                { long millis -> true }
+        )
+
+        then:
+        result
+        count == pages * pageSize
+        errors == []
+
+        cleanup:
+        server.shutdown()
+    }
+
     def "executions query noninteractive --autopage behavior"() {
         given:
         def api = Mock(RundeckApi)
@@ -359,6 +721,347 @@ class ExecutionsSpec extends Specification {
         false    | false
     }
 
+    def "executions query --autopage requests the next page before output of each page"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def options = new Executions.QueryCmd()
+        options.project = 'aproject'
+        options.nonInteractive = true
+        options.autoLoadPages = true
+        def outputFormat = new ExecutionOutputFormatOption(outputFormat: '%id')
+
+        when:
+        def result = command.query(options, new PagingResultOptions(max: 1), outputFormat)
+
+        then:
+        1 * api.listExecutions('aproject', [max: '1', offset: '0'], null, null, null, null) >> Calls.response(
+                new ExecutionList(
+                        paging: new Paging(offset: 0, max: 1, total: 2, count: 1),
+                        executions: [new Execution(id: '1', description: '')]
+                )
+        )
+
+        then:
+        1 * api.listExecutions('aproject', [max: '1', offset: '1'], null, null, null, null) >> Calls.response(
+                new ExecutionList(
+                        paging: new Paging(offset: 1, max: 1, total: 2, count: 1),
+                        executions: [new Execution(id: '2', description: '')]
+                )
+        )
+
+        then:
+        1 * out.output('1')
+
+        then:
+        1 * out.output('2')
+        0 * api._(*_)
+        result.executions*.id == ['2']
+    }
+
+    def "executions sync stores executions for query --local"() {
+        given:
+        def dir = File.createTempDir()
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getString('RD_CACHE_DIR', null) >> dir.absolutePath
+            getString('RD_URL', null) >> 'http://example.com'
+        }
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def execs = [
+                new Execution(
+                        id: '1',
+                        status: 'succeeded',
+                        description: '',
+                        dateStarted: new DateInfo(date: 'a', unixtime: 1000),
+                        dateEnded: new DateInfo(date: 'b', unixtime: 2000),
+                        job: new JobItem(id: 'j1', name: 'build', group: 'ops/daily')
+                ),
+                new Execution(
+                        id: '2',
+                        status: 'failed',
+                        description: '',
+                        dateStarted: new DateInfo(date: 'c', unixtime: 3000),
+                        dateEnded: new DateInfo(date: 'd', unixtime: 4000)
+                ),
+        ]
+
+        when:
+        def synced = command.sync(new ProjectNameOptions(project: 'aproject'))
+
+        then:
+        1 * api.listExecutions('aproject', [max: '200', offset: '0'], null, null, null, null) >> Calls.response(
+                new ExecutionList(paging: new Paging(offset: 0, max: 200, total: 2, count: 2), executions: execs)
+        )
+        1 * api.runningExecutions('aproject', 0, 200) >> Calls.response(
+                new ExecutionList(paging: new Paging(offset: 0, max: 200, total: 0, count: 0), executions: [])
+        )
+        0 * api._(*_)
+        1 * out.info('Synced 2 new or changed executions, 2 total')
+        synced == 0
+
+        when:
+        def options = new Executions.QueryCmd(project: 'aproject', local: true, groupPath: 'ops')
+        def result = command.query(options, new PagingResultOptions(), new ExecutionOutputFormatOption(outputFormat: '%id'))
+
+        then:
+        0 * api._(*_)
+        1 * out.output('1')
+        result.executions*.id == ['1']
+        result.paging.total == 1
+
+        when:
+        command.sync(new ProjectNameOptions(project: 'aproject'))
+
+        then:
+        1 * api.listExecutions('aproject', [max: '200', offset: '0', begin: '1970-01-01T00:00:04Z'], null, null, null, null) >>
+        Calls.response(
+                new ExecutionList(paging: new Paging(offset: 0, max: 200, total: 1, count: 1), executions: [execs[1]])
+        )
+        1 * api.runningExecutions('aproject', 0, 200) >> Calls.response(
+                new ExecutionList(paging: new Paging(offset: 0, max: 200, total: 0, count: 0), executions: [])
+        )
+        1 * out.info('Synced 0 new or changed executions, 2 total')
+
+        cleanup:
+        dir.deleteDir()
+    }
+
+    def "query --local filters on the end time and returns 20 results by default"() {
+        given:
+        def dir = File.createTempDir()
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getString('RD_CACHE_DIR', null) >> dir.absolutePath
+            getString('RD_URL', null) >> 'http://example.com'
+        }
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        long now = System.currentTimeMillis()
+        long hour = 3600_000L
+        def exec = { String id, String status, long started, Long ended ->
+            new Execution(
+                    id: id,
+                    status: status,
+                    description: '',
+                    dateStarted: new DateInfo(date: 'a', unixtime: started),
+                    dateEnded: null != ended ? new DateInfo(date: 'b', unixtime: ended) : null
+            )
+        }
+        def recent = (1..24).collect { exec("r$it", 'succeeded', now - hour, now - hour + it * 60_000) }
+        def longRunning = exec('long', 'succeeded', now - 48 * hour, now - 2000)
+        def old = exec('old', 'failed', now - 3 * hour, now - 2 * hour)
+        def running = exec('running', 'running', now - 1000, null)
+
+        when: 'the pages have no paging info'
+        command.sync(new ProjectNameOptions(project: 'aproject'))
+
+        then:
+        1 * api.listExecutions('aproject', [max: '200', offset: '0'], null, null, null, null) >> Calls.response(
+                new ExecutionList(executions: recent + [longRunning, old])
+        )
+        1 * api.runningExecutions('aproject', 0, 200) >> Calls.response(new ExecutionList(executions: [running]))
+        0 * api._(*_)
+        1 * out.info('Synced 27 new or changed executions, 27 total')
+
+        when:
+        def options = new Executions.QueryCmd(project: 'aproject', local: true, recentFilter: '1h')
+        def result = command.query(
+                options,
+                new PagingResultOptions(max: 100),
+                new ExecutionOutputFormatOption(outputFormat: '%id')
+        )
+
+        then:
+        0 * api._(*_)
+        result.executions*.id as Set == (recent*.id + ['long']) as Set
+
+        when:
+        def older = command.query(
+                new Executions.QueryCmd(project: 'aproject', local: true, olderFilter: '1h'),
+                new PagingResultOptions(),
+                new ExecutionOutputFormatOption(outputFormat: '%id')
+        )
+
+        then:
+        older.executions*.id == ['old']
+
+        when:
+        def all = command.query(
+                new Executions.QueryCmd(project: 'aproject', local: true),
+                new PagingResultOptions(),
+                new ExecutionOutputFormatOption(outputFormat: '%id')
+        )
+
+        then:
+        all.executions.size() == 20
+        all.paging.max == 20
+        all.paging.total == 27
+
+        cleanup:
+        dir.deleteDir()
+    }
+
+    def "metrics --local-percentiles reads all pages and outputs each group"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def options = new Executions.MetricsCmd(
+                project: 'aproject',
+                localPercentiles: true,
+                groupBy: ExecutionStats.GroupBy.user,
+                outputFormat: '%group %total %failed %duration-p50 %duration-max'
+        )
+        def exec = { String user, long duration, String status ->
+            new Execution(
+                    user: user,
+                    status: status,
+                    description: '',
+                    dateStarted: new DateInfo(date: 'a', unixtime: 1000),
+                    dateEnded: new DateInfo(date: 'b', unixtime: 1000 + duration)
+            )
+        }
+
+        when:
+        command.metrics(options)
+
+        then:
+        1 * api.listExecutions('aproject', [max: '500', offset: '0'], null, null, null, null) >> Calls.response(
+                new ExecutionList(
+                        paging: new Paging(offset: 0, max: 2, total: 3, count: 2),
+                        executions: [exec('bob', 100, 'succeeded'), exec('alice', 3, 'failed')]
+                )
+        )
+        1 * api.listExecutions('aproject', [max: '500', offset: '2'], null, null, null, null) >> Calls.response(
+                new ExecutionList(
+                        paging: new Paging(offset: 2, max: 2, total: 3, count: 1),
+                        executions: [exec('bob', 300, 'succeeded')]
+                )
+        )
+        0 * api._(*_)
+        1 * out.output('alice 1 1 3 3')
+        1 * out.output('bob 2 0 128 300')
+    }
+
+    def "metrics --local-percentiles reads one page without paging info"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def options = new Executions.MetricsCmd(
+                project: 'aproject',
+                localPercentiles: true,
+                verbose: true,
+                groupBy: ExecutionStats.GroupBy.user,
+                outputFormat: '%group %total %duration-max'
+        )
+
+        when:
+        command.metrics(options)
+
+        then:
+        1 * api.listExecutions('aproject', [max: '500', offset: '0'], null, null, null, null) >> Calls.response(
+                new ExecutionList(
+                        executions: [
+                                new Execution(
+                                        user: 'bob',
+                                        status: 'succeeded',
+                                        description: '',
+                                        dateStarted: new DateInfo(date: 'a', unixtime: 1000),
+                                        dateEnded: new DateInfo(date: 'b', unixtime: 1050)
+                                )
+                        ]
+                )
+        )
+        0 * api._(*_)
+        1 * out.output('bob 1 50')
+    }
+
+    def "follow options parse -e and more execution IDs"() {
+        given:
+        def options = new ExecutionsFollowOptions()
+
+        when:
+        new CommandLine(options).parseArgs(args as String[])
+
+        then:
+        options.id == id
+        options.executionIds == all
+
+        where:
+        args                  | id   | all
+        ['-e', '1']           | '1'  | ['1']
+        ['-e', '1', '2', '3'] | '1'  | ['1', '2', '3']
+        ['--eid=1', '2']      | '1'  | ['1', '2']
+        ['--query']           | null | []
+    }
+
+    def "follow multiple executions prefixes output and summarizes status"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Executions command = new Executions()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def options = new ExecutionsFollowOptions(id: '1', ids: ['2'], tail: 1, pollMin: 0, pollMax: 0)
+
+        when:
+        def result = command.follow(options, new ProjectNameOptions())
+
+        then:
+        1 * api.getOutput('1', 1L) >> Calls.response(
+                new ExecOutput(
+                        execState: 'succeeded',
+                        execCompleted: true,
+                        completed: true,
+                        entries: [new ExecLog(log: 'one')]
+                )
+        )
+        1 * api.getOutput('2', 1L) >> Calls.response(
+                new ExecOutput(
+                        execState: 'running',
+                        offset: 10,
+                        lastModified: 5L,
+                        entries: [new ExecLog(log: 'two')]
+                )
+        )
+        1 * api.getOutput('2', 10L, 5L, _, true) >> Calls.response(
+                new ExecOutput(
+                        execState: 'failed',
+                        execCompleted: true,
+                        completed: true,
+                        entries: [new ExecLog(log: 'done', level: 'ERROR')]
+                )
+        )
+        0 * api._(*_)
+        1 * out.output('[1] one')
+        1 * out.output('[2] two')
+        1 * out.error('[2] done')
+        1 * out.info('[1] succeeded')
+        1 * out.info('[2] failed')
+        result == 1
+    }
+
     def "kill"() {
         given:
         def api = Mock(RundeckApi)
@@ -29,6 +29,7 @@ import org.rundeck.client.tool.InputError
 
 import okhttp3.MediaType
 import okhttp3.ResponseBody
+import org.rundeck.client.api.RequestFailed
 import org.rundeck.client.api.RundeckApi
 import org.rundeck.client.api.model.DeleteJobsResult
 import org.rundeck.client.api.model.ImportResult
@@ -112,6 +113,33 @@ class JobsSpec extends Specification {
         null | null  | 'a'      | 'b/c'
     }
 
+    def "job list streaming outputs each job"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getBool('RD_STREAMING', false) >> true
+        }
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def opts = new JobListOptions()
+        opts.project = 'ProjectName'
+        opts.setJob('a')
+
+        when:
+        command.list(new JobOutputFormatOption(), new JobFileOptions(), opts)
+
+        then:
+        1 * api.streamJobs('ProjectName', 'a', null, null, null) >>
+                Calls.response(java.util.stream.Stream.of(new JobItem(id: 'id1'), new JobItem(id: 'id2')))
+        0 * api._(*_)
+        2 * out.output(_)
+        1 * out.info({ it.startsWith('2 Jobs in project ProjectName') })
+    }
+
     def "job list write to file with input parameters"() {
         given:
         def api = Mock(RundeckApi)
@@ -401,6 +429,203 @@ class JobsSpec extends Specification {
             'a' | 99    | 5     | 99  || [5]
     }
 
+    def "job purge parallel batches retry failed batches"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        rdTool.appConfig.getLong('RD_HTTP_RETRY_BACKOFF', _) >> 0L
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def opts = new Jobs.Purge(confirm: true, batchSize: 2, parallel: 2, retry: 2, keepGoing: true)
+        def listOpts = new JobListOptions(idlist: ['a', 'b', 'c', 'd', 'e', 'f', 'g'])
+
+        when:
+        def result = command.purge(opts, new JobOutputFormatOption(), new JobFileOptions(), listOpts)
+
+        then:
+        1 * api.deleteJobsBulk({ it.ids == ['a', 'b'] }) >> Calls.response(new DeleteJobsResult(allsuccessful: true))
+        2 * api.deleteJobsBulk({ it.ids == ['c', 'd'] }) >>> [
+                Calls.failure(new IOException('connection reset')),
+                Calls.response(
+                        new DeleteJobsResult(
+                                allsuccessful: false,
+                                failed: [new DeleteJob(id: 'c', errorCode: JobPurge.NOT_FOUND)]
+                        )
+                )
+        ]
+        1 * api.deleteJobsBulk({ it.ids == ['e', 'f'] }) >> Calls.response(
+                new DeleteJobsResult(allsuccessful: false, failed: [new DeleteJob(id: 'f', message: 'locked')])
+        )
+        1 * api.deleteJobsBulk({ it.ids == ['g'] }) >> Calls.response(new DeleteJobsResult(allsuccessful: true))
+        0 * api._(*_)
+        1 * out.warning('Failed to delete batch of 2 Jobs, retrying in 0ms (1 of 2)')
+        1 * out.info({ it.startsWith('6 Jobs were deleted, 1 failed') })
+        result == 1
+    }
+
+    def "job purge retries only transport errors and 5xx or 429 responses"() {
+        expect:
+        JobPurge.isRetryable(error) == retryable
+
+        where:
+        error                                 | retryable
+        new IOException('timeout')            | true
+        new RequestFailed(503, 'unavailable') | true
+        new RequestFailed(500, 'error')       | true
+        new RequestFailed(429, 'too many')    | true
+        new RequestFailed(409, 'conflict')    | false
+        new RequestFailed(403, 'forbidden')   | false
+        new InputError('bad')                 | false
+    }
+
+    def "job purge stops after failed batch unless keep going"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def opts = new Jobs.Purge(confirm: true, batchSize: 2, keepGoing: keepGoing)
+        def listOpts = new JobListOptions(idlist: ['a', 'b', 'c', 'd', 'e'])
+
+        when:
+        def result = command.purge(opts, new JobOutputFormatOption(), new JobFileOptions(), listOpts)
+
+        then:
+        1 * api.deleteJobsBulk({ it.ids == ['a', 'b'] }) >> Calls.failure(new IOException('timeout'))
+        (keepGoing ? 1 : 0) * api.deleteJobsBulk({ it.ids == ['c', 'd'] }) >>
+        Calls.response(new DeleteJobsResult(allsuccessful: true))
+        (keepGoing ? 1 : 0) * api.deleteJobsBulk({ it.ids == ['e'] }) >>
+        Calls.response(new DeleteJobsResult(allsuccessful: true))
+        0 * api._(*_)
+        1 * out.error(String.format('Failed to delete %d Jobs%n', 2))
+        1 * out.output(['[a] timeout', '[b] timeout'])
+        result == 1
+
+        where:
+        keepGoing << [false, true]
+    }
+
+    def "job purge with file exports the resolved jobs"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def opts = new Jobs.Purge(confirm: true, max: 2)
+        def listOpts = new JobListOptions(job: 'a', project: 'ProjectName')
+        def fileOptions = new JobFileOptions(format: JobFileOptions.Format.xml, file: tempFile)
+
+        when:
+        def result = command.purge(opts, new JobOutputFormatOption(), fileOptions, listOpts)
+
+        then:
+        1 * api.listJobs('ProjectName', 'a', null, null, null) >>
+        Calls.response([new JobItem(id: 'id1'), new JobItem(id: 'id2'), new JobItem(id: 'id3')])
+        1 * api.exportJobs('ProjectName', 'id1,id2', 'xml') >>
+        Calls.response(ResponseBody.create(MediaType.parse('application/xml'), 'abc'))
+        1 * api.deleteJobsBulk({ it.ids == ['id1', 'id2'] }) >> Calls.response(new DeleteJobsResult(allsuccessful: true))
+        0 * api._(*_)
+        tempFile.text == 'abc'
+        result == 0
+    }
+
+    def "job purge with file exports large id lists in chunks"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def ids = (1..450).collect { "id$it".toString() }
+        def opts = new Jobs.Purge(confirm: true)
+        def listOpts = new JobListOptions(idlist: ids, project: 'ProjectName')
+        def fileOptions = new JobFileOptions(format: JobFileOptions.Format.yaml, file: tempFile)
+        def requested = []
+
+        when:
+        def result = command.purge(opts, new JobOutputFormatOption(), fileOptions, listOpts)
+
+        then:
+        3 * api.exportJobs('ProjectName', _, 'yaml') >> {
+            def chunk = it[1].split(',').toList()
+            requested << chunk.size()
+            Calls.response(ResponseBody.create(
+                    chunk.collect { "- id: $it\n" }.join(''),
+                    Client.MEDIA_TYPE_YAML
+            ))
+        }
+        1 * api.deleteJobsBulk({ it.ids.size() == 450 }) >> Calls.response(new DeleteJobsResult(allsuccessful: true))
+        0 * api._(*_)
+        requested == [200, 200, 50]
+        new org.yaml.snakeyaml.Yaml().load(tempFile.text).collect { it.id } == ids
+        result == 0
+    }
+
+    def "job purge with file does not export when no jobs match"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        def opts = new Jobs.Purge(confirm: true)
+        def listOpts = new JobListOptions(job: 'a', project: 'ProjectName')
+        def fileOptions = new JobFileOptions(format: JobFileOptions.Format.xml, file: tempFile)
+
+        when:
+        def result = command.purge(opts, new JobOutputFormatOption(), fileOptions, listOpts)
+
+        then:
+        1 * api.listJobs('ProjectName', 'a', null, null, null) >> Calls.response([])
+        0 * api._(*_)
+        result == 0
+    }
+
+    def "job purge streaming deletes batches while reading the job list"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getBool('RD_STREAMING', false) >> true
+        }
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def read = []
+        def jobs = (1..5).collect { new JobItem(id: "id$it") }.stream().peek { read << it.id }
+
+        def opts = new Jobs.Purge(confirm: true, batchSize: 2)
+        def listOpts = new JobListOptions(job: 'a', project: 'ProjectName')
+
+        when:
+        def result = command.purge(opts, new JobOutputFormatOption(), new JobFileOptions(), listOpts)
+
+        then:
+        1 * api.streamJobs('ProjectName', 'a', null, null, null) >> Calls.response(jobs)
+        1 * api.deleteJobsBulk({ it.ids == ['id1', 'id2'] }) >> {
+            assert read.size() < 5
+            Calls.response(new DeleteJobsResult(allsuccessful: true))
+        }
+        1 * api.deleteJobsBulk({ it.ids == ['id3', 'id4'] }) >> Calls.response(new DeleteJobsResult(allsuccessful: true))
+        1 * api.deleteJobsBulk({ it.ids == ['id5'] }) >> Calls.response(new DeleteJobsResult(allsuccessful: true))
+        0 * api._(*_)
+        result == 0
+    }
+
     def "job purge invalid input"() {
         given:
         def api = Mock(RundeckApi)
@@ -512,6 +737,362 @@ class JobsSpec extends Specification {
 
     }
 
+    def "job load dir combines files and attributes results to files"() {
+        given:
+        def dir = File.createTempDir()
+        new File(dir, 'a.yaml').text = '- name: job1\n'
+        new File(dir, 'bad.yaml').text = 'name: notalist\n'
+        new File(dir, 'readme.txt').text = 'ignored'
+        new File(dir, 'sub').mkdirs()
+        new File(dir, 'sub/b.yaml').text = '- name: job2\n- name: job3\n'
+        def fileOpts = new JobFileOptions(format: JobFileOptions.Format.yaml)
+
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def uploaded = []
+
+        when:
+        def result = command.load(
+                new JobLoadOptions(dir: dir),
+                fileOpts,
+                new ProjectNameOptions(project: 'ProjectName'),
+                new VerboseOption()
+        )
+
+        then:
+        1 * api.loadJobs('ProjectName', { RequestBody body -> body.contentType() == Client.MEDIA_TYPE_YAML }, 'update', 'preserve') >> {
+            def buffer = new okio.Buffer()
+            it[1].writeTo(buffer)
+            uploaded << buffer.readUtf8()
+            Calls.response(new ImportResult(
+                    succeeded: [new JobLoadItem(id: 'id1', name: 'job1', index: 1), new JobLoadItem(id: 'id3', name: 'job3', index: 3)],
+                    skipped: [],
+                    failed: [new JobLoadItem(name: 'job2', index: 2, error: 'invalid')]
+            ))
+        }
+        0 * api._(*_)
+        1 * out.output(['a.yaml: id1 job1', "sub${File.separator}b.yaml: id3 job3"])
+        1 * out.output([
+                'bad.yaml: expected a list of job definitions',
+                "sub${File.separator}b.yaml: [id:?] job2\n\t:invalid"
+        ])
+        result == 1
+        uploaded.size() == 1
+        new org.yaml.snakeyaml.Yaml().load(uploaded[0]) == [[name: 'job1'], [name: 'job2'], [name: 'job3']]
+
+        cleanup:
+        dir.deleteDir()
+    }
+
+    def "job load dir uploads batches of at most batch bytes"() {
+        given:
+        def dir = File.createTempDir()
+        (1..3).each { new File(dir, "job${it}.xml").text = "<joblist><job><name>job${it}</name></job></joblist>" }
+        def fileOpts = new JobFileOptions(format: JobFileOptions.Format.xml)
+
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def uploaded = []
+
+        when:
+        def result = command.load(
+                new JobLoadOptions(dir: dir, batchBytes: 100),
+                fileOpts,
+                new ProjectNameOptions(project: 'ProjectName'),
+                new VerboseOption()
+        )
+
+        then:
+        2 * api.loadJobs('ProjectName', _, 'update', 'preserve') >> {
+            def buffer = new okio.Buffer()
+            it[1].writeTo(buffer)
+            uploaded << buffer.readUtf8()
+            Calls.response(new ImportResult(succeeded: [], skipped: [], failed: []))
+        }
+        0 * api._(*_)
+        1 * out.info(String.format('Loaded %d files in %d uploads%n', 3, 2))
+        result == 0
+        uploaded.collect { (it =~ /<job>/).count } == [2, 1]
+
+        cleanup:
+        dir.deleteDir()
+    }
+
+    def "jobs sync uploads changed jobs, deletes server only jobs, and uses the manifest when the list is unchanged"() {
+        given:
+        def dir = File.createTempDir()
+        def cacheDir = File.createTempDir()
+        new File(dir, 'a.yaml').text = '- name: job1\n  description: same\n- name: job2\n  description: new\n'
+        new File(dir, 'b.yaml').text = '- name: job4\n'
+        def exported = """- id: id1
+  uuid: id1
+  name: job1
+  description: same
+- id: id2
+  uuid: id2
+  name: job2
+  description: old
+- id: id3
+  uuid: id3
+  name: job3
+"""
+        def before = [new JobItem(id: 'id1', name: 'job1'), new JobItem(id: 'id2', name: 'job2'), new JobItem(id: 'id3', name: 'job3')]
+        def after = [new JobItem(id: 'id1', name: 'job1'), new JobItem(id: 'id2', name: 'job2'), new JobItem(id: 'id4', name: 'job4')]
+
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getString('RD_CACHE_DIR', null) >> cacheDir.absolutePath
+            getString('RD_URL', null) >> 'http://example.com'
+        }
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def uploaded = []
+
+        when:
+        def result = command.sync(new Jobs.Sync(dir: dir, delete: true), new ProjectNameOptions(project: 'ProjectName'))
+
+        then:
+        2 * api.listJobsRevalidated('ProjectName') >>> [Calls.response(before), Calls.response(after)]
+        1 * api.exportJobs('ProjectName', null, null, null, null, 'yaml') >>
+                Calls.response(ResponseBody.create(exported, Client.MEDIA_TYPE_YAML))
+        1 * api.loadJobs('ProjectName', _, 'update', 'preserve') >> {
+            def buffer = new okio.Buffer()
+            it[1].writeTo(buffer)
+            uploaded << buffer.readUtf8()
+            Calls.response(new ImportResult(
+                    succeeded: [new JobLoadItem(id: 'id2', name: 'job2', index: 1), new JobLoadItem(id: 'id4', name: 'job4', index: 2)],
+                    skipped: [],
+                    failed: []
+            ))
+        }
+        1 * api.deleteJobsBulk({ it.ids == ['id3'] }) >> Calls.response(new DeleteJobsResult(allsuccessful: true))
+        0 * api._(*_)
+        1 * out.info(String.format('%d Jobs added, %d changed, %d unchanged%n', 1, 1, 1))
+        1 * out.output(['a.yaml: id2 job2', 'b.yaml: id4 job4'])
+        result == 0
+        new org.yaml.snakeyaml.Yaml().load(uploaded[0]) == [[name: 'job2', description: 'new'], [name: 'job4']]
+
+        when:
+        def result2 = command.sync(new Jobs.Sync(dir: dir, delete: true), new ProjectNameOptions(project: 'ProjectName'))
+
+        then:
+        2 * api.listJobsRevalidated('ProjectName') >> { Calls.response(after) }
+        0 * api._(*_)
+        1 * out.info('Job list is unchanged since the last sync, using the saved manifest')
+        1 * out.info(String.format('%d Jobs added, %d changed, %d unchanged%n', 0, 0, 3))
+        result2 == 0
+
+        cleanup:
+        dir.deleteDir()
+        cacheDir.deleteDir()
+    }
+
+    def "jobs sync does not delete when a file fails to load"() {
+        given:
+        def dir = File.createTempDir()
+        def cacheDir = File.createTempDir()
+        new File(dir, 'a.yaml').text = '- name: job1\n'
+        new File(dir, 'b.yaml').text = '- name: [job2\n'
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getString('RD_CACHE_DIR', null) >> cacheDir.absolutePath
+            getString('RD_URL', null) >> 'http://example.com'
+        }
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def jobs = [new JobItem(id: 'id1', name: 'job1'), new JobItem(id: 'id2', name: 'job2')]
+
+        when:
+        def result = command.sync(new Jobs.Sync(dir: dir, delete: true), new ProjectNameOptions(project: 'ProjectName'))
+
+        then:
+        1 * api.listJobsRevalidated('ProjectName') >> Calls.response(jobs)
+        1 * api.exportJobs('ProjectName', null, null, null, null, 'yaml') >> Calls.response(ResponseBody.create(
+                '- id: id1\n  uuid: id1\n  name: job1\n- id: id2\n  uuid: id2\n  name: job2\n',
+                Client.MEDIA_TYPE_YAML
+        ))
+        0 * api.deleteJobsBulk(_)
+        0 * api._(*_)
+        1 * out.warning(String.format(
+                'Not deleting %d Jobs which exist only on the server, because some files failed to load:%n',
+                1
+        ))
+        1 * out.output(['job2'])
+        result == 1
+
+        cleanup:
+        dir.deleteDir()
+        cacheDir.deleteDir()
+    }
+
+    def "jobs sync reports server only jobs without --delete"() {
+        given:
+        def dir = File.createTempDir()
+        def cacheDir = File.createTempDir()
+        new File(dir, 'a.json').text = '[{"name":"job1","group":"g"}]'
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getString('RD_CACHE_DIR', null) >> cacheDir.absolutePath
+            getString('RD_URL', null) >> 'http://example.com'
+        }
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def jobs = [new JobItem(id: 'id1', name: 'job1', group: 'g'), new JobItem(id: 'id2', name: 'job2')]
+
+        when:
+        def result = command.sync(
+                new Jobs.Sync(dir: dir, format: JobFileOptions.Format.json),
+                new ProjectNameOptions(project: 'ProjectName')
+        )
+
+        then:
+        2 * api.listJobsRevalidated('ProjectName') >> { Calls.response(jobs) }
+        1 * api.exportJobs('ProjectName', null, null, null, null, 'json') >> Calls.response(ResponseBody.create(
+                '[{"id":"id1","uuid":"id1","group":"g","name":"job1"},{"id":"id2","uuid":"id2","name":"job2"}]',
+                Client.MEDIA_TYPE_JSON
+        ))
+        0 * api._(*_)
+        1 * out.info(String.format('%d Jobs added, %d changed, %d unchanged%n', 0, 0, 1))
+        1 * out.output(['job2'])
+        result == 0
+
+        cleanup:
+        dir.deleteDir()
+        cacheDir.deleteDir()
+    }
+
+    def "jobs sync compares a minimal local file with the server export using the saved hashes"() {
+        given:
+        def dir = File.createTempDir()
+        def cacheDir = File.createTempDir()
+        new File(dir, 'a.yaml').text = '- name: job1\n  sequence:\n    commands:\n    - exec: echo hi\n'
+        def exported = { String loglevel ->
+            """- defaultTab: nodes
+  description: ''
+  executionEnabled: true
+  id: id1
+  loglevel: ${loglevel}
+  name: job1
+  nodeFilterEditable: false
+  plugins:
+    ExecutionLifecycle: null
+  scheduleEnabled: true
+  schedules: []
+  sequence:
+    commands:
+    - exec: echo hi
+    keepgoing: false
+    strategy: node-first
+  uuid: id1
+"""
+        }
+        def job1 = new JobItem(id: 'id1', name: 'job1')
+        def job2 = new JobItem(id: 'id2', name: 'job2')
+
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getString('RD_CACHE_DIR', null) >> cacheDir.absolutePath
+            getString('RD_URL', null) >> 'http://example.com'
+        }
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        when: 'first sync has no saved hashes, so the job is uploaded'
+        def result = command.sync(new Jobs.Sync(dir: dir), new ProjectNameOptions(project: 'ProjectName'))
+
+        then:
+        2 * api.listJobsRevalidated('ProjectName') >> { Calls.response([job1]) }
+        1 * api.exportJobs('ProjectName', null, null, null, null, 'yaml') >>
+                Calls.response(ResponseBody.create(exported('INFO'), Client.MEDIA_TYPE_YAML))
+        1 * api.loadJobs('ProjectName', _, 'update', 'preserve') >>
+                Calls.response(new ImportResult(succeeded: [new JobLoadItem(id: 'id1', name: 'job1', index: 1)], skipped: [], failed: []))
+        0 * api._(*_)
+        1 * out.info(String.format('%d Jobs added, %d changed, %d unchanged%n', 0, 1, 0))
+        result == 0
+
+        when: 'a full export with server defaults matches the saved local hash'
+        def result2 = command.sync(new Jobs.Sync(dir: dir, full: true), new ProjectNameOptions(project: 'ProjectName'))
+
+        then:
+        2 * api.listJobsRevalidated('ProjectName') >> { Calls.response([job1]) }
+        1 * api.exportJobs('ProjectName', null, null, null, null, 'yaml') >>
+                Calls.response(ResponseBody.create(exported('INFO'), Client.MEDIA_TYPE_YAML))
+        0 * api._(*_)
+        1 * out.info(String.format('%d Jobs added, %d changed, %d unchanged%n', 0, 0, 1))
+        result2 == 0
+
+        when: 'another job is added on the server, which forces an export'
+        def result3 = command.sync(new Jobs.Sync(dir: dir), new ProjectNameOptions(project: 'ProjectName'))
+
+        then:
+        2 * api.listJobsRevalidated('ProjectName') >> { Calls.response([job1, job2]) }
+        1 * api.exportJobs('ProjectName', null, null, null, null, 'yaml') >> Calls.response(ResponseBody.create(
+                exported('INFO') + '- id: id2\n  uuid: id2\n  name: job2\n',
+                Client.MEDIA_TYPE_YAML
+        ))
+        0 * api._(*_)
+        1 * out.info(String.format('%d Jobs added, %d changed, %d unchanged%n', 0, 0, 1))
+        result3 == 0
+
+        when: 'the job was changed on the server'
+        def result4 = command.sync(new Jobs.Sync(dir: dir, full: true), new ProjectNameOptions(project: 'ProjectName'))
+
+        then:
+        2 * api.listJobsRevalidated('ProjectName') >> { Calls.response([job1, job2]) }
+        1 * api.exportJobs('ProjectName', null, null, null, null, 'yaml') >> Calls.response(ResponseBody.create(
+                exported('DEBUG') + '- id: id2\n  uuid: id2\n  name: job2\n',
+                Client.MEDIA_TYPE_YAML
+        ))
+        1 * api.loadJobs('ProjectName', _, 'update', 'preserve') >>
+                Calls.response(new ImportResult(succeeded: [new JobLoadItem(id: 'id1', name: 'job1', index: 1)], skipped: [], failed: []))
+        0 * api._(*_)
+        1 * out.info(String.format('%d Jobs added, %d changed, %d unchanged%n', 0, 1, 0))
+        result4 == 0
+
+        cleanup:
+        dir.deleteDir()
+        cacheDir.deleteDir()
+    }
+
+    def "jobs sync does not support xml"() {
+        given:
+        def api = Mock(RundeckApi)
+        Jobs command = new Jobs()
+        command.rdTool = setupMock(api)
+        command.rdOutput = Mock(CommandOutput)
+
+        when:
+        command.sync(
+                new Jobs.Sync(dir: File.createTempDir(), format: JobFileOptions.Format.xml),
+                new ProjectNameOptions(project: 'ProjectName')
+        )
+
+        then:
+        InputError e = thrown()
+        e.message == 'sync supports the yaml and json formats'
+        0 * api._(*_)
+    }
+
     def "job load with errors verbose output"() {
         given:
             def api = Mock(RundeckApi)
@@ -779,4 +1360,39 @@ class JobsSpec extends Specification {
     }
 
 
+    def "enable bulk with batch size sends batches and merges results"() {
+        given:
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api, 31)
+        def out = Mock(CommandOutput)
+        Jobs command = new Jobs()
+        command.rdTool = rdTool
+        command.rdOutput = out
+        def opts = new BulkJobActionOptions()
+        opts.confirm = true
+        opts.idlist = ['a', 'b', 'c', 'd', 'e']
+        opts.batchSize = 2
+        def ok = { List<String> ids ->
+            Calls.response(new BulkToggleJobExecutionResponse(
+                    requestCount: ids.size(),
+                    allsuccessful: true,
+                    succeeded: ids.collect { new BulkToggleJobExecutionResponse.Result(id: it, message: 'ok') }
+            ))
+        }
+
+        when:
+        def result = command.enablebulk(opts, new VerboseOption())
+
+        then:
+        1 * api.bulkEnableJobs({ it.ids == ['a', 'b'] }) >> ok(['a', 'b'])
+        1 * api.bulkEnableJobs({ it.ids == ['c', 'd'] }) >> Calls.failure(new IOException('timeout'))
+        1 * api.bulkEnableJobs({ it.ids == ['e'] }) >> ok(['e'])
+        0 * api._(*_)
+        1 * out.error('Failed request for batch of 2 jobs: timeout')
+        1 * out.info('Enabled 3 of 5 jobs, 2 failed')
+        1 * out.error(String.format('Failed to enable %d Jobs%n', 2))
+        1 * out.output(["* #c: 'timeout'", "* #d: 'timeout'"])
+        result == 1
+    }
+
 }
@@ -16,6 +16,7 @@
 
 package org.rundeck.client.tool.commands
 
+import org.rundeck.client.api.RequestFailed
 import org.rundeck.client.api.RundeckApi
 import org.rundeck.client.api.model.DateInfo
 import org.rundeck.client.api.model.ExecOutput
@@ -116,6 +117,121 @@ class RunSpec extends Specification {
         result == 0
 
     }
+    def "run command -j uses the local job index when enabled"() {
+
+        given:
+        def cacheDir = File.createTempDir()
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api, 17)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getBool('RD_JOB_INDEX', false) >> true
+            getString('RD_CACHE_DIR', null) >> cacheDir.absolutePath
+            getString('RD_URL', null) >> 'http://example.com'
+        }
+        def out = Mock(CommandOutput)
+        Run command = new Run()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        command.options.project = 'ProjectName'
+        command.options.job = 'a group/path/a job'
+
+        when:
+        def result = command.call()
+        def result2 = command.call()
+
+        then:
+        1 * api.listJobs('ProjectName', null, null, null, null) >> Calls.response([
+                new JobItem(id: 'fakeid', name: 'a job', group: 'a group/path'),
+                new JobItem(id: 'other', name: 'b job', group: 'a group/path')
+        ])
+        2 * api.runJob('fakeid', null, null, null, null) >> { Calls.response(new Execution(id: 123, description: '')) }
+        0 * api._(*_)
+        result == 0
+        result2 == 0
+
+        cleanup:
+        cacheDir.deleteDir()
+    }
+
+    def "run command -j queries the server if the indexed job is not found"() {
+
+        given:
+        def cacheDir = File.createTempDir()
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api, 17)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getBool('RD_JOB_INDEX', false) >> true
+            getString('RD_CACHE_DIR', null) >> cacheDir.absolutePath
+            getString('RD_URL', null) >> 'http://example.com'
+        }
+        def out = Mock(CommandOutput)
+        Run command = new Run()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        command.options.project = 'ProjectName'
+        command.options.job = 'a group/path/a job'
+
+        when:
+        def result = command.call()
+
+        then:
+        1 * api.listJobs('ProjectName', null, null, null, null) >>
+                Calls.response([new JobItem(id: 'oldid', name: 'a job', group: 'a group/path')])
+        1 * api.runJob('oldid', null, null, null, null) >>
+                Calls.failure(new RequestFailed('Could not find resource: 404 Not Found', 404, 'Not Found'))
+        1 * out.warning('Job oldid was not found, the local job index was removed')
+        1 * api.listJobs('ProjectName', null, null, 'a job', 'a group/path') >>
+                Calls.response([new JobItem(id: 'newid')])
+        1 * api.runJob('newid', null, null, null, null) >> Calls.response(new Execution(id: 123, description: ''))
+        0 * api._(*_)
+        result == 0
+        !new File(cacheDir, 'jobs').listFiles().any { dir -> dir.listFiles().any { new File(it, 'index.json').exists() } }
+
+        cleanup:
+        cacheDir.deleteDir()
+    }
+
+    def "run command -j warns if the job started from the local job index has a different name"() {
+
+        given:
+        def cacheDir = File.createTempDir()
+        def api = Mock(RundeckApi)
+        RdTool rdTool = setupMock(api, 17)
+        rdTool.appConfig = Mock(RdClientConfig) {
+            getBool('RD_JOB_INDEX', false) >> true
+            getString('RD_CACHE_DIR', null) >> cacheDir.absolutePath
+            getString('RD_URL', null) >> 'http://example.com'
+        }
+        def out = Mock(CommandOutput)
+        Run command = new Run()
+        command.rdTool = rdTool
+        command.rdOutput = out
+
+        command.options.project = 'ProjectName'
+        command.options.job = 'a group/path/a job'
+
+        when:
+        def result = command.call()
+
+        then:
+        1 * api.listJobs('ProjectName', null, null, null, null) >>
+                Calls.response([new JobItem(id: 'fakeid', name: 'a job', group: 'a group/path')])
+        1 * api.runJob('fakeid', null, null, null, null) >> Calls.response(
+                new Execution(id: 123, description: '', job: new JobItem(id: 'fakeid', name: 'renamed', group: 'other'))
+        )
+        1 * out.warning(
+                'Started Job other/renamed (fakeid) does not match the requested Job a group/path/a job, the local job index was removed'
+        )
+        0 * api._(*_)
+        result == 0
+        !new File(cacheDir, 'jobs').listFiles().any { dir -> dir.listFiles().any { new File(it, 'index.json').exists() } }
+
+        cleanup:
+        cacheDir.deleteDir()
+    }
+
     def "run at time supports multiple formats"() {
 
         given:
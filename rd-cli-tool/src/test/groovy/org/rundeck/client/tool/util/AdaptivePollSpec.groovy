@@ -0,0 +1,63 @@
+package org.rundeck.client.tool.util
+
+import org.rundeck.client.api.model.ExecLog
+import org.rundeck.client.api.model.ExecOutput
+import spock.lang.Specification
+
+class AdaptivePollSpec extends Specification {
+    private static ExecOutput output(int entries, long offset, boolean unmodified = false, int totalSize = 0) {
+        def output = new ExecOutput()
+        output.entries = (0..<entries).collect { new ExecLog() }
+        output.offset = offset
+        output.unmodified = unmodified
+        output.totalSize = totalSize
+        output.percentLoaded = totalSize > 0 ? (float) (100.0 * offset / totalSize) : 0
+        output
+    }
+
+    def "full page polls again immediately"() {
+        given:
+        def poll = AdaptivePoll.adaptive(250, 5000, 500)
+
+        expect:
+        poll.next(0, output(500, 50000)) == 0
+        poll.pageSize == 500
+    }
+
+    def "unmodified responses back off up to the max"() {
+        given:
+        def poll = AdaptivePoll.adaptive(250, 2000, 500)
+
+        expect:
+        [1, 2, 3, 4, 5].collect { poll.next(100, output(0, 100, true)) } == [500, 1000, 2000, 2000, 2000]
+        poll.next(100, output(3, 160)) == 250
+    }
+
+    def "page size scales with remaining output"() {
+        given:
+        def poll = AdaptivePoll.adaptive(250, 5000, 500)
+
+        when:
+        //10 entries of 10 bytes, and 2000 bytes remaining
+        poll.next(0, output(10, 100, false, 2100))
+
+        then:
+        poll.pageSize == 200
+
+        when:
+        poll.next(100, output(2, 120, false, 120))
+
+        then:
+        poll.pageSize == AdaptivePoll.MIN_PAGE_SIZE
+    }
+
+    def "fixed poll"() {
+        given:
+        def poll = AdaptivePoll.fixed(2000, 100)
+
+        expect:
+        poll.next(0, output(100, 1000)) == 2000
+        poll.next(1000, output(0, 1000, true)) == 2000
+        poll.pageSize == 100
+    }
+}
@@ -0,0 +1,52 @@
+package org.rundeck.client.tool.util
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ApiVersionCacheSpec extends Specification {
+    Path dir
+
+    def setup() {
+        dir = Files.createTempDirectory('rdcache')
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def "put and get by app base url"() {
+        given:
+        def cache = new ApiVersionCache(dir.resolve('api-versions.properties'), 60_000)
+
+        when:
+        cache.put('https://rundeck.example.com', 20)
+
+        then:
+        cache.get('https://rundeck.example.com/') == 20
+        cache.get('https://other.example.com/') == null
+        cache.get('https://rundeck.example.com/api/30') == null
+    }
+
+    def "expired entry is ignored"() {
+        given:
+        def file = dir.resolve('api-versions.properties')
+        new ApiVersionCache(file, 60_000).put('https://rundeck.example.com/', 20)
+
+        expect:
+        new ApiVersionCache(file, -1).get('https://rundeck.example.com/') == null
+    }
+
+    def "remove"() {
+        given:
+        def cache = new ApiVersionCache(dir.resolve('api-versions.properties'), 60_000)
+        cache.put('https://rundeck.example.com/', 20)
+
+        when:
+        cache.remove('https://rundeck.example.com/')
+
+        then:
+        cache.get('https://rundeck.example.com/') == null
+    }
+}
@@ -0,0 +1,73 @@
+package org.rundeck.client.tool.util
+
+import spock.lang.Specification
+
+class DurationHistogramSpec extends Specification {
+    def "bucket bounds"() {
+        expect:
+        DurationHistogram.bucket(millis) == index
+        DurationHistogram.lowerBound(index) == lower
+        DurationHistogram.upperBound(index) == upper
+
+        where:
+        millis         | index | lower                | upper
+        -5             | 0     | 0                    | 0
+        0              | 0     | 0                    | 0
+        127            | 127   | 127                  | 127
+        128            | 128   | 128                  | 129
+        255            | 191   | 254                  | 255
+        7200000        | 1133  | 7143424              | 7208959
+        Long.MAX_VALUE | 3711  | 9151314442816847872L | Long.MAX_VALUE
+    }
+
+    def "relative error is bounded"() {
+        expect:
+        def index = DurationHistogram.bucket(millis)
+        DurationHistogram.lowerBound(index) <= millis
+        DurationHistogram.upperBound(index) >= millis
+        DurationHistogram.upperBound(index) - DurationHistogram.lowerBound(index) <=
+                millis / DurationHistogram.SUB_BUCKETS
+
+        where:
+        millis << [1000, 59999, 20 * 60 * 1000L, 5 * 3600 * 1000L, 30 * 24 * 3600 * 1000L]
+    }
+
+    def "percentiles"() {
+        given:
+        def histogram = new DurationHistogram()
+        (1..90).each { histogram.record(10) }
+        (1..10).each { histogram.record(3 * 3600 * 1000L) }
+
+        expect:
+        histogram.count == 100
+        histogram.max == 3 * 3600 * 1000L
+        histogram.total == 900 + 10 * 3 * 3600 * 1000L
+        histogram.percentile(50) == 10
+        histogram.percentile(90) == 10
+        histogram.percentile(99) == 3 * 3600 * 1000L
+    }
+
+    def "merge"() {
+        given:
+        def a = new DurationHistogram()
+        def b = new DurationHistogram()
+        a.record(5)
+        b.record(2 * 24 * 3600 * 1000L)
+        b.record(2)
+
+        when:
+        a.merge(b)
+
+        then:
+        a.count == 3
+        a.max == 2 * 24 * 3600 * 1000L
+        a.percentile(50) == 5
+        a.percentile(100) == 2 * 24 * 3600 * 1000L
+    }
+
+    def "empty"() {
+        expect:
+        new DurationHistogram().percentile(50) == 0
+        new DurationHistogram().mean == 0
+    }
+}
@@ -0,0 +1,111 @@
+package org.rundeck.client.tool.util
+
+import org.rundeck.client.api.model.DateInfo
+import org.rundeck.client.api.model.Execution
+import org.rundeck.client.api.model.JobItem
+import spock.lang.Specification
+
+class ExecutionStatsSpec extends Specification {
+    static Execution execution(Map params = [:], long duration, String status) {
+        new Execution(
+                status: status,
+                dateStarted: new DateInfo(date: 'a', unixtime: 1000),
+                dateEnded: new DateInfo(date: 'b', unixtime: 1000 + duration),
+                *: params
+        )
+    }
+
+    def "group by job"() {
+        given:
+        def stats = new ExecutionStats(ExecutionStats.GroupBy.job)
+        def job = new JobItem(id: 'j1', name: 'build', group: 'ops')
+
+        when:
+        (1..100).each { stats.add(execution(it * 10L, it <= 90 ? 'succeeded' : 'failed', job: job)) }
+        stats.add(execution(5, 'failed'))
+        stats.add(new Execution(status: 'running', dateStarted: new DateInfo(date: 'a', unixtime: 1000)))
+        def groups = stats.groups
+
+        then:
+        groups*.name == ['(adhoc)', 'ops/build']
+        groups[1].total == 100
+        groups[1].failed == 10
+        groups[1].failureRate == 0.1d
+        groups[1].durations.percentile(50) == 503
+        groups[1].durations.percentile(99) == 991
+        groups[1].asMap()['duration-max'] == 1000L
+        groups[1].asMap()['failure-rate'] == '0.100'
+        groups[0].total == 1
+        groups[0].failureRate == 1.0d
+    }
+
+    def "durations longer than 20 minutes"() {
+        given:
+        def stats = new ExecutionStats(ExecutionStats.GroupBy.job)
+        def job = new JobItem(id: 'j1', name: 'backup')
+        def minute = 60 * 1000L
+        def durations = [25 * minute, 60 * minute, 2 * 60 * minute, 6 * 60 * minute, 3 * 24 * 60 * minute]
+
+        when:
+        durations.each { d -> (1..20).each { stats.add(execution(d, 'succeeded', job: job)) } }
+        def histogram = stats.groups[0].durations
+
+        then:
+        [20, 40, 60, 80, 100].collect { histogram.percentile(it) }.eachWithIndex { long value, int i ->
+            assert value >= durations[i]
+            assert value - durations[i] <= durations[i] / DurationHistogram.SUB_BUCKETS
+        }
+        histogram.max == 3 * 24 * 60 * minute
+        stats.groups[0].asMap()['duration-p50'] == histogram.percentile(50)
+        stats.groups[0].asMap()['duration-p50'] >= 2 * 60 * minute
+    }
+
+    def "group by user"() {
+        given:
+        def stats = new ExecutionStats(ExecutionStats.GroupBy.user)
+
+        when:
+        stats.addAll([
+                execution(10, 'succeeded', user: 'bob'),
+                execution(20, 'failed', user: 'alice'),
+                execution(30, 'succeeded', user: 'bob'),
+        ])
+
+        then:
+        stats.groups*.name == ['alice', 'bob']
+        stats.groups*.total == [1, 2]
+        stats.groups[1].durations.max == 30
+    }
+
+    def "group by node counts each node once"() {
+        given:
+        def stats = new ExecutionStats(ExecutionStats.GroupBy.node)
+
+        when:
+        stats.add(execution(10, 'failed', successfulNodes: ['n1', 'n2'], failedNodes: ['n2', 'n3']))
+        stats.add(execution(20, 'succeeded', successfulNodes: ['n1']))
+
+        then:
+        stats.groups*.name == ['n1', 'n2', 'n3']
+        stats.groups*.succeeded == [2, 0, 0]
+        stats.groups*.failed == [0, 1, 1]
+    }
+
+    def "merge"() {
+        given:
+        def a = new ExecutionStats(ExecutionStats.GroupBy.user)
+        def b = new ExecutionStats(ExecutionStats.GroupBy.user)
+        a.add(execution(10, 'succeeded', user: 'bob'))
+        b.add(execution(2000, 'failed', user: 'bob'))
+        b.add(execution(5, 'succeeded', user: 'carol'))
+
+        when:
+        a.merge(b)
+
+        then:
+        a.groups*.name == ['bob', 'carol']
+        a.groups[0].total == 2
+        a.groups[0].failed == 1
+        a.groups[0].durations.max == 2000
+    }
+}
@@ -0,0 +1,113 @@
+package org.rundeck.client.tool.util
+
+import org.rundeck.client.api.model.DateInfo
+import org.rundeck.client.api.model.Execution
+import org.rundeck.client.api.model.JobItem
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ExecutionStoreSpec extends Specification {
+    Path dir
+
+    def setup() {
+        dir = Files.createTempDirectory('rdexecstore')
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    static Execution execution(String id, long started, Long ended, String status, String jobId = null) {
+        new Execution(
+                id: id,
+                status: status,
+                user: 'bob',
+                dateStarted: new DateInfo(date: 'start', unixtime: started),
+                dateEnded: null != ended ? new DateInfo(date: 'end', unixtime: ended) : null,
+                job: jobId ? new JobItem(id: jobId, name: 'job' + jobId, group: 'a/b') : null
+        )
+    }
+
+    def "empty store"() {
+        when:
+        def store = ExecutionStore.open(dir.resolve('none'))
+
+        then:
+        store.empty
+        store.watermark == null
+        store.lastSync == null
+        store.query({ true }, { true }) == []
+    }
+
+    def "store and query newest first"() {
+        given:
+        def store = ExecutionStore.open(dir)
+
+        when:
+        def count = store.putAll([
+                execution('1', 1000, 2000, 'succeeded', 'j1'),
+                execution('2', 3000, 4000, 'failed'),
+                execution('3', 5000, null, 'running', 'j1'),
+        ])
+        def result = store.query({ true }, { true })
+
+        then:
+        count == 3
+        store.size() == 3
+        store.watermark == 4000
+        result*.id == ['3', '2', '1']
+        result[2].job.id == 'j1'
+        result[2].job.group == 'a/b'
+        result[2].dateEnded.unixtime == 2000
+        result[0].dateEnded == null
+    }
+
+    def "unchanged executions are not stored again"() {
+        given:
+        def store = ExecutionStore.open(dir)
+        store.putAll([execution('1', 1000, 2000, 'succeeded'), execution('2', 3000, null, 'running')])
+        def size = Files.size(dir.resolve(ExecutionStore.RECORDS_FILE))
+
+        when:
+        def count = store.putAll([execution('1', 1000, 2000, 'succeeded'), execution('2', 3000, 4000, 'failed')])
+
+        then:
+        count == 1
+        Files.size(dir.resolve(ExecutionStore.RECORDS_FILE)) > size
+        store.query({ it.id == '2' }, { true })*.status == ['failed']
+    }
+
+    def "reopen loads index and state"() {
+        given:
+        def store = ExecutionStore.open(dir)
+        store.putAll([execution('1', 1000, 2000, 'succeeded'), execution('2', 3000, null, 'running')])
+        store.putAll([execution('2', 3000, 4000, 'succeeded')])
+        store.saveState()
+
+        when:
+        def reopened = ExecutionStore.open(dir)
+
+        then:
+        reopened.size() == 2
+        reopened.watermark == 4000
+        reopened.lastSync != null
+        reopened.query({ true }, { true })*.status == ['succeeded', 'succeeded']
+    }
+
+    def "index filter and execution filter"() {
+        given:
+        def store = ExecutionStore.open(dir)
+        store.putAll([
+                execution('1', 1000, 2000, 'succeeded', 'j1'),
+                execution('2', 3000, 4000, 'failed'),
+                execution('3', 5000, 6000, 'succeeded', 'j2'),
+        ])
+
+        expect:
+        store.query({ it.status == 'succeeded' }, { true })*.id == ['3', '1']
+        store.query({ it.jobId != null }, { it.job.id == 'j2' })*.id == ['3']
+        store.query({ it.started < 4000 }, { true })*.id == ['2', '1']
+    }
+}
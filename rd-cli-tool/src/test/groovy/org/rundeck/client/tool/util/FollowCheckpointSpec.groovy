@@ -0,0 +1,75 @@
+package org.rundeck.client.tool.util
+
+import org.rundeck.client.api.model.ExecLog
+import org.rundeck.client.api.model.ExecOutput
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class FollowCheckpointSpec extends Specification {
+    Path dir
+
+    def setup() {
+        dir = Files.createTempDirectory('rdcheckpoint')
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def "missing file is not resumable"() {
+        when:
+        def checkpoint = FollowCheckpoint.load(dir.resolve('follow.properties'), '123')
+
+        then:
+        !checkpoint.resumable
+        checkpoint.offset == 0
+        checkpoint.previous == null
+    }
+
+    def "save and load offset and previous entry"() {
+        given:
+        def file = dir.resolve('sub/follow.properties')
+        def checkpoint = FollowCheckpoint.load(file, '123')
+
+        when:
+        checkpoint.save(
+                new ExecOutput(offset: 100, lastModified: 5),
+                new ExecLog(log: 'line', level: 'NORMAL', node: 'node1')
+        )
+        def loaded = FollowCheckpoint.load(file, '123')
+
+        then:
+        loaded.resumable
+        loaded.offset == 100
+        loaded.lastModified == 5
+        loaded.previous.toMap() == new ExecLog(log: 'line', level: 'NORMAL', node: 'node1').toMap()
+    }
+
+    def "checkpoint for another execution is not resumable"() {
+        given:
+        def file = dir.resolve('follow.properties')
+        FollowCheckpoint.load(file, '123').save(new ExecOutput(offset: 100, lastModified: 5), null)
+
+        when:
+        def loaded = FollowCheckpoint.load(file, '456')
+
+        then:
+        !loaded.resumable
+        loaded.offset == 0
+    }
+
+    def "offset is not moved backwards"() {
+        given:
+        def file = dir.resolve('follow.properties')
+        def checkpoint = FollowCheckpoint.load(file, '123')
+        checkpoint.save(new ExecOutput(offset: 100, lastModified: 5), null)
+
+        when:
+        checkpoint.save(new ExecOutput(offset: 0, lastModified: 0, unmodified: true), null)
+
+        then:
+        FollowCheckpoint.load(file, '123').offset == 100
+    }
+}
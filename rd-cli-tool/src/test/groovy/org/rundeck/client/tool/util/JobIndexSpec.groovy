@@ -0,0 +1,97 @@
+package org.rundeck.client.tool.util
+
+import org.rundeck.client.api.model.JobItem
+import org.rundeck.client.util.RdClientConfig
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class JobIndexSpec extends Specification {
+    Path dir
+
+    def setup() {
+        dir = Files.createTempDirectory('rdjobindex')
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def "empty index"() {
+        when:
+        def index = JobIndex.load(dir.resolve('p/index.json'))
+
+        then:
+        index.refreshed == null
+        !index.isFresh(1000, 1000)
+        index.lookup(null, 'a') == null
+    }
+
+    def "refresh and load"() {
+        given:
+        def file = dir.resolve('p/index.json')
+
+        when:
+        JobIndex.load(file).refresh([
+                new JobItem(id: '1', name: 'a'),
+                new JobItem(id: '2', name: 'b', group: 'g/h'),
+                new JobItem(id: '3', name: 'c', group: 'g'),
+                new JobItem(id: '4', name: 'c', group: 'g'),
+        ], 5000)
+        def index = JobIndex.load(file)
+
+        then:
+        index.refreshed == 5000
+        index.lookup(null, 'a') == '1'
+        index.lookup('', 'a') == '1'
+        index.lookup('g/h', 'b') == '2'
+        index.lookup('g', 'c') == null
+        index.lookup('g', 'x') == null
+        index.jobs['g/c'] == ['3', '4']
+    }
+
+    def "fresh within ttl"() {
+        given:
+        def index = JobIndex.load(dir.resolve('p/index.json'))
+        index.refresh([], 5000)
+
+        expect:
+        index.isFresh(5000, 1000)
+        index.isFresh(5999, 1000)
+        !index.isFresh(6000, 1000)
+        !index.isFresh(4000, 1000)
+    }
+
+    def "delete"() {
+        given:
+        def file = dir.resolve('p/index.json')
+        def index = JobIndex.load(file)
+        index.refresh([new JobItem(id: '1', name: 'a')], 5000)
+
+        when:
+        index.delete()
+
+        then:
+        !Files.exists(file)
+        index.lookup(null, 'a') == null
+        JobIndex.load(file).refreshed == null
+    }
+
+    def "enabled and ttl from config"() {
+        given:
+        def config = Mock(RdClientConfig) {
+            getBool('RD_JOB_INDEX', false) >> enabled
+            getLong('RD_JOB_INDEX_TTL', 300L) >> ttl
+        }
+
+        expect:
+        JobIndex.isEnabled(config) == enabled
+        JobIndex.ttlMillis(config) == millis
+
+        where:
+        enabled | ttl  | millis
+        true    | 60L  | 60000L
+        false   | null | 300000L
+    }
+}
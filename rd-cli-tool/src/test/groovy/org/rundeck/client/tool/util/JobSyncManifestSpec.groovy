@@ -0,0 +1,88 @@
+package org.rundeck.client.tool.util
+
+import org.rundeck.client.api.model.JobItem
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class JobSyncManifestSpec extends Specification {
+    Path dir
+
+    def setup() {
+        dir = Files.createTempDirectory('rdjobsync')
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def "hash ignores key order and job uuid"() {
+        expect:
+        JobSyncManifest.hash([name: 'a', group: 'g', sequence: [commands: [[exec: 'x', b: 1]]]]) ==
+                JobSyncManifest.hash([uuid: 'u1', id: 'u1', group: 'g', sequence: [commands: [[b: 1, exec: 'x']]], name: 'a'])
+        JobSyncManifest.hash([name: 'a']) != JobSyncManifest.hash([name: 'a', description: 'b'])
+    }
+
+    def "key and uuid"() {
+        expect:
+        JobSyncManifest.key(job) == key
+        JobSyncManifest.uuid(job) == uuid
+
+        where:
+        job                              | key    | uuid
+        [name: 'a']                      | 'a'    | null
+        [name: 'a', group: '']           | 'a'    | null
+        [name: 'a', group: 'g', id: 'x'] | 'g/a'  | 'x'
+        [name: 'a', uuid: 'y', id: 'x']  | 'a'    | 'y'
+    }
+
+    def "fingerprint does not depend on list order"() {
+        given:
+        def a = new JobItem(id: '1', name: 'a', group: 'g')
+        def b = new JobItem(id: '2', name: 'b', description: 'desc')
+
+        expect:
+        JobSyncManifest.fingerprint([a, b]) == JobSyncManifest.fingerprint([b, a])
+        JobSyncManifest.fingerprint([a, b]) != JobSyncManifest.fingerprint([a])
+    }
+
+    def "save and load"() {
+        given:
+        def file = dir.resolve('p/manifest.json')
+        def manifest = JobSyncManifest.load(file)
+
+        when:
+        manifest.save('fp', ['g/a': new JobSyncManifest.Entry('1', 'h1', 's1'), b: new JobSyncManifest.Entry('2', 'h2', null)])
+        def loaded = JobSyncManifest.load(file)
+
+        then:
+        loaded.fingerprint == 'fp'
+        loaded.jobs.keySet() == ['b', 'g/a'] as Set
+        loaded.jobs['g/a'].uuid == '1'
+        loaded.jobs['g/a'].localHash == 'h1'
+        loaded.jobs['g/a'].serverHash == 's1'
+        loaded.jobs['b'].localHash == 'h2'
+        loaded.jobs['b'].serverHash == null
+
+        when:
+        loaded.delete()
+
+        then:
+        !Files.exists(file)
+        JobSyncManifest.load(file).fingerprint == null
+    }
+
+    def "unreadable manifest is empty"() {
+        given:
+        def file = dir.resolve('manifest.json')
+        Files.write(file, 'not json'.bytes)
+
+        when:
+        def manifest = JobSyncManifest.load(file)
+
+        then:
+        manifest.fingerprint == null
+        manifest.jobs.isEmpty()
+    }
+}
@@ -0,0 +1,198 @@
+package org.rundeck.client.tool.util
+
+import org.rundeck.client.api.model.ExecLog
+import org.rundeck.client.tool.commands.Executions
+import org.rundeck.client.tool.output.SystemOutput
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.zip.GZIPInputStream
+
+class RawLogSinkSpec extends Specification {
+    Path dir
+
+    def setup() {
+        dir = Files.createTempDirectory('rawlog')
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    private static List<ExecLog> entries(int count, String prefix = 'line') {
+        (1..count).collect { new ExecLog(log: "$prefix $it", level: it % 2 ? 'NORMAL' : 'ERROR') }
+    }
+
+    def "writes log text of each batch to file"() {
+        given:
+        def file = dir.resolve('out.log')
+        def sink = RawLogSink.file(file, false, null)
+
+        when:
+        sink.accept(entries(3))
+        sink.accept([])
+        sink.accept(entries(2, 'more'))
+        sink.close()
+
+        then:
+        file.text == 'line 1\nline 2\nline 3\nmore 1\nmore 2\n'
+        sink.lines == 5
+        sink.bytes == file.toFile().length()
+    }
+
+    def "replaces existing file"() {
+        given:
+        def file = dir.resolve('out.log')
+        file.text = 'previous content which is longer\n'
+
+        when:
+        RawLogSink.file(file, false, null).withCloseable { it.accept(entries(1)) }
+
+        then:
+        file.text == 'line 1\n'
+    }
+
+    def "entries larger than the buffer"() {
+        given:
+        def file = dir.resolve('out.log')
+        def big = 'x' * (RawLogSink.BUFFER_SIZE * 2)
+
+        when:
+        RawLogSink.file(file, false, null).withCloseable {
+            it.accept(entries(1))
+            it.accept([new ExecLog(log: big)])
+            it.accept(entries(1, 'after'))
+        }
+
+        then:
+        file.text == "line 1\n${big}\nafter 1\n"
+    }
+
+    def "gzip file"() {
+        given:
+        def file = dir.resolve('out.log.gz')
+        def sink = RawLogSink.file(file, true, null)
+
+        when:
+        sink.accept(entries(1000))
+        sink.close()
+
+        then:
+        def lines = new GZIPInputStream(Files.newInputStream(file)).withCloseable { it.readLines('UTF-8') }
+        lines.size() == 1000
+        lines[0] == 'line 1'
+        lines[999] == 'line 1000'
+        file.toFile().length() < sink.bytes
+    }
+
+    def "gzip file content is readable after sync before close"() {
+        given:
+        def file = dir.resolve('out.log.gz')
+        def sink = RawLogSink.file(file, true, null)
+
+        when:
+        sink.accept(entries(3))
+        sink.sync()
+
+        then:
+        def lines = []
+        new GZIPInputStream(new ByteArrayInputStream(Files.readAllBytes(file))).withCloseable { gz ->
+            def reader = new BufferedReader(new InputStreamReader(gz, 'UTF-8'))
+            try {
+                String line
+                while ((line = reader.readLine()) != null) {
+                    lines << line
+                }
+            } catch (EOFException ignored) {
+                //no gzip trailer until the sink is closed
+            }
+        }
+        lines == ['line 1', 'line 2', 'line 3']
+
+        cleanup:
+        sink.close()
+    }
+
+    def "stream is flushed after each batch and not closed"() {
+        given:
+        def closed = new AtomicBoolean()
+        def out = new ByteArrayOutputStream() {
+            @Override
+            void close() throws IOException {
+                closed.set(true)
+            }
+        }
+        def sink = RawLogSink.stream(out, false, { ExecLog log -> "${log.level}: ${log.log}".toString() })
+
+        when:
+        sink.accept(entries(2))
+
+        then:
+        out.toString('UTF-8') == 'NORMAL: line 1\nERROR: line 2\n'
+
+        when:
+        sink.close()
+
+        then:
+        !closed.get()
+    }
+
+    def "gzip stream is complete after close"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def sink = RawLogSink.stream(out, true, null)
+
+        when:
+        sink.accept(entries(2))
+        sink.close()
+
+        then:
+        new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readLines('UTF-8') == ['line 1', 'line 2']
+    }
+
+    /**
+     * Compares the raw sink with the log receiver used by executions follow without --raw, writing to SystemOutput
+     * with System.out redirected to a file. Run with RD_BENCHMARK=true
+     */
+    @Requires({ env.RD_BENCHMARK })
+    def "benchmark raw sink and the log receiver"() {
+        given:
+        def batches = (1..2000).collect { batch ->
+            (1..500).collect { new ExecLog(log: "batch $batch line $it of the execution output", level: 'NORMAL') }
+        }
+        def lines = batches.sum { it.size() }
+
+        when:
+        long printStart = System.nanoTime()
+        def printFile = dir.resolve('receiver.log').toFile()
+        def origOut = System.out
+        //the same buffer and autoflush as the JVM's stdout
+        def fileOut = new PrintStream(new BufferedOutputStream(new FileOutputStream(printFile), 128), true, 'UTF-8')
+        try {
+            System.setOut(fileOut)
+            def receiver = Executions.logReceiver(false, false, new SystemOutput(), null)
+            batches.each { receiver.accept(it) }
+        } finally {
+            System.setOut(origOut)
+            fileOut.close()
+        }
+        long printNanos = System.nanoTime() - printStart
+
+        long rawStart = System.nanoTime()
+        RawLogSink.file(dir.resolve('raw.log'), false, null).withCloseable { sink -> batches.each { sink.accept(it) } }
+        long rawNanos = System.nanoTime() - rawStart
+
+        long gzipStart = System.nanoTime()
+        RawLogSink.file(dir.resolve('raw.log.gz'), true, null).withCloseable { sink -> batches.each { sink.accept(it) } }
+        long gzipNanos = System.nanoTime() - gzipStart
+
+        then:
+        [['receiver', printNanos], ['raw', rawNanos], ['raw gzip', gzipNanos]].each { name, nanos ->
+            println String.format('%-10s %,d lines in %,d ms: %,.0f lines/s', name, lines, nanos.intdiv(1_000_000), lines * 1e9 / nanos)
+        }
+        dir.resolve('raw.log').text == printFile.text
+    }
+}
@@ -0,0 +1,65 @@
+package org.rundeck.client.util
+
+import okhttp3.Cookie
+import okhttp3.HttpUrl
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.attribute.PosixFilePermission
+
+class SessionCookieJarSpec extends Specification {
+    File dir
+
+    def setup() {
+        dir = Files.createTempDirectory('rdsession').toFile()
+    }
+
+    def cleanup() {
+        dir.deleteDir()
+    }
+
+    def "cookies are reused by another jar for the same url and user"() {
+        given:
+        def url = HttpUrl.parse('http://rundeck:4440/user/login')
+        def jar = SessionCookieJar.open(dir, 'http://rundeck:4440/', 'admin')
+
+        when:
+        jar.saveFromResponse(url, [Cookie.parse(url, 'JSESSIONID=abc; Path=/; HttpOnly')])
+        def same = SessionCookieJar.open(dir, 'http://rundeck:4440/', 'admin')
+        def otherUser = SessionCookieJar.open(dir, 'http://rundeck:4440/', 'bob')
+
+        then:
+        same.hasCookies()
+        same.loadForRequest(HttpUrl.parse('http://rundeck:4440/api/40/projects'))*.value() == ['abc']
+        !otherUser.hasCookies()
+        Files.getPosixFilePermissions(same.file) == [PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE] as Set
+    }
+
+    def "expired cookies are removed"() {
+        given:
+        def url = HttpUrl.parse('http://rundeck:4440/')
+        def jar = SessionCookieJar.open(dir, 'http://rundeck:4440/', 'admin')
+        jar.saveFromResponse(url, [Cookie.parse(url, 'JSESSIONID=abc; Path=/')])
+
+        when:
+        jar.saveFromResponse(url, [Cookie.parse(url, 'JSESSIONID=; Path=/; Max-Age=0')])
+
+        then:
+        !jar.hasCookies()
+        !SessionCookieJar.open(dir, 'http://rundeck:4440/', 'admin').hasCookies()
+    }
+
+    def "clear removes the stored file"() {
+        given:
+        def url = HttpUrl.parse('http://rundeck:4440/')
+        def jar = SessionCookieJar.open(dir, 'http://rundeck:4440/', 'admin')
+        jar.saveFromResponse(url, [Cookie.parse(url, 'JSESSIONID=abc; Path=/')])
+
+        when:
+        jar.clear()
+
+        then:
+        !jar.hasCookies()
+        !Files.exists(jar.file)
+    }
+}